@@ -0,0 +1,109 @@
+package com.backend.config;
+
+import com.backend.service.Impl.ResourceVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ETag / If-None-Match sur les GET de liste : l'ETag est dérivé de la version de la ressource (ResourceVersions),
+ * de la query string et de l'utilisateur. Si le client présente l'ETag courant, la réponse est un 304 rendu
+ * avant le contrôleur, donc sans lecture MongoDB ni sérialisation Jackson.
+ * <p>
+ * L'ETag est calculé avant la lecture des données : une écriture concurrente rend au pire l'ETag obsolète
+ * (un 200 de plus au prochain appel), jamais un 304 sur des données périmées.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersions resourceVersions;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String key = versionKey(pattern, request);
+        if (key == null) {
+            return true;
+        }
+        String etag = "\"" + resourceVersions.epoch() + "-" + resourceVersions.versionOf(key) + "-"
+                + Integer.toHexString(Objects.hash(request.getQueryString(), currentUser())) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // revalidation systématique par le navigateur ; private : réponse propre à l'utilisateur
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            counter(pattern, "hit").increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        counter(pattern, "miss").increment();
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String versionKey(String pattern, HttpServletRequest request) {
+        if (pattern == null) {
+            return null;
+        }
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return switch (pattern) {
+            case "/api/projects" -> ResourceVersions.PROJECTS;
+            case "/api/users", "/api/users/managers" -> ResourceVersions.USERS;
+            case "/api/messages" -> ResourceVersions.MESSAGES;
+            case "/api/messages/project/{projectId}" ->
+                    ResourceVersions.ofProject(ResourceVersions.MESSAGES, variables.get("projectId"));
+            case "/api/tasks/project/{projectId}" ->
+                    ResourceVersions.ofProject(ResourceVersions.TASKS, variables.get("projectId"));
+            default -> null;
+        };
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private Counter counter(String endpoint, String result) {
+        return counters.computeIfAbsent(endpoint + " " + result, k -> Counter.builder("http.conditional.requests")
+                .description("GET conditionnels : hit = 304 sans lecture, miss = réponse complète")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,106 @@
+package com.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Crée les index déclarés sur les modèles (@Indexed, @CompoundIndex) qui manquent en base.
+ * La création automatique de Spring Data est désactivée : la réconciliation tourne ici, dans un thread
+ * à part lancé une fois l'application prête, pour ne pas retarder le démarrage sur une grosse collection.
+ * Les index présents en base mais non déclarés sont signalés, jamais supprimés.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${application.mongo.reconcile-indexes:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                log.error("Réconciliation des index interrompue", e);
+            }
+        }, "index-reconciler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Renvoie, par collection, les clés des index créés
+    public Map<String, List<Document>> reconcile() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        Map<String, List<Document>> created = new LinkedHashMap<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            String collection = entity.getCollection();
+            IndexOperations indexOps = mongoTemplate.indexOps(collection);
+            List<Document> existing = new ArrayList<>();
+            mongoTemplate.getCollection(collection).listIndexes()
+                    .forEach(index -> existing.add(index.get("key", Document.class)));
+
+            List<Document> declared = new ArrayList<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                Document keys = definition.getIndexKeys();
+                declared.add(keys);
+                if (existing.stream().anyMatch(key -> sameKeys(key, keys))) {
+                    continue;
+                }
+                try {
+                    indexOps.createIndex(definition);
+                    created.computeIfAbsent(collection, name -> new ArrayList<>()).add(keys);
+                    log.info("Index créé sur {} : {}", collection, keys.toJson());
+                } catch (RuntimeException e) {
+                    log.warn("Impossible de créer l'index {} sur {} : {}", keys.toJson(), collection, e.getMessage());
+                }
+            }
+
+            existing.stream()
+                    .filter(key -> !sameKeys(key, new Document("_id", 1)))
+                    .filter(key -> declared.stream().noneMatch(keys -> sameKeys(key, keys)))
+                    .forEach(key -> log.warn("Index non déclaré sur {} : {}", collection, key.toJson()));
+        }
+        return created;
+    }
+
+    // Même champs, dans le même ordre, même sens (1 / -1) ou même type ("text", "2dsphere"...)
+    private static boolean sameKeys(Document a, Document b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    private static List<String> normalize(Document keys) {
+        return keys.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + (entry.getValue() instanceof Number number
+                        ? String.valueOf(number.intValue())
+                        : String.valueOf(entry.getValue())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Pool des tâches @Scheduled. Par défaut Spring n'a qu'un thread : une correction des compteurs ou une passe de
+ * rétention un peu longue retarderait les vidages différés (non lus toutes les 250 ms, journal d'activité chaque
+ * seconde), dont les tampons continueraient de grossir. pool-size couvre une tâche planifiée par thread.
+ * Le pool n'est pas un bean, pour ne pas remplacer l'exécuteur applicatif de Spring Boot.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    public SchedulingConfig(@Value("${application.scheduling.pool-size:10}") int poolSize) {
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.initialize();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(scheduler);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
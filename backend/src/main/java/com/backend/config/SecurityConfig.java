@@ -1,6 +1,7 @@
 package com.backend.config;
 
 import com.backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +39,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // 2. Autoriser les routes d'authentification
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Fin d'un flux SSE (/api/stream) : la requête a été authentifiée à l'ouverture
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 3. Tout le reste nécessite d'être connecté
                         .anyRequest().authenticated()
                 )
@@ -60,7 +63,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
 
         // On ajoute plus de headers autorisés pour éviter les blocages
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "X-Requested-With"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "X-Requested-With", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
 
         // OBLIGATOIRE pour que React puisse envoyer/recevoir les cookies HttpOnly
         configuration.setAllowCredentials(true);
@@ -0,0 +1,35 @@
+package com.backend.controller;
+
+import com.backend.dto.ActivitySeriesResponse;
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.ActivityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/activity")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityService activityService;
+
+    // Nombre d'événements par type et par intervalle (sans from / to : les 7 derniers jours), lus dans les agrégats
+    @GetMapping("/series")
+    public ResponseEntity<ActivitySeriesResponse> getSeries(
+            @RequestParam(required = false) String projectId,
+            @RequestParam(required = false) ActivityGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(activityService.getSeries(user.getId(), projectId, granularity, from, to));
+    }
+}
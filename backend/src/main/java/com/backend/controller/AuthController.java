@@ -1,10 +1,11 @@
 package com.backend.controller;
 
+import com.backend.dto.auth.AuthResult;
 import com.backend.dto.auth.LoginRequest;
 import com.backend.dto.auth.RegisterRequest;
 import com.backend.dto.auth.UserResponse;
-import com.backend.model.User;
-import com.backend.repository.UserRepository;
+import com.backend.exception.ServiceUnavailableException;
+import com.backend.security.AuthenticatedPrincipal;
 import com.backend.security.JwtService;
 import com.backend.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,7 +26,6 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
 
     /**
      * Register a new user
@@ -36,20 +36,19 @@ public class AuthController {
             HttpServletResponse response
     ) {
         try {
-            // 1. Call the service to create the user and get the token
-            String token = authService.register(request);
+            // 1. Call the service to create the user and get the token (and the saved user)
+            AuthResult result = authService.registerUser(request);
 
-            // 2. Retrieve the created user to send back to the frontend
-            User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
-
-            // 3. Create and add the JWT cookie to the response
-            ResponseCookie cookie = jwtService.generateJwtCookie(token);
+            // 2. Create and add the JWT cookie to the response
+            ResponseCookie cookie = jwtService.generateJwtCookie(result.getToken());
             response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
-            // 4. Convert User to UserResponse (without password, role in lowercase)
-            UserResponse userResponse = toUserResponse(user);
+            // 3. Convert User to UserResponse (without password, role in lowercase)
+            UserResponse userResponse = toUserResponse(result.getUser());
             return ResponseEntity.ok(userResponse);
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -64,20 +63,19 @@ public class AuthController {
             HttpServletResponse response
     ) {
         try {
-            // 1. Authenticate and generate the token via the service
-            String token = authService.login(request);
-
-            // 2. Retrieve the user for the frontend
-            User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
+            // 1. Authenticate and generate the token via the service (single user read)
+            AuthResult result = authService.authenticate(request);
 
-            // 3. Create and add the JWT cookie
-            ResponseCookie cookie = jwtService.generateJwtCookie(token);
+            // 2. Create and add the JWT cookie
+            ResponseCookie cookie = jwtService.generateJwtCookie(result.getToken());
             response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
-            // 4. Convert User to UserResponse (without password, role in lowercase)
-            UserResponse userResponse = toUserResponse(user);
+            // 3. Convert User to UserResponse (without password, role in lowercase)
+            UserResponse userResponse = toUserResponse(result.getUser());
             return ResponseEntity.ok(userResponse);
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Incorrect email or password");
         }
@@ -96,17 +94,21 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        // The principal is the User object loaded by UserDetailsService
-        User user = (User) authentication.getPrincipal();
+        // The principal is the User loaded from MongoDB, or a ClaimsPrincipal in "claims" auth mode
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) authentication.getPrincipal();
         UserResponse userResponse = toUserResponse(user);
         return ResponseEntity.ok(userResponse);
     }
 
     /**
-     * Logout (Delete the cookie)
+     * Logout (Revoke the token and delete the cookie)
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+        String jwt = jwtService.getJwtFromCookies(request);
+        if (jwt != null) {
+            jwtService.revokeToken(jwt);
+        }
         ResponseCookie cookie = jwtService.getCleanJwtCookie();
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
         return ResponseEntity.ok("Logout successful");
@@ -115,7 +117,7 @@ public class AuthController {
     /**
      * Converts a User to UserResponse (without password, role in lowercase)
      */
-    private UserResponse toUserResponse(User user) {
+    private UserResponse toUserResponse(AuthenticatedPrincipal user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .email(user.getEmail())
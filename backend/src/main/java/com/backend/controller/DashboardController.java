@@ -0,0 +1,26 @@
+package com.backend.controller;
+
+import com.backend.dto.DashboardResponse;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // Compteurs des projets de l'utilisateur connecté, calculés côté serveur en une agrégation
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard() {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(dashboardService.getDashboard(user.getId()));
+    }
+}
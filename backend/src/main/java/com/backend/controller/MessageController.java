@@ -1,8 +1,9 @@
 package com.backend.controller;
 
+import com.backend.dto.CursorWindow;
 import com.backend.dto.MessageRequest;
 import com.backend.dto.MessageResponse;
-import com.backend.model.User;
+import com.backend.security.AuthenticatedPrincipal;
 import com.backend.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -19,19 +20,42 @@ public class MessageController {
 
     private final MessageService messageService;
 
+    // Fenêtre par curseur : sans curseur les plus récents, before = plus anciens, after = arrivés depuis
     @GetMapping
-    public ResponseEntity<List<MessageResponse>> getAllMessages() {
-        return ResponseEntity.ok(messageService.getAllMessages());
+    public ResponseEntity<CursorWindow<MessageResponse>> getAllMessages(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(messageService.getAllMessages(before, after, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<MessageResponse>> getByProject(@PathVariable String projectId) {
-        return ResponseEntity.ok(messageService.getMessagesByProject(projectId));
+    public ResponseEntity<CursorWindow<MessageResponse>> getByProject(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(messageService.getMessagesByProject(projectId, before, after, limit));
+    }
+
+    // Non lus par projet de l'utilisateur connecté
+    @GetMapping("/unread")
+    public ResponseEntity<Map<String, Long>> getUnreadCounts() {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(messageService.getUnreadCounts(user.getId()));
+    }
+
+    // Lu jusqu'au message du curseur (le plus récent sans curseur) ; écrit au prochain vidage des compteurs
+    @PostMapping("/project/{projectId}/read")
+    public ResponseEntity<Void> markRead(@PathVariable String projectId, @RequestParam(required = false) String cursor) {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        messageService.markRead(user.getId(), projectId, cursor);
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping
     public ResponseEntity<MessageResponse> create(@RequestBody MessageRequest request) {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return ResponseEntity.ok(messageService.createMessage(
                 user.getId(),
                 user.getName(),
@@ -2,7 +2,12 @@ package com.backend.controller;
 
 import com.backend.dto.ProjectRequest;
 import com.backend.dto.ProjectResponse;
+import com.backend.dto.ProjectSummaryResponse;
 import com.backend.dto.ProjectUpdateRequest;
+import com.backend.dto.TeamMembershipRequest;
+import com.backend.dto.TeamMembershipResponse;
+import com.backend.service.DashboardService;
+import com.backend.service.ProjectMemberService;
 import com.backend.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +21,8 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectMemberService projectMemberService;
+    private final DashboardService dashboardService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ROLE_manager', 'ROLE_admin')")
@@ -45,11 +52,34 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProjectById(id));
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ProjectSummaryResponse> getProjectSummary(@PathVariable String id) {
+        return ResponseEntity.ok(dashboardService.getProjectSummary(id));
+    }
+
+    @PostMapping("/{id}/members/{userId}")
+    @PreAuthorize("hasAnyRole('Admin', 'Manager')")
+    public ResponseEntity<TeamMembershipResponse> addMember(@PathVariable String id, @PathVariable String userId) {
+        return ResponseEntity.ok(projectMemberService.addMember(id, userId));
+    }
+
+    @DeleteMapping("/{id}/members/{userId}")
+    @PreAuthorize("hasAnyRole('Admin', 'Manager')")
+    public ResponseEntity<TeamMembershipResponse> removeMember(@PathVariable String id, @PathVariable String userId) {
+        return ResponseEntity.ok(projectMemberService.removeMember(id, userId));
+    }
+
+    @PostMapping("/{id}/members")
+    @PreAuthorize("hasAnyRole('Admin', 'Manager')")
+    public ResponseEntity<TeamMembershipResponse> updateMembers(@PathVariable String id, @RequestBody TeamMembershipRequest request) {
+        return ResponseEntity.ok(projectMemberService.updateMembers(id, request));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ROLE_manager','ROLE_admin')")
     public ResponseEntity<Void> deleteProject(@PathVariable String id) {
         projectService.deleteProject(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().build();
     }
 }
 
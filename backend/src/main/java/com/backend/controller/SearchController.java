@@ -0,0 +1,29 @@
+package com.backend.controller;
+
+import com.backend.dto.SearchResult;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // Tâches, projets et messages correspondant à q (le dernier mot est complété comme un préfixe)
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(searchService.search(q, user, limit));
+    }
+}
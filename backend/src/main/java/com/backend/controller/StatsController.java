@@ -1,31 +1,34 @@
 package com.backend.controller;
 
-import com.backend.repository.MessageRepository;
-import com.backend.repository.ProjectRepository;
-import com.backend.repository.UserRepository;
+import com.backend.dto.AssigneeStatsResponse;
+import com.backend.dto.StatsResponse;
+import com.backend.service.StatsService;
+import com.backend.service.TaskStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/stats")
 @RequiredArgsConstructor
 public class StatsController {
 
-    private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
-    private final MessageRepository messageRepository;
+    private final StatsService statsService;
+    private final TaskStatsService taskStatsService;
 
+    // Compteurs tenus en mémoire (StatsServiceImpl) : aucune requête MongoDB par appel
     @GetMapping
-    public ResponseEntity<Map<String, Long>> getStats() {
-        return ResponseEntity.ok(Map.of(
-                "projects", projectRepository.count(),
-                "members", userRepository.count(),
-                "messages", messageRepository.count()
-        ));
+    public ResponseEntity<StatsResponse> getStats() {
+        return ResponseEntity.ok(statsService.getStats());
+    }
+
+    // done / total par utilisateur, lus depuis les compteurs maintenus à chaque écriture de tâche
+    @GetMapping("/assignees")
+    public ResponseEntity<List<AssigneeStatsResponse>> getAssigneeStats() {
+        return ResponseEntity.ok(taskStatsService.getAssigneeStats());
     }
 }
@@ -0,0 +1,27 @@
+package com.backend.controller;
+
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.RealtimeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+public class StreamController {
+
+    private final RealtimeService realtimeService;
+
+    // Flux SSE : messages et tâches du projet, ou messages de tous les projets sans projectId
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) String projectId) {
+        AuthenticatedPrincipal user = (AuthenticatedPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return realtimeService.subscribe(user, projectId);
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.controller;
 
+import com.backend.dto.TaskBatchRequest;
+import com.backend.dto.TaskBatchResponse;
 import com.backend.dto.TaskRequest;
 import com.backend.dto.TaskResponse;
 import com.backend.model.enums.TaskStatus;
@@ -8,8 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
@@ -22,24 +22,50 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(request));
     }
 
+    // Création / modification / changement de statut / suppression en une seule requête (un résultat par opération)
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> batch(@RequestBody TaskBatchRequest request) {
+        return ResponseEntity.ok(taskService.applyBatch(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> update(@PathVariable String id, @RequestBody TaskRequest request) {
         return ResponseEntity.ok(taskService.updateTask(id, request));
     }
 
+    // Paginé par curseur (limit, cursor) ; unpaged=true renvoie l'ancienne liste complète
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<TaskResponse>> getByProject(@PathVariable String projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+    public ResponseEntity<?> getByProject(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+        }
+        return ResponseEntity.ok(taskService.getTasksByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/my-tasks")
-    public ResponseEntity<List<TaskResponse>> getMyTasks(@RequestParam String userId) {
-        return ResponseEntity.ok(taskService.getUserTasks(userId));
+    public ResponseEntity<?> getMyTasks(
+            @RequestParam String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            return ResponseEntity.ok(taskService.getUserTasks(userId));
+        }
+        return ResponseEntity.ok(taskService.getUserTasks(userId, cursor, limit));
     }
 
+    // version : contrôle optimiste (409 si la tâche a changé) ; reopen : requis pour quitter DONE
     @PatchMapping("/{id}/status")
-    public ResponseEntity<TaskResponse> updateStatus(@PathVariable String id, @RequestParam TaskStatus status){
-        return ResponseEntity.ok(taskService.updateTaskStatus(id, status));
+    public ResponseEntity<TaskResponse> updateStatus(
+            @PathVariable String id,
+            @RequestParam TaskStatus status,
+            @RequestParam(required = false) Long version,
+            @RequestParam(defaultValue = "false") boolean reopen){
+        return ResponseEntity.ok(taskService.updateTaskStatus(id, status, version, reopen));
     }
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
@@ -1,13 +1,19 @@
 package com.backend.controller;
 
+import com.backend.dto.auth.BulkImportResponse;
 import com.backend.dto.auth.UserResponse;
 import com.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -25,4 +31,15 @@ public class UserController {
     public ResponseEntity<List<UserResponse>> getAllManagers() {
         return ResponseEntity.ok(userService.getManagersAndAdmins());
     }
+
+    /**
+     * Import en masse (admin) : tableau JSON de RegisterRequest ou CSV name,email,password,role.
+     * Aucun JWT n'est émis, la réponse contient le résultat de chaque ligne.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @PreAuthorize("hasRole('Admin')")
+    public ResponseEntity<BulkImportResponse> bulkImport(HttpServletRequest request) throws IOException {
+        boolean csv = request.getContentType() != null && request.getContentType().startsWith("text/csv");
+        return ResponseEntity.ok(userService.importUsers(request.getInputStream(), csv));
+    }
 }
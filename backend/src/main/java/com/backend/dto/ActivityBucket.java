@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import com.backend.model.enums.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ActivityBucket {
+    private LocalDateTime start;
+    private Map<ActivityType, Long> counts;   // types absents : aucun événement
+}
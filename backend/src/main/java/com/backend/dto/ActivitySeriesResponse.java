@@ -0,0 +1,20 @@
+package com.backend.dto;
+
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.model.enums.ActivityType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class ActivitySeriesResponse {
+    private ActivityGranularity granularity;
+    private LocalDateTime from;                 // début du premier intervalle
+    private LocalDateTime to;
+    private List<ActivityBucket> buckets;       // un par intervalle, y compris les intervalles vides
+    private Map<ActivityType, Long> totals;     // somme des intervalles
+}
@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssigneeLoad {
+    private String assigneeId;
+    private String assigneeName;
+    private long open;   // tâches non terminées
+    private long done;
+}
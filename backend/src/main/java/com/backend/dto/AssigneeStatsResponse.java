@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AssigneeStatsResponse {
+    private String userId;
+    private String userName;
+    private String role;
+    private long done;
+    private long total;
+    private int projects;  // nombre de projets où l'utilisateur a au moins une tâche
+}
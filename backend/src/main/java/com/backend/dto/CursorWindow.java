@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Fenêtre d'un historique trié du plus récent au plus ancien. before : curseur à repasser en ?before= pour la
+ * page plus ancienne (null s'il n'y en a pas) ; after : curseur à repasser en ?after= pour les éléments plus
+ * récents arrivés depuis (null si la fenêtre est vide).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorWindow<T> {
+    private List<T> items;
+    private String before;
+    private String after;
+}
@@ -0,0 +1,27 @@
+package com.backend.dto;
+
+import com.backend.model.enums.TaskPriority;
+import com.backend.model.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// Vue d'ensemble des projets de l'utilisateur (manager ou membre)
+@Data
+@Builder
+public class DashboardResponse {
+    private int projectCount;
+    private int activeProjects;        // statut "In Progress"
+    private int teamSize;              // somme des équipes des projets
+    private long totalTasks;
+    private int progress;
+    private Map<TaskStatus, Long> tasksByStatus;
+    private Map<TaskPriority, Long> tasksByPriority;
+    private long overdue;
+    private List<AssigneeLoad> assignees;
+    // tâches assignées à l'utilisateur
+    private Map<TaskStatus, Long> myTasksByStatus;
+    private List<TaskResponse> myActiveTasks;
+}
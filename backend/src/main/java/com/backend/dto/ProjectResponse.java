@@ -1,10 +1,12 @@
 package com.backend.dto;
 
+import com.backend.model.enums.TaskStatus;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 @Data
 @Builder
@@ -18,4 +20,5 @@ public class ProjectResponse {
     private String managerId;
     private LocalDate deadline;
     private int teamSize;
+    private Map<TaskStatus, Long> taskCounts;
 }
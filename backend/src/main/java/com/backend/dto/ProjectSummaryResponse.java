@@ -0,0 +1,22 @@
+package com.backend.dto;
+
+import com.backend.model.enums.TaskPriority;
+import com.backend.model.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class ProjectSummaryResponse {
+    private String projectId;
+    private int teamSize;
+    private long totalTasks;
+    private int progress;
+    private Map<TaskStatus, Long> tasksByStatus;
+    private Map<TaskPriority, Long> tasksByPriority;
+    private long overdue;              // échéance passée et non terminée
+    private List<AssigneeLoad> assignees;
+}
@@ -0,0 +1,14 @@
+package com.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SearchResult {
+    private String type;       // task, project, message
+    private String id;
+    private String projectId;
+    private String title;      // titre de la tâche / nom du projet / début du message
+    private float score;
+}
@@ -0,0 +1,19 @@
+package com.backend.dto;
+
+import com.backend.model.enums.TaskStatus;
+import com.backend.model.enums.UserRole;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class StatsResponse {
+    private long projects;          // projets actifs (hors suppression en cours)
+    private long members;
+    private long messages;          // messages en base et archivés
+    private long tasks;
+    private Map<TaskStatus, Long> tasksByStatus;
+    private Map<UserRole, Long> membersByRole;
+}
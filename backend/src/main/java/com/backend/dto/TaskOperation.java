@@ -0,0 +1,25 @@
+package com.backend.dto;
+
+import com.backend.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        STATUS,
+        DELETE
+    }
+
+    private Type op;
+    private String taskId;      // UPDATE, STATUS, DELETE
+    private TaskRequest task;   // CREATE, UPDATE
+    private TaskStatus status;  // STATUS
+    private boolean reopen;     // STATUS : autorise la sortie du statut DONE
+}
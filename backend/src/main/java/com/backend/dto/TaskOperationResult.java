@@ -0,0 +1,18 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationResult {
+    private int index;       // position de l'opération dans la requête
+    private TaskOperation.Type op;
+    private String taskId;
+    private String status;   // OK, NOT_FOUND, INVALID, CONFLICT, FAILED
+    private String error;
+}
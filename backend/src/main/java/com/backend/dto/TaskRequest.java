@@ -13,5 +13,7 @@ public class TaskRequest{
     private TaskStatus status;
     private TaskPriority priority;
     private String assignedId;
+    private Long version;     // optionnel : la mise à jour échoue en 409 si la tâche a changé depuis
+    private boolean reopen;   // nécessaire pour sortir une tâche du statut DONE
 
 }
@@ -1,10 +1,13 @@
 package com.backend.dto;
 
+import com.backend.model.Task;
 import com.backend.model.enums.TaskPriority;
 import com.backend.model.enums.TaskStatus;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 public class TaskResponse {
@@ -15,4 +18,21 @@ public class TaskResponse {
     private TaskPriority priority;
     private String assigneeName;
     private String projectId;
+    private Long version;
+    private LocalDateTime completedAt;
+
+    // Seule conversion Task -> TaskResponse (API, tableau de bord, flux temps réel)
+    public static TaskResponse from(Task task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .assigneeName(task.getAssigneeName())
+                .projectId(task.getProjectId())
+                .version(task.getVersion())
+                .completedAt(task.getCompletedAt())
+                .build();
+    }
 }
@@ -0,0 +1,14 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMembershipResponse {
+    private int added;     // membres réellement ajoutés (les membres déjà présents ne comptent pas)
+    private int removed;
+    private int teamSize;
+}
@@ -0,0 +1,15 @@
+package com.backend.dto.auth;
+
+import com.backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Résultat d'un login / register : le JWT et l'utilisateur déjà chargé (évite une relecture dans le controller).
+ */
+@Data
+@AllArgsConstructor
+public class AuthResult {
+    private String token;
+    private User user;
+}
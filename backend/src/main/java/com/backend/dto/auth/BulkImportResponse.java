@@ -0,0 +1,20 @@
+package com.backend.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResponse {
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private List<BulkImportRowResult> rows;
+}
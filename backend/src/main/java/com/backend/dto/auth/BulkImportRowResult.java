@@ -0,0 +1,18 @@
+package com.backend.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportRowResult {
+    private int row;        // position dans le fichier importé (à partir de 1)
+    private String email;
+    private String status;  // CREATED, DUPLICATE, INVALID, FAILED
+    private String id;
+    private String error;
+}
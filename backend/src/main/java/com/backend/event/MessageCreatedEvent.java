@@ -0,0 +1,14 @@
+package com.backend.event;
+
+import com.backend.model.Message;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publié par MessageServiceImpl après l'enregistrement d'un message.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MessageCreatedEvent {
+    private final Message message;
+}
@@ -0,0 +1,17 @@
+package com.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Publié par ProjectDeletionServiceImpl après la suppression d'un lot de messages d'un projet supprimé,
+ * et par MessageRetentionServiceImpl après le déplacement d'un lot vers l'archive (projectId null possible).
+ */
+@Getter
+@RequiredArgsConstructor
+public class MessagesDeletedEvent {
+    private final String projectId;
+    private final List<String> messageIds;
+}
@@ -0,0 +1,25 @@
+package com.backend.event;
+
+import com.backend.model.Project;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publié par ProjectServiceImpl après une création (created), une modification ou une suppression de projet
+ * (current == null pour une suppression).
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectChangedEvent {
+    private final String projectId;
+    private final Project current;
+    private final boolean created;
+
+    public ProjectChangedEvent(String projectId, Project current) {
+        this(projectId, current, false);
+    }
+
+    public static ProjectChangedEvent created(Project project) {
+        return new ProjectChangedEvent(project.getId(), project, true);
+    }
+}
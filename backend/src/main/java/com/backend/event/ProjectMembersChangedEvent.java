@@ -0,0 +1,17 @@
+package com.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * Publié par ProjectMemberServiceImpl après l'ajout ou le retrait de membres de l'équipe d'un projet.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProjectMembersChangedEvent {
+    private final String projectId;
+    private final Collection<String> added;
+    private final Collection<String> removed;
+}
@@ -0,0 +1,25 @@
+package com.backend.event;
+
+import com.backend.model.Task;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Publié par TaskServiceImpl après chaque écriture réussie sur "tasks" (une entrée par tâche ;
+ * un lot produit un seul événement). previous == null pour une création, current == null pour une suppression.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TaskChangedEvent {
+
+    private final List<Change> changes;
+
+    public static TaskChangedEvent of(Task previous, Task current) {
+        return new TaskChangedEvent(List.of(new Change(previous, current)));
+    }
+
+    public record Change(Task previous, Task current) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.backend.event;
+
+import com.backend.model.User;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Publié après la création d'utilisateurs (inscription, import en masse).
+ */
+@Getter
+@RequiredArgsConstructor
+public class UsersCreatedEvent {
+    private final List<User> users;
+}
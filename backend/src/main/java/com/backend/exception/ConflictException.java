@@ -0,0 +1,10 @@
+package com.backend.exception;
+
+/**
+ * Écriture refusée car l'état du document a changé (version) ou ne permet pas l'opération : renvoyée en 409.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.backend.exception;
+
+/**
+ * Levée quand une ressource bornée (pool, file d'attente) est saturée : renvoyée en 503 pour que le client réessaie.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
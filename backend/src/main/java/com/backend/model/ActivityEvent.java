@@ -0,0 +1,40 @@
+package com.backend.model;
+
+import com.backend.model.enums.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrée du journal d'activité (collection "activity_events"), en ajout seul : jamais modifiée, supprimée
+ * seulement par la compaction une fois sortie de la durée de conservation. Les graphiques lisent les
+ * agrégats (ActivityRollup), pas ce journal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "activity_events")
+@CompoundIndexes({
+        // historique d'un projet
+        @CompoundIndex(name = "project_at", def = "{ 'projectId': 1, 'at': 1 }"),
+        // compaction (plus anciens d'abord)
+        @CompoundIndex(name = "at", def = "{ 'at': 1, '_id': 1 }")
+})
+public class ActivityEvent {
+    @Id
+    private String id;
+    private ActivityType type;
+    private String projectId;
+    private String entityId;    // tâche, projet ou message concerné
+    private String actorId;     // utilisateur à l'origine de l'écriture, quand il est connu
+    private String detail;      // ex. "TODO->DONE" pour un changement de statut
+    private LocalDateTime at;
+}
@@ -0,0 +1,41 @@
+package com.backend.model;
+
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.model.enums.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Nombre d'événements d'activité d'un projet par type, sur un intervalle d'une minute, d'une heure ou d'un jour
+ * (collection "activity_rollups"). Tenus à jour par $inc à chaque vidage du journal : une série se lit en un
+ * parcours d'index, quel que soit le nombre d'événements.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "activity_rollups")
+@CompoundIndex(name = "granularity_project_bucket", def = "{ 'granularity': 1, 'projectId': 1, 'bucketStart': 1 }")
+public class ActivityRollup {
+    @Id
+    private String id;  // granularity:projectId:bucketStart
+    private ActivityGranularity granularity;
+    private String projectId;
+    private LocalDateTime bucketStart;
+    private Map<ActivityType, Long> counts = new EnumMap<>(ActivityType.class);
+
+    public ActivityRollup(ActivityGranularity granularity, String projectId, LocalDateTime bucketStart) {
+        this(idOf(granularity, projectId, bucketStart), granularity, projectId, bucketStart, new EnumMap<>(ActivityType.class));
+    }
+
+    public static String idOf(ActivityGranularity granularity, String projectId, LocalDateTime bucketStart) {
+        return granularity + ":" + projectId + ":" + bucketStart;
+    }
+}
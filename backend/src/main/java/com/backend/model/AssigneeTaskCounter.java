@@ -0,0 +1,44 @@
+package com.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compteurs de tâches d'un assigné, tenus à jour par $inc à chaque écriture de tâche
+ * (voir TaskStatsServiceImpl) et recalés périodiquement sur une agrégation de "tasks".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "assignee_task_counters")
+public class AssigneeTaskCounter {
+    @Id
+    private String assigneeId;
+    private long total;
+    private long done;
+    private Map<String, Long> projects = new HashMap<>();  // projectId -> nombre de tâches assignées
+
+    public AssigneeTaskCounter(String assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public void add(String projectId, boolean isDone, long delta) {
+        total += delta;
+        if (isDone) {
+            done += delta;
+        }
+        if (projectId != null) {
+            projects.merge(projectId, delta, Long::sum);
+        }
+    }
+
+    public boolean isEmpty() {
+        return total == 0 && done == 0 && projects.values().stream().allMatch(count -> count == 0);
+    }
+}
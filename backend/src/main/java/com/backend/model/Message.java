@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -14,6 +16,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "messages")
+@CompoundIndexes({
+        // findWindow d'un projet (parcours de l'index dans un sens ou l'autre, sans tri en mémoire)
+        @CompoundIndex(name = "project_created", def = "{ 'projectId': 1, 'createdAt': 1, '_id': 1 }"),
+        // findWindow tous projets
+        @CompoundIndex(name = "created", def = "{ 'createdAt': 1, '_id': 1 }")
+})
 public class Message {
     @Id
     private String id;
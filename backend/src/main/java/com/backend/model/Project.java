@@ -1,17 +1,21 @@
 package com.backend.model;
 
 
+import com.backend.model.enums.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @AllArgsConstructor
 @Data
@@ -23,14 +27,31 @@ public class Project {
     private String id;
     private String name;
     private String description;
-    private int totalProgress;
     private String status;
+    @Indexed  // findByManagerId
     private String managerId;
     private String managerName;
 
+    @Indexed  // index multikey : findByTeamIdsContaining
     private List<String> teamIds = new ArrayList<>();
+    private int teamSize;              // tenu à jour par $inc à chaque ajout / retrait de membre
+    private boolean membersExternal;   // équipe déplacée dans project_members (teamIds n'est plus utilisé)
     private LocalDate deadline;   //la date d'échance
+    private boolean deleting;                   // masqué, en cours de purge (ProjectDeletionServiceImpl)
+    private LocalDateTime deletionRequestedAt;
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Nombre de tâches par statut, tenu à jour par $inc (ProjectProgressServiceImpl)
+    @Builder.Default
+    private Map<TaskStatus, Long> taskCounts = new HashMap<>();
+
+    // Avancement en % : tâches DONE / total des tâches
+    public int computeProgress() {
+        if (taskCounts == null) {
+            return 0;
+        }
+        long total = taskCounts.values().stream().mapToLong(Long::longValue).sum();
+        return total <= 0 ? 0 : (int) Math.round(100.0 * taskCounts.getOrDefault(TaskStatus.DONE, 0L) / total);
+    }
 }
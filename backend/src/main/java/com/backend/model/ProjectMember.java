@@ -0,0 +1,39 @@
+package com.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appartenance d'un utilisateur à l'équipe d'un projet, pour les projets dont l'équipe a dépassé
+ * application.projects.max-embedded-members (Project.membersExternal) : teamIds n'est alors plus utilisé.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "project_members")
+@CompoundIndex(name = "project_user", def = "{ 'projectId': 1, 'userId': 1 }")
+public class ProjectMember {
+    @Id
+    private String id;  // projectId:userId, rend l'ajout idempotent
+
+    private String projectId;
+
+    @Indexed  // projets d'un utilisateur
+    private String userId;
+
+    @Builder.Default
+    private LocalDateTime addedAt = LocalDateTime.now();
+
+    public static ProjectMember of(String projectId, String userId) {
+        return ProjectMember.builder().id(projectId + ":" + userId).projectId(projectId).userId(userId).build();
+    }
+}
@@ -8,6 +8,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,8 +18,13 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "tasks")
+@CompoundIndexes({
+        // pagination par curseur de /api/tasks/project/{id} et /api/tasks/my-tasks
+        @CompoundIndex(name = "project_created", def = "{ 'projectId': 1, 'createdAt': 1, '_id': 1 }"),
+        @CompoundIndex(name = "assignee_created", def = "{ 'assigneeId': 1, 'createdAt': 1, '_id': 1 }")
+})
 public class Task {
     @Id
     private String id;
@@ -28,6 +36,10 @@ public class Task {
     private String assigneeId;
     private String assigneeName;
     private LocalDateTime dueDate;
+    private LocalDateTime completedAt;  // passage à DONE ; retiré à la réouverture
+
+    @Version  // incrémentée à chaque écriture : sert au contrôle de concurrence optimiste (409)
+    private Long version;
 
     @Builder.Default  //pour éviter le fait que la date soit nulle
     private LocalDateTime createdAt = LocalDateTime.now();
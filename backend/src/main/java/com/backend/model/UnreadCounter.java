@@ -0,0 +1,30 @@
+package com.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Messages non lus d'un utilisateur, par projet : incrémentés par $inc à chaque message d'un projet dont il est
+ * membre, remis à jour quand il signale sa position de lecture (voir UnreadCounters). Un seul document par
+ * utilisateur : tous ses compteurs se lisent par _id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "unread_counters")
+public class UnreadCounter {
+    @Id
+    private String userId;
+    private Map<String, Long> projects = new HashMap<>();     // projectId -> messages non lus
+    private Map<String, String> readCursors = new HashMap<>(); // projectId -> dernier message lu (KeysetCursor encodé)
+
+    public UnreadCounter(String userId) {
+        this.userId = userId;
+    }
+}
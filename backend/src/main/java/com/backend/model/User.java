@@ -1,6 +1,7 @@
 package com.backend.model;
 
 import com.backend.model.enums.UserRole;
+import com.backend.security.AuthenticatedPrincipal;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -18,7 +19,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "users")
-public class User implements UserDetails {
+public class User implements UserDetails, AuthenticatedPrincipal {
 
     @Id
     private String id;
@@ -30,6 +31,7 @@ public class User implements UserDetails {
 
     private String password;
 
+    @Indexed  // findByRole (liste des managers)
     private UserRole role;
 
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,30 @@
+package com.backend.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Taille des intervalles des agrégats d'activité
+public enum ActivityGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    ActivityGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    // Début de l'intervalle contenant at
+    public LocalDateTime bucketOf(LocalDateTime at) {
+        return at.truncatedTo(unit);
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        return unit.between(bucketOf(from), to.minusNanos(1).truncatedTo(unit)) + 1;
+    }
+}
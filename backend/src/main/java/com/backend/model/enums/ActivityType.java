@@ -0,0 +1,14 @@
+package com.backend.model.enums;
+
+public enum ActivityType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_STATUS_CHANGED,
+    TASK_COMPLETED,
+    TASK_REOPENED,
+    TASK_DELETED,
+    PROJECT_CREATED,
+    PROJECT_UPDATED,
+    PROJECT_DELETED,
+    MESSAGE_CREATED
+}
@@ -1,8 +1,23 @@
 package com.backend.model.enums;
 
+import java.util.Arrays;
+import java.util.List;
+
 public enum TaskStatus {
     TODO,
     IN_PROGRESS,
     REVIEW,
-    DONE
+    DONE;
+
+    // Une tâche terminée ne revient en arrière que si la réouverture est explicitement demandée
+    public boolean canTransitionTo(TaskStatus target, boolean reopen) {
+        return this != DONE || target == DONE || reopen;
+    }
+
+    // Statuts depuis lesquels on peut passer à target (sert de garde dans la requête de mise à jour)
+    public static List<TaskStatus> allowedSources(TaskStatus target, boolean reopen) {
+        return Arrays.stream(values())
+                .filter(source -> source.canTransitionTo(target, reopen))
+                .toList();
+    }
 }
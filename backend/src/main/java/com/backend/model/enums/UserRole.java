@@ -3,5 +3,14 @@ package com.backend.model.enums;
 public enum UserRole {
     Manager,
     Admin,
-    Member
+    Member;
+
+    // "member", "MANAGER"... -> Member, Manager (rôle par défaut : Member)
+    public static UserRole fromString(String role) {
+        if (role == null || role.isBlank()) {
+            return Member;
+        }
+        String trimmed = role.trim();
+        return UserRole.valueOf(trimmed.substring(0, 1).toUpperCase() + trimmed.substring(1).toLowerCase());
+    }
 }
@@ -0,0 +1,21 @@
+package com.backend.repository;
+
+import com.backend.model.ActivityEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityEventRepository extends MongoRepository<ActivityEvent, String> {
+
+    // Identifiants des événements antérieurs à la date limite (index (at, _id)), pour une compaction par lots
+    @Query(value = "{ 'at': { $lt: ?0 } }", fields = "{ '_id': 1 }")
+    List<ActivityEvent> findIdsByAtBefore(LocalDateTime cutoff, Pageable pageable);
+
+    long deleteByIdIn(Collection<String> ids);
+}
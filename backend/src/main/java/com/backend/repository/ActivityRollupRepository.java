@@ -0,0 +1,16 @@
+package com.backend.repository;
+
+import com.backend.model.ActivityRollup;
+import com.backend.model.enums.ActivityGranularity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ActivityRollupRepository extends MongoRepository<ActivityRollup, String>, ActivityRollupRepositoryCustom {
+
+    long deleteByGranularityAndBucketStartBefore(ActivityGranularity granularity, LocalDateTime cutoff);
+
+    long deleteByProjectId(String projectId);
+}
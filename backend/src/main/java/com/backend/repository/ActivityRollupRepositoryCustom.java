@@ -0,0 +1,17 @@
+package com.backend.repository;
+
+import com.backend.model.ActivityRollup;
+import com.backend.model.enums.ActivityGranularity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ActivityRollupRepositoryCustom {
+    // Ajoute les compteurs de chaque agrégat en un seul bulkWrite de $inc avec upsert
+    void increment(Collection<ActivityRollup> deltas);
+
+    // Agrégats des projets donnés dont l'intervalle commence dans [from, to), triés par début d'intervalle
+    List<ActivityRollup> findRange(ActivityGranularity granularity, Collection<String> projectIds,
+                                   LocalDateTime from, LocalDateTime to);
+}
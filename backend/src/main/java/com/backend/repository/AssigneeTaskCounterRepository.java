@@ -0,0 +1,9 @@
+package com.backend.repository;
+
+import com.backend.model.AssigneeTaskCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssigneeTaskCounterRepository extends MongoRepository<AssigneeTaskCounter, String>, AssigneeTaskCounterRepositoryCustom {
+}
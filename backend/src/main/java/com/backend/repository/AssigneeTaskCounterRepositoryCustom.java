@@ -0,0 +1,19 @@
+package com.backend.repository;
+
+import com.backend.model.AssigneeTaskCounter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AssigneeTaskCounterRepositoryCustom {
+    // Applique les deltas en un seul bulkWrite de $inc avec upsert
+    void increment(Collection<AssigneeTaskCounter> deltas);
+
+    // Recalcule les compteurs depuis "tasks" en une agrégation ($group sur assigneeId, projectId, status)
+    List<AssigneeTaskCounter> aggregateFromTasks();
+
+    // assigneeId -> compteur exact : remplace chaque compteur si celui lu (expected) n'a pas bougé entre-temps, le crée
+    // s'il n'existait pas et le supprime s'il est vide ; renvoie le nombre de compteurs corrigés
+    int replaceCounters(Map<String, AssigneeTaskCounter> expected, Map<String, AssigneeTaskCounter> actual);
+}
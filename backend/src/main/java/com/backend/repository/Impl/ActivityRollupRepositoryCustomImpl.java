@@ -0,0 +1,59 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.ActivityRollup;
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.repository.ActivityRollupRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ActivityRollupRepositoryCustomImpl implements ActivityRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Collection<ActivityRollup> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityRollup.class);
+        int operations = 0;
+        for (ActivityRollup delta : deltas) {
+            Update update = new Update()
+                    .setOnInsert("granularity", delta.getGranularity())
+                    .setOnInsert("projectId", delta.getProjectId())
+                    .setOnInsert("bucketStart", delta.getBucketStart());
+            boolean changed = false;
+            for (var count : delta.getCounts().entrySet()) {
+                if (count.getValue() != 0) {
+                    update.inc("counts." + count.getKey().name(), count.getValue());
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                continue;
+            }
+            bulk.upsert(new Query(Criteria.where("_id").is(delta.getId())), update);
+            operations++;
+        }
+        if (operations > 0) {
+            bulk.execute();
+        }
+    }
+
+    @Override
+    public List<ActivityRollup> findRange(ActivityGranularity granularity, Collection<String> projectIds,
+                                          LocalDateTime from, LocalDateTime to) {
+        Query query = new Query(Criteria.where("granularity").is(granularity)
+                .and("projectId").in(projectIds)
+                .and("bucketStart").gte(from).lt(to))
+                .with(Sort.by("bucketStart"));
+        return mongoTemplate.find(query, ActivityRollup.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.AssigneeTaskCounter;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.AssigneeTaskCounterRepositoryCustom;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AssigneeTaskCounterRepositoryCustomImpl implements AssigneeTaskCounterRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Collection<AssigneeTaskCounter> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssigneeTaskCounter.class);
+        int operations = 0;
+        for (AssigneeTaskCounter delta : deltas) {
+            if (delta.isEmpty()) {
+                continue;
+            }
+            Update update = new Update().inc("total", delta.getTotal()).inc("done", delta.getDone());
+            delta.getProjects().forEach((projectId, count) -> {
+                if (count != 0) {
+                    update.inc("projects." + projectId, count);
+                }
+            });
+            bulk.upsert(new Query(Criteria.where("_id").is(delta.getAssigneeId())), update);
+            operations++;
+        }
+        if (operations > 0) {
+            bulk.execute();
+        }
+    }
+
+    @Override
+    public List<AssigneeTaskCounter> aggregateFromTasks() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("assigneeId").nin(null, "")),
+                Aggregation.group("assigneeId", "projectId", "status").count().as("count"));
+        Map<String, AssigneeTaskCounter> counters = new LinkedHashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Task.class, Document.class).getMappedResults()) {
+            Document key = row.get("_id", Document.class);
+            String assigneeId = key.getString("assigneeId");
+            counters.computeIfAbsent(assigneeId, AssigneeTaskCounter::new)
+                    .add(key.getString("projectId"),
+                            TaskStatus.DONE.name().equals(key.getString("status")),
+                            ((Number) row.get("count")).longValue());
+        }
+        return List.copyOf(counters.values());
+    }
+
+    @Override
+    public int replaceCounters(Map<String, AssigneeTaskCounter> expected, Map<String, AssigneeTaskCounter> actual) {
+        if (actual.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssigneeTaskCounter.class);
+        for (Map.Entry<String, AssigneeTaskCounter> entry : actual.entrySet()) {
+            AssigneeTaskCounter seen = expected.get(entry.getKey());
+            AssigneeTaskCounter counter = entry.getValue();
+            if (seen == null) {
+                // créé entre-temps par un $inc : le document existant l'emporte, le prochain recalage le vérifiera
+                bulk.upsert(new Query(Criteria.where("_id").is(entry.getKey())), new Update()
+                        .setOnInsert("total", counter.getTotal())
+                        .setOnInsert("done", counter.getDone())
+                        .setOnInsert("projects", counter.getProjects()));
+            } else if (counter.isEmpty()) {
+                bulk.remove(guard(seen));
+            } else {
+                bulk.updateOne(guard(seen), new Update()
+                        .set("total", counter.getTotal())
+                        .set("done", counter.getDone())
+                        .set("projects", counter.getProjects()));
+            }
+        }
+        BulkWriteResult result = bulk.execute();
+        return result.getModifiedCount() + result.getDeletedCount() + result.getUpserts().size();
+    }
+
+    // Ne correspond qu'au compteur tel qu'il a été lu : un $inc concurrent fait échouer le remplacement
+    private static Query guard(AssigneeTaskCounter seen) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("_id").is(seen.getAssigneeId()));
+        criteria.add(Criteria.where("total").is(seen.getTotal()));
+        criteria.add(Criteria.where("done").is(seen.getDone()));
+        seen.getProjects().forEach((projectId, count) -> criteria.add(Criteria.where("projects." + projectId).is(count)));
+        return new Query(new Criteria().andOperator(criteria));
+    }
+}
@@ -0,0 +1,87 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.Message;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.MessageRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MessageRepositoryCustomImpl implements MessageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Message> findWindow(String projectId, KeysetCursor before, KeysetCursor after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (projectId != null) {
+            criteria.add(Criteria.where("projectId").is(projectId));
+        }
+        if (before != null) {
+            criteria.add(before.before());
+        }
+        if (after != null) {
+            criteria.add(after.after());
+        }
+        // après un curseur seul : parcours croissant pour obtenir les messages qui le suivent immédiatement
+        boolean forward = after != null && before == null;
+        Sort.Direction direction = forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query query = new Query(criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria))
+                .with(Sort.by(direction, "createdAt", "_id"))
+                .limit(limit);
+        List<Message> messages = mongoTemplate.find(query, Message.class);
+        if (forward) {
+            Collections.reverse(messages);
+        }
+        return messages;
+    }
+
+    @Override
+    public List<Message> findExpired(String projectId, LocalDateTime cutoff, int limit) {
+        Query query = new Query(Criteria.where("projectId").is(projectId).and("createdAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Message.class);
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)
+                    .insert(messages)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == 11000);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public long countUnread(String projectId, KeysetCursor after, String readerId, int max) {
+        Criteria criteria = Criteria.where("projectId").is(projectId).and("senderId").ne(readerId);
+        Query query = new Query(after != null ? new Criteria().andOperator(criteria, after.after()) : criteria).limit(max);
+        return mongoTemplate.count(query, Message.class);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(Message.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.ProjectMember;
+import com.backend.repository.ProjectMemberRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProjectMemberRepositoryCustomImpl implements ProjectMemberRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int insertIgnoringDuplicates(List<ProjectMember> members) {
+        if (members.isEmpty()) {
+            return 0;
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProjectMember.class)
+                    .insert(members)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == 11000);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.Project;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ProjectRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Project updateFields(String projectId, Update update) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(projectId).and("deleting").ne(true)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Project.class);
+    }
+
+    @Override
+    public void incrementTaskCounts(Map<String, Map<TaskStatus, Long>> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+        int operations = 0;
+        for (Map.Entry<String, Map<TaskStatus, Long>> entry : deltas.entrySet()) {
+            Update update = new Update();
+            entry.getValue().forEach((status, delta) -> {
+                if (delta != 0) {
+                    update.inc("taskCounts." + status.name(), delta);
+                }
+            });
+            if (!update.getUpdateObject().isEmpty()) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(entry.getKey())), update);
+                operations++;
+            }
+        }
+        if (operations > 0) {
+            bulk.execute();
+        }
+    }
+
+    @Override
+    public int addEmbeddedMembers(String projectId, Collection<String> userIds, int maxEmbedded) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        // une opération par utilisateur : la garde (absent, sous le seuil) garantit un teamSize exact
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Project.class);
+        for (String userId : userIds) {
+            Query query = new Query(new Criteria().andOperator(
+                    Criteria.where("_id").is(projectId),
+                    Criteria.where("membersExternal").ne(true),
+                    Criteria.where("teamIds").ne(userId),
+                    Criteria.where("teamSize").lt(maxEmbedded)));
+            bulk.updateOne(query, new Update().addToSet("teamIds", userId).inc("teamSize", 1));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public int removeEmbeddedMembers(String projectId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+        for (String userId : userIds) {
+            Query query = new Query(new Criteria().andOperator(
+                    Criteria.where("_id").is(projectId),
+                    Criteria.where("membersExternal").ne(true),
+                    Criteria.where("teamIds").is(userId)));
+            bulk.updateOne(query, new Update().pull("teamIds", userId).inc("teamSize", -1));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Project markMembersExternal(String projectId) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("_id").is(projectId),
+                Criteria.where("membersExternal").ne(true)));
+        return mongoTemplate.findAndModify(query, new Update().set("membersExternal", true),
+                FindAndModifyOptions.options().returnNew(false), Project.class);
+    }
+
+    @Override
+    public Project markDeleting(String projectId) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(projectId).and("deleting").ne(true)),
+                new Update().set("deleting", true).set("deletionRequestedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Project.class);
+    }
+
+    @Override
+    public void unsetTeamIds(String projectId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(projectId)), new Update().unset("teamIds"), Project.class);
+    }
+
+    @Override
+    public void pullTeamIds(String projectId, Collection<String> userIds) {
+        if (!userIds.isEmpty()) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(projectId).and("teamIds").exists(true)),
+                    new Update().pullAll("teamIds", userIds.toArray()), Project.class);
+        }
+    }
+
+    @Override
+    public void incrementTeamSize(String projectId, int delta) {
+        if (delta != 0) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(projectId)), new Update().inc("teamSize", delta), Project.class);
+        }
+    }
+
+    @Override
+    public long backfillTeamSize() {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("teamSize").toValue(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("teamIds").then(List.of())));
+        return mongoTemplate.updateMulti(new Query(Criteria.where("teamSize").exists(false)), update, Project.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public int replaceTaskCounts(Map<String, Map<TaskStatus, Long>> expected, Map<String, Map<TaskStatus, Long>> actual) {
+        if (actual.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+        for (Map.Entry<String, Map<TaskStatus, Long>> entry : actual.entrySet()) {
+            Map<TaskStatus, Long> seen = expected.getOrDefault(entry.getKey(), Map.of());
+            List<Criteria> guard = new ArrayList<>();
+            guard.add(Criteria.where("_id").is(entry.getKey()));
+            for (TaskStatus status : TaskStatus.values()) {
+                long count = seen.getOrDefault(status, 0L);
+                String field = "taskCounts." + status.name();
+                // un compteur absent vaut 0 ({ $in: [0, null] } couvre aussi le champ manquant)
+                guard.add(count == 0 ? Criteria.where(field).in(Arrays.asList(0L, null)) : Criteria.where(field).is(count));
+            }
+            Update update = new Update().set("taskCounts", entry.getValue()).unset("totalProgress");
+            bulk.updateOne(new Query(new Criteria().andOperator(guard)), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(Project.class);
+    }
+}
@@ -0,0 +1,250 @@
+package com.backend.repository.Impl;
+
+import com.backend.dto.AssigneeLoad;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskPriority;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.TaskFacets;
+import com.backend.repository.TaskRepositoryCustom;
+import com.backend.repository.TaskWrite;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    // Champs nécessaires à TaskResponse (et au curseur)
+    private static final String[] RESPONSE_FIELDS = {
+            "title", "description", "status", "priority", "assigneeName", "projectId", "createdAt", "version", "completedAt"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Task> findPage(String field, String value, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where(field).is(value);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, after.after());
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id")))
+                .limit(limit);
+        query.fields().include(RESPONSE_FIELDS);
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    @Override
+    public List<TaskWrite.Outcome> bulkWrite(List<TaskWrite> writes) {
+        List<TaskWrite.Outcome> outcomes = new ArrayList<>(Collections.nCopies(writes.size(), TaskWrite.Outcome.ok()));
+        if (writes.isEmpty()) {
+            return outcomes;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        int updates = 0;
+        int deletes = 0;
+        for (TaskWrite write : writes) {
+            switch (write.getKind()) {
+                case INSERT -> bulk.insert(write.getTask());
+                case UPDATE -> {
+                    bulk.updateOne(pinned(write), write.getUpdate());
+                    updates++;
+                }
+                case DELETE -> {
+                    bulk.remove(pinned(write));
+                    deletes++;
+                }
+            }
+        }
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                outcomes.set(error.getIndex(), TaskWrite.Outcome.failed(error.getMessage()));
+                switch (writes.get(error.getIndex()).getKind()) {
+                    case UPDATE -> updates--;
+                    case DELETE -> deletes--;
+                    default -> {
+                    }
+                }
+            }
+        }
+        // Le bulkWrite ne donne que des totaux : s'il en manque, une relecture dit quelles écritures n'ont rien trouvé
+        boolean updatesMissed = result.getMatchedCount() < updates;
+        boolean deletesMissed = result.getDeletedCount() < deletes;
+        if (!updatesMissed && !deletesMissed) {
+            return outcomes;
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            TaskWrite.Kind kind = writes.get(i).getKind();
+            if (outcomes.get(i).error() == null
+                    && (kind == TaskWrite.Kind.UPDATE && updatesMissed || kind == TaskWrite.Kind.DELETE && deletesMissed)) {
+                candidates.add(i);
+            }
+        }
+        List<String> ids = candidates.stream().map(i -> writes.get(i).getTaskId()).toList();
+        Map<String, Task> current = new HashMap<>();
+        mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), Task.class).forEach(task -> current.put(task.getId(), task));
+        for (int i : candidates) {
+            TaskWrite write = writes.get(i);
+            Task task = current.get(write.getTaskId());
+            // mise à jour appliquée : la version lue a avancé d'exactement un ; suppression appliquée : document absent
+            boolean applied = write.getKind() == TaskWrite.Kind.DELETE
+                    ? task == null
+                    : task != null && Objects.equals(task.getVersion(), (write.getVersion() == null ? 0 : write.getVersion()) + 1);
+            if (!applied) {
+                outcomes.set(i, TaskWrite.Outcome.rejected(task));
+            }
+        }
+        return outcomes;
+    }
+
+    @Override
+    public Task updateIfMatches(String taskId, Criteria guard, Update update) {
+        return mongoTemplate.findAndModify(byId(taskId, guard), update,
+                FindAndModifyOptions.options().returnNew(false), Task.class);
+    }
+
+    @Override
+    public Task removeAndGet(String taskId) {
+        return mongoTemplate.findAndRemove(byId(taskId, null), Task.class);
+    }
+
+    @Override
+    public Map<String, Map<TaskStatus, Long>> countByProjectAndStatus(Collection<String> projectIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("projectId").in(projectIds)),
+                Aggregation.group("projectId", "status").count().as("count"));
+        Map<String, Map<TaskStatus, Long>> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Task.class, Document.class).getMappedResults()) {
+            Document key = row.get("_id", Document.class);
+            String status = key.getString("status");
+            if (status == null) {
+                continue;
+            }
+            counts.computeIfAbsent(key.getString("projectId"), id -> new EnumMap<>(TaskStatus.class))
+                    .merge(TaskStatus.valueOf(status), ((Number) row.get("count")).longValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public TaskFacets summarize(Collection<String> projectIds, String assigneeId, LocalDateTime now,
+                                int maxAssignees, int activeLimit) {
+        String done = TaskStatus.DONE.name();
+        FacetOperation facets = Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                .and(Aggregation.group("priority").count().as("count")).as("byPriority")
+                .and(Aggregation.match(Criteria.where("dueDate").lt(now).and("status").ne(done)),
+                        Aggregation.count().as("count")).as("overdue")
+                .and(Aggregation.match(Criteria.where("assigneeId").nin(null, "")),
+                        Aggregation.group("assigneeId")
+                                .first("assigneeName").as("assigneeName")
+                                .sum(ConditionalOperators.when(Criteria.where("status").is(done)).then(0).otherwise(1)).as("open")
+                                .sum(ConditionalOperators.when(Criteria.where("status").is(done)).then(1).otherwise(0)).as("done"),
+                        Aggregation.sort(Sort.by(Sort.Order.desc("open"), Sort.Order.asc("_id"))),
+                        Aggregation.limit(maxAssignees)).as("assignees");
+        if (assigneeId != null) {
+            facets = facets
+                    .and(Aggregation.match(Criteria.where("assigneeId").is(assigneeId)),
+                            Aggregation.group("status").count().as("count")).as("assigneeByStatus")
+                    .and(Aggregation.match(Criteria.where("assigneeId").is(assigneeId)
+                                    .and("status").in(TaskStatus.TODO.name(), TaskStatus.IN_PROGRESS.name())),
+                            Aggregation.sort(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"))),
+                            Aggregation.limit(activeLimit),
+                            Aggregation.project(RESPONSE_FIELDS)).as("assigneeActive");
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("projectId").in(projectIds)),
+                facets);
+        Document result = mongoTemplate.aggregate(aggregation, Task.class, Document.class).getUniqueMappedResult();
+
+        TaskFacets summary = new TaskFacets();
+        if (result == null) {
+            return summary;
+        }
+        readCounts(result, "byStatus", TaskStatus.class, summary.getByStatus());
+        readCounts(result, "byPriority", TaskPriority.class, summary.getByPriority());
+        readCounts(result, "assigneeByStatus", TaskStatus.class, summary.getAssigneeByStatus());
+        for (Document row : result.getList("overdue", Document.class, List.of())) {
+            summary.setOverdue(((Number) row.get("count")).longValue());
+        }
+        for (Document row : result.getList("assignees", Document.class, List.of())) {
+            summary.getAssignees().add(new AssigneeLoad(row.getString("_id"), row.getString("assigneeName"),
+                    ((Number) row.get("open")).longValue(), ((Number) row.get("done")).longValue()));
+        }
+        for (Document row : result.getList("assigneeActive", Document.class, List.of())) {
+            summary.getAssigneeActive().add(mongoTemplate.getConverter().read(Task.class, row));
+        }
+        return summary;
+    }
+
+    // _id = valeur de l'enum (null ou inconnue : ignorée)
+    private static <E extends Enum<E>> void readCounts(Document result, String facet, Class<E> type, Map<E, Long> target) {
+        for (Document row : result.getList(facet, Document.class, List.of())) {
+            Object key = row.get("_id");
+            if (key == null) {
+                continue;
+            }
+            try {
+                target.merge(Enum.valueOf(type, key.toString()), ((Number) row.get("count")).longValue(), Long::sum);
+            } catch (IllegalArgumentException e) {
+                // valeur hors enum en base : ignorée
+            }
+        }
+    }
+
+    // _id, garde de l'écriture et version lue avant le lot (null : champ absent sur les anciennes tâches)
+    private static Query pinned(TaskWrite write) {
+        Criteria version = Criteria.where("version").is(write.getVersion());
+        return byId(write.getTaskId(), write.getGuard() != null ? new Criteria().andOperator(write.getGuard(), version) : version);
+    }
+
+    private static Query byId(String taskId, Criteria guard) {
+        Criteria criteria = Criteria.where("_id").is(taskId);
+        return new Query(guard != null ? new Criteria().andOperator(criteria, guard) : criteria);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(Task.class);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, Task.class, Document.class).getMappedResults()) {
+            String status = row.getString("_id");
+            if (status != null) {
+                counts.put(TaskStatus.valueOf(status), ((Number) row.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.UnreadCounter;
+import com.backend.repository.UnreadCounterRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class UnreadCounterRepositoryCustomImpl implements UnreadCounterRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Collection<UnreadCounter> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+        int operations = 0;
+        for (UnreadCounter delta : deltas) {
+            Update update = new Update();
+            delta.getProjects().forEach((projectId, count) -> {
+                if (count != 0) {
+                    update.inc("projects." + projectId, count);
+                }
+            });
+            if (update.getUpdateObject().isEmpty()) {
+                continue;
+            }
+            bulk.upsert(new Query(Criteria.where("_id").is(delta.getUserId())), update);
+            operations++;
+        }
+        if (operations > 0) {
+            bulk.execute();
+        }
+    }
+
+    @Override
+    public void markRead(Collection<UnreadCounter> reads) {
+        if (reads.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+        for (UnreadCounter read : reads) {
+            Update update = new Update();
+            read.getProjects().forEach((projectId, count) -> update.set("projects." + projectId, count));
+            read.getReadCursors().forEach((projectId, cursor) -> update.set("readCursors." + projectId, cursor));
+            bulk.upsert(new Query(Criteria.where("_id").is(read.getUserId())), update);
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void forget(String projectId, Collection<String> userIds) {
+        Criteria criteria = userIds == null
+                ? Criteria.where("projects." + projectId).exists(true)
+                : Criteria.where("_id").in(userIds);
+        Update update = new Update().unset("projects." + projectId).unset("readCursors." + projectId);
+        mongoTemplate.updateMulti(new Query(criteria), update, UnreadCounter.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.repository.Impl;
+
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.repository.UserRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<User> users) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (users.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(users)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failures.put(error.getIndex(),
+                    error.getCode() == 11000 ? "Email déjà utilisé" : error.getMessage()));
+        }
+        return failures;
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(User.class);
+    }
+
+    @Override
+    public Map<UserRole, Long> countByRole() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("role").count().as("count"));
+        Map<UserRole, Long> counts = new EnumMap<>(UserRole.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, User.class, Document.class).getMappedResults()) {
+            String role = row.getString("_id");
+            if (role != null) {
+                counts.put(UserRole.valueOf(role), ((Number) row.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+}
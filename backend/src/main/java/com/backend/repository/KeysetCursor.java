@@ -0,0 +1,70 @@
+package com.backend.repository;
+
+import com.backend.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans un parcours trié sur (createdAt, _id), sérialisée en base64 pour rester opaque côté client.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor implements Comparable<KeysetCursor> {
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static KeysetCursor of(Message message) {
+        return new KeysetCursor(message.getCreatedAt(), message.getId());
+    }
+
+    // Même ordre que le tri MongoDB (createdAt, _id) : les ObjectId hexadécimaux se comparent comme des chaînes
+    @Override
+    public int compareTo(KeysetCursor other) {
+        int byDate = createdAt.compareTo(other.createdAt);
+        return byDate != 0 ? byDate : id.compareTo(other.id);
+    }
+
+    // Documents strictement après le curseur dans l'ordre (createdAt, _id) croissant
+    public Criteria after() {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").gt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("_id").gt(objectId()));
+    }
+
+    // Documents strictement avant le curseur dans l'ordre (createdAt, _id) croissant
+    public Criteria before() {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("_id").lt(objectId()));
+    }
+
+    private Object objectId() {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
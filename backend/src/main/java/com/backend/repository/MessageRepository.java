@@ -1,13 +1,28 @@
 package com.backend.repository;
 
 import com.backend.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface MessageRepository extends MongoRepository<Message, String> {
-    List<Message> findAllByOrderByCreatedAtDesc();
-    List<Message> findByProjectIdOrderByCreatedAtDesc(String projectId);
+public interface MessageRepository extends MongoRepository<Message, String>, MessageRepositoryCustom {
+
+    @Query(value = "{ 'projectId': ?0 }", fields = "{ '_id': 1 }")
+    List<Message> findIdsByProjectId(String projectId, Pageable pageable);
+
+    long deleteByIdIn(Collection<String> ids);
+
+    // Plus ancien message antérieur à la date limite de rétention hors des projets exclus (index (createdAt, _id))
+    Message findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(LocalDateTime cutoff, Collection<String> excludedProjectIds);
+
+    // Parcours complet (curseur) limité aux champs indexés par la recherche
+    @Query(value = "{}", fields = "{ 'content': 1, 'projectId': 1 }")
+    Stream<Message> streamAllForSearch();
 }
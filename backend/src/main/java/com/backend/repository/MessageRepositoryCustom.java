@@ -0,0 +1,28 @@
+package com.backend.repository;
+
+import com.backend.model.Message;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MessageRepositoryCustom {
+    // Au plus limit messages (de tous les projets si projectId est null), du plus récent au plus ancien :
+    // les plus récents, ceux antérieurs à before, ou ceux qui suivent immédiatement after.
+    // Servi par les index (projectId, createdAt, _id) et (createdAt, _id), sans tri en mémoire
+    List<Message> findWindow(String projectId, KeysetCursor before, KeysetCursor after, int limit);
+
+    // Insertion non ordonnée en un bulkWrite (écriture différée, rejeu du journal) ; les messages déjà
+    // présents (clé dupliquée, lot rejoué après une insertion partielle) sont ignorés. Renvoie le nombre d'insertions
+    int insertIgnoringDuplicates(List<Message> messages);
+
+    // Au plus limit messages du projet (sans projet si projectId est null) antérieurs à cutoff, du plus ancien
+    // au plus récent : lot suivant à archiver, servi par l'index (projectId, createdAt, _id)
+    List<Message> findExpired(String projectId, LocalDateTime cutoff, int limit);
+
+    // Messages du projet postérieurs à after (tous si after est null) envoyés par d'autres que readerId,
+    // comptés jusqu'à max : parcours de l'index (projectId, createdAt, _id) borné aux messages non lus
+    long countUnread(String projectId, KeysetCursor after, String readerId, int max);
+
+    // Nombre de documents lu dans les métadonnées de la collection (estimatedDocumentCount), sans parcours
+    long estimatedCount();
+}
@@ -0,0 +1,24 @@
+package com.backend.repository;
+
+import com.backend.model.ProjectMember;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProjectMemberRepository extends MongoRepository<ProjectMember, String>, ProjectMemberRepositoryCustom {
+
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'projectId': 1 }")
+    List<ProjectMember> findProjectIdsByUserId(String userId);
+
+    @Query(value = "{}", fields = "{ 'projectId': 1, 'userId': 1 }")
+    Stream<ProjectMember> streamAllMemberships();
+
+    long deleteByIdIn(Collection<String> ids);
+
+    long deleteByProjectId(String projectId);
+}
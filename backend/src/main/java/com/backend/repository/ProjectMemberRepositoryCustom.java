@@ -0,0 +1,10 @@
+package com.backend.repository;
+
+import com.backend.model.ProjectMember;
+
+import java.util.List;
+
+public interface ProjectMemberRepositoryCustom {
+    // Insertion non ordonnée en un bulkWrite ; les membres déjà présents (clé dupliquée) sont ignorés. Renvoie le nombre d'insertions
+    int insertIgnoringDuplicates(List<ProjectMember> members);
+}
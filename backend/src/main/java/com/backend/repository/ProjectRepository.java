@@ -2,12 +2,56 @@ package com.backend.repository;
 
 import com.backend.model.Project;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends MongoRepository<Project, String> {
+public interface ProjectRepository extends MongoRepository<Project, String>, ProjectRepositoryCustom {
     List<Project> findByManagerId(String managerId);
     List<Project> findByTeamIdsContaining(String userId);
+
+    // Projets visibles : ceux en cours de suppression sont masqués
+    @Query("{ 'deleting': { '$ne': true } }")
+    List<Project> findAllActive();
+
+    @Query("{ '_id': ?0, 'deleting': { '$ne': true } }")
+    Optional<Project> findActiveById(String id);
+
+    @Query("{ '_id': { '$in': ?0 }, 'deleting': { '$ne': true } }")
+    List<Project> findActiveByIdIn(Collection<String> ids);
+
+    Optional<Project> findFirstByDeletingTrueOrderByDeletionRequestedAtAsc();
+
+    long countByDeletingTrue();
+
+    @Query(value = "{ 'deleting': { '$ne': true } }", count = true)
+    long countActive();
+
+    // Projets dont l'utilisateur est manager ou membre : une requête, servie par les index managerId et teamIds
+    @Query("{ '$or': [ { 'managerId': ?0 }, { 'teamIds': ?0 } ], 'deleting': { '$ne': true } }")
+    List<Project> findByMember(String userId);
+
+    @Query(value = "{ 'deleting': { '$ne': true } }", fields = "{ 'managerId': 1, 'teamIds': 1, 'membersExternal': 1 }")
+    Stream<Project> streamAllMemberships();
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'teamIds': 1, 'teamSize': 1, 'membersExternal': 1 }")
+    Optional<Project> findMembershipById(String projectId);
+
+    // Parcours complet (curseur) limité aux champs indexés par la recherche
+    @Query(value = "{ 'deleting': { '$ne': true } }", fields = "{ 'name': 1, 'description': 1 }")
+    Stream<Project> streamAllForSearch();
+
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    Stream<Project> streamAllIds();
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'taskCounts': 1 }")
+    List<Project> findTaskCountsByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id': { '$in': ?0 }, 'deleting': { '$ne': true } }", fields = "{ 'status': 1, 'teamSize': 1 }")
+    List<Project> findSummariesByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,45 @@
+package com.backend.repository;
+
+import com.backend.model.Project;
+import com.backend.model.enums.TaskStatus;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProjectRepositoryCustom {
+    // findAndModify avec $set sur les seuls champs fournis ; renvoie le projet mis à jour, ou null s'il n'existe pas
+    Project updateFields(String projectId, Update update);
+
+    // projectId -> (statut -> delta) : un $inc sur taskCounts.<statut> par projet, en un seul bulkWrite
+    void incrementTaskCounts(Map<String, Map<TaskStatus, Long>> deltas);
+
+    // Ajout dans teamIds ($addToSet + $inc teamSize) de chaque utilisateur absent, tant que l'équipe est embarquée
+    // et compte moins de maxEmbedded membres ; renvoie le nombre d'ajouts effectués
+    int addEmbeddedMembers(String projectId, Collection<String> userIds, int maxEmbedded);
+
+    // Retrait de teamIds ($pull + $inc teamSize -1) des utilisateurs présents ; renvoie le nombre de retraits
+    int removeEmbeddedMembers(String projectId, Collection<String> userIds);
+
+    // Bascule l'équipe vers project_members ; renvoie le projet AVANT bascule (null si déjà basculé ou absent)
+    Project markMembersExternal(String projectId);
+
+    void unsetTeamIds(String projectId);
+
+    // $pull de teamIds sans toucher teamSize : retraits pendant la bascule, tant que teamIds n'est pas retiré
+    void pullTeamIds(String projectId, Collection<String> userIds);
+
+    // Pose le drapeau deleting ; renvoie le projet, ou null s'il est absent ou déjà en cours de suppression
+    Project markDeleting(String projectId);
+
+    void incrementTeamSize(String projectId, int delta);
+
+    // Initialise teamSize (taille de teamIds) sur les projets créés avant le compteur
+    long backfillTeamSize();
+
+    // Remplace taskCounts si les compteurs lus (expected) n'ont pas bougé entre-temps ; renvoie le nombre de projets corrigés
+    int replaceTaskCounts(Map<String, Map<TaskStatus, Long>> expected, Map<String, Map<TaskStatus, Long>> actual);
+
+    // Nombre de documents lu dans les métadonnées de la collection (estimatedDocumentCount), sans parcours
+    long estimatedCount();
+}
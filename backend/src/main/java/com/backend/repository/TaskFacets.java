@@ -0,0 +1,33 @@
+package com.backend.repository;
+
+import com.backend.dto.AssigneeLoad;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskPriority;
+import com.backend.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Résultat de TaskRepositoryCustom.summarize : les facettes d'une seule agrégation $facet
+@Data
+public class TaskFacets {
+    private Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+    private Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+    private long overdue;
+    private List<AssigneeLoad> assignees = new ArrayList<>();
+    // renseignés seulement si un assigneeId est fourni
+    private Map<TaskStatus, Long> assigneeByStatus = new EnumMap<>(TaskStatus.class);
+    private List<Task> assigneeActive = new ArrayList<>();
+
+    public long total() {
+        return byStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public int progress() {
+        long total = total();
+        return total <= 0 ? 0 : (int) Math.round(100.0 * byStatus.getOrDefault(TaskStatus.DONE, 0L) / total);
+    }
+}
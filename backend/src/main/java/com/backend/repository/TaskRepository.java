@@ -2,13 +2,25 @@ package com.backend.repository;
 
 
 import com.backend.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
     List<Task> findByProjectId(String projectId);
     List<Task> findByAssigneeId(String userId);
+
+    List<Task> findByProjectId(String projectId, Pageable pageable);
+
+    long deleteByIdIn(Collection<String> ids);
+
+    // Parcours complet (curseur) limité aux champs indexés par la recherche
+    @Query(value = "{}", fields = "{ 'title': 1, 'description': 1, 'projectId': 1 }")
+    Stream<Task> streamAllForSearch();
 }
@@ -0,0 +1,42 @@
+package com.backend.repository;
+
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+    // Page triée sur (createdAt, _id) des tâches où field == value, limitée aux champs de TaskResponse
+    List<Task> findPage(String field, String value, KeysetCursor after, int limit);
+
+    // Toutes les écritures en un seul bulkWrite non ordonné (mises à jour et suppressions gardées sur la version lue),
+    // puis, s'il manque des documents touchés, un seul $in pour savoir lesquelles n'ont rien trouvé ;
+    // renvoie un résultat par écriture, dans l'ordre
+    List<TaskWrite.Outcome> bulkWrite(List<TaskWrite> writes);
+
+    // findAndModify en un aller-retour : applique update si la tâche existe et satisfait guard ;
+    // renvoie le document AVANT modification, ou null si rien ne correspondait
+    Task updateIfMatches(String taskId, Criteria guard, Update update);
+
+    // findAndRemove : supprime la tâche et renvoie le document supprimé (null si absent)
+    Task removeAndGet(String taskId);
+
+    // Nombre de tâches par projet et par statut (agrégation $group sur projectId, status)
+    Map<String, Map<TaskStatus, Long>> countByProjectAndStatus(Collection<String> projectIds);
+
+    // Une agrégation $facet sur les tâches des projets : répartition par statut et priorité, retards, charge
+    // par assigné (maxAssignees plus chargés) et, si assigneeId est fourni, ses tâches par statut et ses
+    // activeLimit tâches actives les plus récentes
+    TaskFacets summarize(Collection<String> projectIds, String assigneeId, LocalDateTime now, int maxAssignees, int activeLimit);
+
+    // Nombre de documents lu dans les métadonnées de la collection (estimatedDocumentCount), sans parcours
+    long estimatedCount();
+
+    // Nombre de tâches par statut (agrégation $group sur status), pour le recalage des compteurs globaux
+    Map<TaskStatus, Long> countByStatus();
+}
@@ -0,0 +1,60 @@
+package com.backend.repository;
+
+import com.backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Une écriture d'un lot sur "tasks" : insertion, mise à jour ($set partiel) ou suppression.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskWrite {
+
+    public enum Kind {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final Kind kind;
+    private final String taskId;
+    private final Task task;
+    private final Update update;
+    private final Criteria guard;  // condition supplémentaire sur le document ciblé (peut être null)
+    private final Long version;    // version lue avant le lot : l'écriture ne s'applique qu'à ce document-là
+
+    public static TaskWrite insert(Task task) {
+        return new TaskWrite(Kind.INSERT, task.getId(), task, null, null, null);
+    }
+
+    public static TaskWrite update(String taskId, Update update, Criteria guard, Long version) {
+        return new TaskWrite(Kind.UPDATE, taskId, null, update, guard, version);
+    }
+
+    public static TaskWrite delete(String taskId, Long version) {
+        return new TaskWrite(Kind.DELETE, taskId, null, null, null, version);
+    }
+
+    /**
+     * Résultat d'une écriture : applied == false si aucun document ne correspondait (tâche absente, modifiée depuis
+     * la lecture ou garde non satisfaite), error renseigné si MongoDB l'a refusée. current : document relu après un
+     * refus (null s'il n'existe plus).
+     */
+    public record Outcome(boolean applied, Task current, String error) {
+
+        public static Outcome ok() {
+            return new Outcome(true, null, null);
+        }
+
+        public static Outcome rejected(Task current) {
+            return new Outcome(false, current, null);
+        }
+
+        public static Outcome failed(String error) {
+            return new Outcome(false, null, error);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.backend.repository;
+
+import com.backend.model.UnreadCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UnreadCounterRepository extends MongoRepository<UnreadCounter, String>, UnreadCounterRepositoryCustom {
+}
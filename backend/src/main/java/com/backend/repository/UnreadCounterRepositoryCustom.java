@@ -0,0 +1,16 @@
+package com.backend.repository;
+
+import com.backend.model.UnreadCounter;
+
+import java.util.Collection;
+
+public interface UnreadCounterRepositoryCustom {
+    // Ajoute les deltas de "projects" en un seul bulkWrite de $inc avec upsert
+    void increment(Collection<UnreadCounter> deltas);
+
+    // Remplace compteurs et positions de lecture des projets présents dans chaque document, en un seul bulkWrite
+    void markRead(Collection<UnreadCounter> reads);
+
+    // Retire le projet des compteurs des utilisateurs donnés, ou de tous si userIds est null
+    void forget(String projectId, Collection<String> userIds);
+}
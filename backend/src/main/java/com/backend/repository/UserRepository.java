@@ -3,15 +3,25 @@ package com.backend.repository;
 import com.backend.model.User;
 import com.backend.model.enums.UserRole;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
     List<User> findByRole(UserRole role);
+
+    // Seul l'email est projeté : sert à détecter les doublons d'un lot en un seul $in
+    @Query(value = "{ 'email': { '$in': ?0 } }", fields = "{ 'email': 1 }")
+    List<User> findEmailsIn(Collection<String> emails);
+
+    // Nom et rôle uniquement (classements, statistiques)
+    @Query(value = "{}", fields = "{ 'name': 1, 'role': 1 }")
+    List<User> findAllSummaries();
 }
\ No newline at end of file
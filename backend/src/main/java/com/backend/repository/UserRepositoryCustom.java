@@ -0,0 +1,18 @@
+package com.backend.repository;
+
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+
+import java.util.List;
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+    // Insertion en un seul bulkWrite non ordonné ; renvoie l'index (dans la liste) -> message des insertions échouées
+    Map<Integer, String> insertUnordered(List<User> users);
+
+    // Nombre de documents lu dans les métadonnées de la collection (estimatedDocumentCount), sans parcours
+    long estimatedCount();
+
+    // Nombre d'utilisateurs par rôle (agrégation $group sur role)
+    Map<UserRole, Long> countByRole();
+}
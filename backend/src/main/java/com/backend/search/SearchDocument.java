@@ -0,0 +1,22 @@
+package com.backend.search;
+
+/**
+ * Ce qui est indexé d'une tâche, d'un projet ou d'un message. projectId sert au filtrage par appartenance
+ * (pour un projet, c'est son propre id) ; null = visible par tous. Sans titre, le début de body est affiché.
+ */
+public record SearchDocument(Type type, String id, String projectId, String title, String body) {
+
+    public enum Type {
+        TASK,
+        PROJECT,
+        MESSAGE
+    }
+
+    String key() {
+        return key(type, id);
+    }
+
+    static String key(Type type, String id) {
+        return type.name() + ":" + id;
+    }
+}
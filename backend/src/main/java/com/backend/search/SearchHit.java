@@ -0,0 +1,4 @@
+package com.backend.search;
+
+public record SearchHit(SearchDocument.Type type, String id, String projectId, String title, float score) {
+}
@@ -0,0 +1,527 @@
+package com.backend.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire, classement BM25.
+ * <p>
+ * Chaque document reçoit un numéro interne croissant ; les listes de postings sont donc triées et parcourues
+ * en parallèle (document par document) avec un tas des meilleurs résultats, sans table de scores intermédiaire.
+ * Une mise à jour marque l'ancienne version comme supprimée et en ajoute une nouvelle ; les entrées mortes
+ * sont purgées quand elles dépassent le tiers de l'index. Le dernier terme de la requête est traité comme
+ * un préfixe (saisie en cours).
+ */
+public class SearchIndex {
+
+    private static final int MAGIC = 0x4E585349;  // "NXSI"
+    private static final int FORMAT_VERSION = 1;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_BOOST = 2;  // les termes du titre comptent double
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_TITLE_LENGTH = 120;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docsByKey = new HashMap<>();
+    private final Map<String, Integer> projectOrdinals = new HashMap<>();
+    private final List<String> projectIds = new ArrayList<>();
+
+    // colonnes indexées par numéro interne
+    private SearchDocument.Type[] types = new SearchDocument.Type[1024];
+    private String[] ids = new String[1024];
+    private String[] titles = new String[1024];
+    private int[] projects = new int[1024];
+    private int[] lengths = new int[1024];
+    private final BitSet live = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+
+    public void upsert(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokenize(document.title())) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(document.body())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.key());
+            // un document sans terme est tout de même enregistré : countByType reste égal au nombre de documents source
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            types[doc] = document.type();
+            ids[doc] = document.id();
+            titles[doc] = truncate(document.title() != null ? document.title() : document.body());
+            projects[doc] = projectOrdinal(document.projectId());
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            lengths[doc] = length;
+            live.set(doc);
+            liveCount++;
+            liveLength += length;
+            docsByKey.put(document.key(), doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocument.Type type, String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(SearchDocument.key(type, id));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param allowedProjects projets visibles ; null = aucun filtre. Les documents sans projet sont toujours visibles.
+     */
+    public List<SearchHit> search(String query, Collection<String> allowedProjects, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            List<Postings> lists = new ArrayList<>();
+            List<Float> idfs = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                if (i == tokens.size() - 1) {
+                    // termes commençant par token ; le terme exact (s'il existe) vient en premier
+                    int expansions = 0;
+                    for (Postings postings : terms.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                        if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        lists.add(postings);
+                        idfs.add(idf(postings.size));
+                    }
+                } else {
+                    Postings postings = terms.get(token);
+                    if (postings != null) {
+                        lists.add(postings);
+                        idfs.add(idf(postings.size));
+                    }
+                }
+            }
+            return topK(lists, idfs, allowedOrdinals(allowedProjects), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<SearchDocument.Type, Long> countByType() {
+        lock.readLock().lock();
+        try {
+            Map<SearchDocument.Type, Long> counts = new EnumMap<>(SearchDocument.Type.class);
+            for (SearchDocument.Type type : SearchDocument.Type.values()) {
+                counts.put(type, 0L);
+            }
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                counts.merge(types[doc], 1L, Long::sum);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Écrit les seuls documents vivants (renumérotés) dans un fichier temporaire, puis le renomme
+    public void writeSnapshot(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            int[] remap = new int[docCount];
+            Arrays.fill(remap, -1);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(liveCount);
+            int next = 0;
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                remap[doc] = next++;
+                out.writeByte(types[doc].ordinal());
+                writeString(out, ids[doc]);
+                writeString(out, projects[doc] < 0 ? null : projectIds.get(projects[doc]));
+                writeString(out, titles[doc]);
+                out.writeInt(lengths[doc]);
+            }
+            out.writeInt(terms.size());
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                Postings postings = entry.getValue();
+                int liveEntries = 0;
+                for (int i = 0; i < postings.size; i++) {
+                    if (remap[postings.docs[i]] >= 0) {
+                        liveEntries++;
+                    }
+                }
+                writeString(out, entry.getKey());
+                out.writeInt(liveEntries);
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = remap[postings.docs[i]];
+                    if (doc >= 0) {
+                        out.writeInt(doc);
+                        out.writeInt(postings.freqs[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Relit un instantané via un mapping mémoire (lecture séquentielle sans copie par le noyau)
+    public static SearchIndex readSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported search snapshot: " + file);
+            }
+            SearchIndex index = new SearchIndex();
+            int count = buffer.getInt();
+            index.ensureCapacity(count);
+            SearchDocument.Type[] typeValues = SearchDocument.Type.values();
+            for (int doc = 0; doc < count; doc++) {
+                index.types[doc] = typeValues[buffer.get()];
+                index.ids[doc] = readString(buffer);
+                index.projects[doc] = index.projectOrdinal(readString(buffer));
+                index.titles[doc] = readString(buffer);
+                index.lengths[doc] = buffer.getInt();
+                index.docsByKey.put(SearchDocument.key(index.types[doc], index.ids[doc]), doc);
+                index.liveLength += index.lengths[doc];
+            }
+            index.live.set(0, count);
+            index.docCount = count;
+            index.liveCount = count;
+            int termCount = buffer.getInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = readString(buffer);
+                int size = buffer.getInt();
+                Postings postings = new Postings(Math.max(1, size));
+                for (int i = 0; i < size; i++) {
+                    postings.add(buffer.getInt(), buffer.getInt());
+                }
+                if (size > 0) {
+                    index.terms.put(term, postings);
+                }
+            }
+            return index;
+        }
+    }
+
+    /*
+     * Parcours document par document avec élagage MaxScore : les listes sont triées par contribution maximale
+     * (idf * (k1 + 1)). Dès que le tas est plein, les listes dont la somme des maxima ne peut dépasser le
+     * moins bon score retenu deviennent "non essentielles" : on ne les parcourt plus, on y cherche seulement
+     * (par dichotomie) les documents trouvés dans les listes essentielles. Les termes très fréquents, de faible
+     * idf, sont ainsi sautés au lieu d'être lus en entier.
+     */
+    private List<SearchHit> topK(List<Postings> lists, List<Float> idfs, BitSet allowed, int limit) {
+        int n = lists.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(idfs::get));
+        Postings[] postings = new Postings[n];
+        float[] weights = new float[n];
+        float[] bounds = new float[n];  // bounds[i] = somme des maxima des listes 0..i
+        for (int i = 0; i < n; i++) {
+            postings[i] = lists.get(order[i]);
+            weights[i] = idfs.get(order[i]);
+            bounds[i] = (i > 0 ? bounds[i - 1] : 0) + weights[i] * (K1 + 1);
+        }
+        int[] positions = new int[n];
+        float averageLength = (float) liveLength / liveCount;
+        // tas min : la racine est le moins bon des résultats retenus
+        PriorityQueue<Scored> heap = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Scored::score));
+        float threshold = 0;
+        int firstEssential = 0;
+        while (firstEssential < n) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < n; i++) {
+                if (positions[i] < postings[i].size && postings[i].docs[positions[i]] < doc) {
+                    doc = postings[i].docs[positions[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            boolean visible = live.get(doc) && (allowed == null || projects[doc] < 0 || allowed.get(projects[doc]));
+            float score = 0;
+            float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            for (int i = firstEssential; i < n; i++) {
+                if (positions[i] < postings[i].size && postings[i].docs[positions[i]] == doc) {
+                    if (visible) {
+                        score += bm25(weights[i], postings[i].freqs[positions[i]], norm);
+                    }
+                    positions[i]++;
+                }
+            }
+            if (!visible) {
+                continue;
+            }
+            for (int i = firstEssential - 1; i >= 0 && score + bounds[i] > threshold; i--) {
+                positions[i] = postings[i].advance(positions[i], doc);
+                if (positions[i] < postings[i].size && postings[i].docs[positions[i]] == doc) {
+                    score += bm25(weights[i], postings[i].freqs[positions[i]], norm);
+                }
+            }
+            if (heap.size() < limit) {
+                heap.add(new Scored(score, doc));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Scored(score, doc));
+            } else {
+                continue;
+            }
+            if (heap.size() == limit) {
+                threshold = heap.peek().score();
+                while (firstEssential < n && bounds[firstEssential] <= threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Scored entry = heap.poll();
+            int doc = entry.doc();
+            String projectId = projects[doc] < 0 ? null : projectIds.get(projects[doc]);
+            hits.add(new SearchHit(types[doc], ids[doc], projectId, titles[doc], entry.score()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private static float bm25(float idf, int tf, float norm) {
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private float idf(int postingsSize) {
+        // les postings peuvent encore contenir des documents supprimés (avant purge)
+        int documentFrequency = Math.min(postingsSize, liveCount);
+        return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private BitSet allowedOrdinals(Collection<String> allowedProjects) {
+        if (allowedProjects == null) {
+            return null;
+        }
+        BitSet allowed = new BitSet(projectIds.size());
+        for (String projectId : allowedProjects) {
+            Integer ordinal = projectOrdinals.get(projectId);
+            if (ordinal != null) {
+                allowed.set(ordinal);
+            }
+        }
+        return allowed;
+    }
+
+    private void removeLocked(String key) {
+        Integer doc = docsByKey.remove(key);
+        if (doc != null && live.get(doc)) {
+            live.clear(doc);
+            liveCount--;
+            liveLength -= lengths[doc];
+            titles[doc] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = docCount - liveCount;
+        if (dead < MIN_DEAD_TO_COMPACT || dead * 3 < docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                types[next] = types[doc];
+                ids[next] = ids[doc];
+                titles[next] = titles[doc];
+                projects[next] = projects[doc];
+                lengths[next] = lengths[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        for (int doc = next; doc < docCount; doc++) {
+            ids[doc] = null;
+            titles[doc] = null;
+        }
+        terms.values().removeIf(postings -> postings.retain(remap) == 0);
+        docsByKey.replaceAll((key, doc) -> remap[doc]);
+        live.clear();
+        live.set(0, next);
+        docCount = next;
+    }
+
+    private int projectOrdinal(String projectId) {
+        if (projectId == null) {
+            return -1;
+        }
+        return projectOrdinals.computeIfAbsent(projectId, id -> {
+            projectIds.add(id);
+            return projectIds.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length + (ids.length >> 1));
+        types = Arrays.copyOf(types, newLength);
+        ids = Arrays.copyOf(ids, newLength);
+        titles = Arrays.copyOf(titles, newLength);
+        projects = Arrays.copyOf(projects, newLength);
+        lengths = Arrays.copyOf(lengths, newLength);
+    }
+
+    private static String truncate(String title) {
+        if (title == null) {
+            return "";
+        }
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) + "…" : title;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Scored(float score, int doc) {
+    }
+
+    // Liste (docs, fréquences) triée par numéro de document, tableaux agrandis à la demande
+    private static final class Postings {
+        private int[] docs;
+        private int[] freqs;
+        private int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docs = new int[capacity];
+            freqs = new int[capacity];
+        }
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // Première position >= from dont le document est >= doc (recherche exponentielle puis dichotomique)
+        int advance(int from, int doc) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < doc) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (docs[middle] < doc) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Renumérote et retire les documents supprimés ; renvoie la nouvelle taille
+        int retain(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.backend.security;
+
+import com.backend.model.enums.UserRole;
+
+/**
+ * Identité de l'utilisateur connecté, telle que lue par les controllers.
+ * Implémentée par {@link com.backend.model.User} (mode "database") et par {@link ClaimsPrincipal} (mode "claims").
+ */
+public interface AuthenticatedPrincipal {
+    String getId();
+    String getName();
+    String getEmail();
+    UserRole getRole();
+}
@@ -0,0 +1,137 @@
+package com.backend.security;
+
+import com.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exécute le hachage / la vérification BCrypt sur un pool dédié à file bornée, pour qu'un pic de
+ * connexions ne monopolise pas les threads Tomcat. File pleine -> ServiceUnavailableException (503) immédiate.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore bulkPermits;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        // au plus threads / 2 hachages de masse simultanés (au moins un)
+        this.bulkPermits = new Semaphore(Math.max(1, threads / 2));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hache une liste de mots de passe en parallèle sur le pool. Les créations en masse n'occupent jamais
+     * plus de la moitié des threads (un mot de passe par tâche), pour que les logins concurrents gardent
+     * des threads libres et ne fassent pas la queue derrière tout le lot.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        String[] encoded = new String[rawPasswords.size()];
+        List<Future<?>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (int i = 0; i < rawPasswords.size(); i++) {
+                int index = i;
+                bulkPermits.acquire();
+                try {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            encoded[index] = encodeTimer.record(() -> delegate.encode(rawPasswords.get(index)));
+                        } finally {
+                            bulkPermits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    bulkPermits.release();
+                    throw e;
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            // les tâches déjà soumises se terminent et rendent leur permis ; les annuler en file le perdrait
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Authentication interrupted, please retry");
+        }
+        for (Future<?> future : futures) {
+            await(future);
+        }
+        return List.of(encoded);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, please retry");
+        }
+        return await(future);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Authentication interrupted, please retry");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
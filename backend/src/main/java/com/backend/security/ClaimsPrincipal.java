@@ -0,0 +1,39 @@
+package com.backend.security;
+
+import com.backend.model.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal construit uniquement à partir des claims d'un JWT vérifié (aucun accès Mongo).
+ */
+@Getter
+@AllArgsConstructor
+public class ClaimsPrincipal implements UserDetails, AuthenticatedPrincipal {
+
+    private final String id;
+    private final String email;
+    private final String name;
+    private final UserRole role;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
@@ -1,13 +1,24 @@
 package com.backend.security.Impl;
 
+import com.backend.model.enums.UserRole;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.security.ClaimsPrincipal;
 import com.backend.security.JwtService;
+import com.backend.security.TokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,14 +26,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.WebUtils;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLE = "role";
+
+    private final TokenRevocationService tokenRevocationService;
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
@@ -35,6 +55,28 @@ public class JwtServiceImpl implements JwtService {
     @Value("${application.security.jwt.cookie-secure:false}")
     private boolean cookieSecure;
 
+    @Value("${application.security.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    // Construits une seule fois : le décodage base64 de la clé et le parser ne changent jamais
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // token -> claims déjà vérifiés (signature HMAC), chaque entrée expire au "exp" du token
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, Claims>creating((token, claims) -> timeUntilExpiration(claims)))
+                .build();
+    }
+
     @Override
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -42,13 +84,47 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        // Toujours émis, pour pouvoir passer en mode "claims" sans réémettre les tokens
+        if (userDetails instanceof AuthenticatedPrincipal principal) {
+            claims.put(CLAIM_USER_ID, principal.getId());
+            claims.put(CLAIM_NAME, principal.getName());
+            claims.put(CLAIM_ROLE, principal.getRole() != null ? principal.getRole().name() : null);
+        }
+        return generateToken(claims, userDetails);
     }
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token) && !isTokenRevoked(token);
+    }
+
+    @Override
+    public void revokeToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        } catch (JwtException e) {
+            // token expiré ou invalide : rien à révoquer
+        }
+        verifiedTokens.invalidate(token);
+    }
+
+    @Override
+    public UserDetails extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || claims.getExpiration().before(new Date())
+                || tokenRevocationService.isRevoked(claims.getId())) {
+            return null;
+        }
+        return new ClaimsPrincipal(userId, claims.getSubject(), claims.get(CLAIM_NAME, String.class), UserRole.valueOf(role));
+    }
+
+    private boolean isTokenRevoked(String token) {
+        return tokenRevocationService.isRevoked(extractClaim(token, Claims::getId));
     }
 
     private boolean isTokenExpired(String token) {
@@ -59,6 +135,15 @@ public class JwtServiceImpl implements JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    private static Duration timeUntilExpiration(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ZERO;
+        }
+        long millis = expiration.getTime() - System.currentTimeMillis();
+        return millis > 0 ? Duration.ofMillis(millis) : Duration.ZERO;
+    }
+
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -102,6 +187,7 @@ public class JwtServiceImpl implements JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString()) // jti : identifiant utilisé par la liste de révocation
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
@@ -115,15 +201,17 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        // Une seule vérification de signature par token ; les exceptions (signature, expiration) ne sont pas mises en cache
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(token, claims);
+        return claims;
     }
 
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
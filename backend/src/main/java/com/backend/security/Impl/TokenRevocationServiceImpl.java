@@ -0,0 +1,125 @@
+package com.backend.security.Impl;
+
+import com.backend.security.BloomFilter;
+import com.backend.security.TokenRevocationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste de révocation en mémoire : un filtre de Bloom sur les jti révoqués donne un "non révoqué"
+ * quasi gratuit sur le chemin chaud ; seuls les hits du filtre consultent l'ensemble exact.
+ * Chaque révocation est ajoutée à un fichier local (jti + expiration) relu au démarrage ; les entrées
+ * expirées sont purgées périodiquement (filtre reconstruit, fichier compacté).
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    @Value("${application.security.revocation.file:data/revoked-tokens.bin}")
+    private String revocationFile;
+
+    @Value("${application.security.revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${application.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // jti -> expiration (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private DataOutputStream journal;
+
+    @PostConstruct
+    void init() throws IOException {
+        Path path = Paths.get(revocationFile);
+        long now = System.currentTimeMillis();
+        if (Files.exists(path)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                while (true) {
+                    String tokenId = in.readUTF();
+                    long expiresAt = in.readLong();
+                    if (expiresAt > now) {
+                        revoked.put(tokenId, expiresAt);
+                    }
+                }
+            } catch (EOFException e) {
+                // fin du fichier (ou dernier enregistrement tronqué par un arrêt brutal)
+            }
+        }
+        compact();
+        log.info("Loaded {} revoked tokens from {}", revoked.size(), path.toAbsolutePath());
+    }
+
+    @Override
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        synchronized (this) {
+            revoked.put(tokenId, expiresAt.getTime());
+            bloomFilter.put(tokenId);
+            try {
+                journal.writeUTF(tokenId);
+                journal.writeLong(expiresAt.getTime());
+                journal.flush();
+            } catch (IOException e) {
+                log.error("Could not persist revoked token {}", tokenId, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // Retire les entrées expirées, reconstruit le filtre (un Bloom ne supporte pas la suppression) et réécrit le fichier
+    @Scheduled(fixedDelayString = "${application.security.revocation.purge-interval-ms:600000}")
+    public synchronized void compact() throws IOException {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+
+        Path path = Paths.get(revocationFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            for (Map.Entry<String, Long> entry : revoked.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true)));
+        bloomFilter = rebuilt;
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
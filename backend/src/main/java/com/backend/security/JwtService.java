@@ -16,6 +16,12 @@ public interface JwtService {
 
     boolean isTokenValid(String token, UserDetails userDetails);
 
+    // Principal reconstruit depuis les claims du token (null si le token ne porte pas les claims utilisateur)
+    UserDetails extractPrincipal(String token);
+
+    // Révoque le token jusqu'à son expiration (logout)
+    void revokeToken(String token);
+
     //méthodes pour la gestion des cookies
     ResponseCookie generateJwtCookie(String jwt);
     String getJwtFromCookies(HttpServletRequest request);
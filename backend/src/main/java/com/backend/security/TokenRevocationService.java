@@ -0,0 +1,9 @@
+package com.backend.security;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+    // Révoque un token (par son jti) jusqu'à son expiration naturelle
+    void revoke(String tokenId, Date expiresAt);
+    boolean isRevoked(String tokenId);
+}
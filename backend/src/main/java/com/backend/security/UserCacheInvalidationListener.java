@@ -0,0 +1,41 @@
+package com.backend.security;
+
+import com.backend.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalide le UserDetailsCache à chaque écriture d'un document "users" passant par
+ * Spring Data (save, delete). Les modifications faites hors application sont couvertes par le TTL du cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener extends AbstractMongoEventListener<User> {
+
+    private final UserDetailsCache userDetailsCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        userDetailsCache.evict(user.getEmail());
+        if (user.getId() != null) {
+            // l'email a pu changer : on retire aussi l'ancienne entrée
+            userDetailsCache.evictById(user.getId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id != null && !(id instanceof Document)) {
+            userDetailsCache.evictById(id.toString());
+        } else {
+            userDetailsCache.evictAll();
+        }
+    }
+}
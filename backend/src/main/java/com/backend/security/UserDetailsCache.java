@@ -0,0 +1,58 @@
+package com.backend.security;
+
+import com.backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache borné (taille + TTL) des principals chargés par le JwtAuthenticationFilter,
+ * pour éviter un findByEmail Mongo à chaque requête authentifiée.
+ * Les métriques hit/miss/eviction sont publiées sous "cache.*" avec le tag cache=principal.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${application.security.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+    }
+
+    public UserDetails load(String email) {
+        return cache.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void evictById(String userId) {
+        cache.asMap().values().removeIf(details -> details instanceof User user && userId.equals(user.getId()));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,19 @@
+package com.backend.service;
+
+import com.backend.dto.ActivitySeriesResponse;
+import com.backend.model.enums.ActivityGranularity;
+
+import java.time.LocalDateTime;
+
+public interface ActivityService {
+    // Série lue dans les agrégats : un projet, ou tous les projets de l'utilisateur si projectId est null.
+    // granularity null : choisie selon la durée demandée
+    ActivitySeriesResponse getSeries(String userId, String projectId, ActivityGranularity granularity,
+                                     LocalDateTime from, LocalDateTime to);
+
+    // Écrit les événements et les agrégats en attente
+    void flush();
+
+    // Supprime un lot d'événements bruts et les agrégats à la minute expirés ; renvoie le nombre d'événements supprimés
+    int compact();
+}
@@ -1,9 +1,10 @@
 package com.backend.service;
 
+import com.backend.dto.auth.AuthResult;
 import com.backend.dto.auth.LoginRequest;
 import com.backend.dto.auth.RegisterRequest;
 
 public interface AuthService {
-    String register(RegisterRequest request);
-    String login(LoginRequest request);
+    AuthResult registerUser(RegisterRequest request);
+    AuthResult authenticate(LoginRequest request);
 }
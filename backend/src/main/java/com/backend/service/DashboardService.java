@@ -0,0 +1,9 @@
+package com.backend.service;
+
+import com.backend.dto.DashboardResponse;
+import com.backend.dto.ProjectSummaryResponse;
+
+public interface DashboardService {
+    ProjectSummaryResponse getProjectSummary(String projectId);
+    DashboardResponse getDashboard(String userId);
+}
@@ -0,0 +1,378 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.ActivityBucket;
+import com.backend.dto.ActivitySeriesResponse;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.ActivityEvent;
+import com.backend.model.ActivityRollup;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.model.enums.ActivityType;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ActivityEventRepository;
+import com.backend.repository.ActivityRollupRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.ActivityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Journal d'activité alimenté par les événements de TaskServiceImpl, ProjectServiceImpl et MessageServiceImpl.
+ * <p>
+ * Les événements sont mis en attente en mémoire et écrits toutes les flush-interval-ms : un insertMany pour le
+ * journal brut ("activity_events"), un bulkWrite de $inc pour les agrégats à la minute, à l'heure et au jour
+ * ("activity_rollups"). Les agrégats sont cumulés dès la réception : une rafale sur un même projet coûte une
+ * écriture par intervalle, pas une par événement. Au-delà de buffer-size événements en attente (base
+ * indisponible), les suivants sont comptés comme perdus.
+ * <p>
+ * Les séries ne lisent que les agrégats ; le journal brut sert d'historique et n'est conservé que
+ * raw-retention-days, les agrégats à la minute minute-retention-days, ceux à l'heure et au jour sans limite.
+ */
+@Slf4j
+@Service
+public class ActivityServiceImpl implements ActivityService {
+
+    private final ActivityEventRepository eventRepository;
+    private final ActivityRollupRepository rollupRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    private final ProjectRepository projectRepository;
+    private final int bufferSize;
+    private final int maxBuckets;
+    private final int rawRetentionDays;
+    private final int minuteRetentionDays;
+    private final int compactionBatchSize;
+    private final Timer flushTimer;
+    private final Counter recorded;
+    private final Counter dropped;
+
+    private List<ActivityEvent> pendingEvents = new ArrayList<>();
+    // id d'agrégat -> compteurs reçus depuis le dernier vidage
+    private Map<String, ActivityRollup> pendingRollups = new HashMap<>();
+
+    public ActivityServiceImpl(ActivityEventRepository eventRepository,
+                               ActivityRollupRepository rollupRepository,
+                               ProjectMembershipIndex membershipIndex,
+                               ProjectRepository projectRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${application.activity.buffer-size:100000}") int bufferSize,
+                               @Value("${application.activity.max-buckets:1000}") int maxBuckets,
+                               @Value("${application.activity.compaction.raw-retention-days:30}") int rawRetentionDays,
+                               @Value("${application.activity.compaction.minute-retention-days:7}") int minuteRetentionDays,
+                               @Value("${application.activity.compaction.batch-size:5000}") int compactionBatchSize) {
+        this.eventRepository = eventRepository;
+        this.rollupRepository = rollupRepository;
+        this.membershipIndex = membershipIndex;
+        this.projectRepository = projectRepository;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxBuckets = Math.max(1, maxBuckets);
+        this.rawRetentionDays = rawRetentionDays;
+        this.minuteRetentionDays = minuteRetentionDays;
+        this.compactionBatchSize = Math.max(1, compactionBatchSize);
+        this.flushTimer = Timer.builder("activity.flush").register(meterRegistry);
+        this.recorded = Counter.builder("activity.events").tag("outcome", "recorded").register(meterRegistry);
+        this.dropped = Counter.builder("activity.events").tag("outcome", "dropped").register(meterRegistry);
+        Gauge.builder("activity.pending", this, ActivityServiceImpl::pendingEvents).register(meterRegistry);
+    }
+
+    @Override
+    public ActivitySeriesResponse getSeries(String userId, String projectId, ActivityGranularity granularity,
+                                            LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("from must be before to");
+        }
+        ActivityGranularity resolved = granularity != null ? granularity : granularityFor(Duration.between(start, end));
+        if (resolved.bucketsBetween(start, end) > maxBuckets) {
+            throw new RuntimeException("Too many buckets (max " + maxBuckets + "): use a coarser granularity");
+        }
+
+        Set<String> projectIds = membershipIndex.projectIdsOf(userId);
+        if (projectId != null) {
+            if (!projectIds.contains(projectId)) {
+                throw new AccessDeniedException("Not a member of this project");
+            }
+            projectIds = Set.of(projectId);
+        }
+
+        // un intervalle par pas, vide par défaut, puis somme des agrégats des projets
+        LocalDateTime first = resolved.bucketOf(start);
+        Map<LocalDateTime, Map<ActivityType, Long>> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucket = first; bucket.isBefore(end); bucket = resolved.next(bucket)) {
+            buckets.put(bucket, new EnumMap<>(ActivityType.class));
+        }
+        Map<ActivityType, Long> totals = new EnumMap<>(ActivityType.class);
+        if (!projectIds.isEmpty()) {
+            for (ActivityRollup rollup : rollupRepository.findRange(resolved, projectIds, first, end)) {
+                Map<ActivityType, Long> counts = buckets.get(rollup.getBucketStart());
+                if (counts == null) {
+                    continue;
+                }
+                rollup.getCounts().forEach((type, count) -> {
+                    counts.merge(type, count, Long::sum);
+                    totals.merge(type, count, Long::sum);
+                });
+            }
+        }
+        return ActivitySeriesResponse.builder()
+                .granularity(resolved)
+                .from(first)
+                .to(end)
+                .buckets(buckets.entrySet().stream()
+                        .map(entry -> new ActivityBucket(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList()))
+                .totals(totals)
+                .build();
+    }
+
+    // Création, suppression, changement de statut (terminée / rouverte) ou autre modification
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        String actorId = currentUserId();
+        // Suppressions de la purge d'un projet supprimé (agrégats déjà effacés) : rien n'est journalisé,
+        // sans quoi ses agrégats réapparaîtraient ; un $in par événement, seulement s'il contient des suppressions
+        Set<String> removedFrom = event.getChanges().stream()
+                .filter(change -> change.current() == null && change.previous().getProjectId() != null)
+                .map(change -> change.previous().getProjectId())
+                .collect(Collectors.toSet());
+        Set<String> liveProjects = removedFrom.isEmpty() ? Set.of() : projectRepository.findSummariesByIdIn(removedFrom).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        List<ActivityEvent> events = new ArrayList<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            Task previous = change.previous();
+            Task current = change.current();
+            if (previous == null) {
+                events.add(taskEvent(ActivityType.TASK_CREATED, current, actorId, null));
+                if (current.getStatus() == TaskStatus.DONE) {
+                    events.add(taskEvent(ActivityType.TASK_COMPLETED, current, actorId, null));
+                }
+            } else if (current == null) {
+                if (previous.getProjectId() == null || liveProjects.contains(previous.getProjectId())) {
+                    events.add(taskEvent(ActivityType.TASK_DELETED, previous, actorId, null));
+                }
+            } else if (previous.getStatus() != current.getStatus()) {
+                events.add(taskEvent(ActivityType.TASK_STATUS_CHANGED, current, actorId,
+                        previous.getStatus() + "->" + current.getStatus()));
+                if (current.getStatus() == TaskStatus.DONE) {
+                    events.add(taskEvent(ActivityType.TASK_COMPLETED, current, actorId, null));
+                } else if (previous.getStatus() == TaskStatus.DONE) {
+                    events.add(taskEvent(ActivityType.TASK_REOPENED, current, actorId, null));
+                }
+            } else {
+                events.add(taskEvent(ActivityType.TASK_UPDATED, current, actorId, null));
+            }
+        }
+        record(events);
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        ActivityType type = event.isCreated() ? ActivityType.PROJECT_CREATED
+                : event.getCurrent() == null ? ActivityType.PROJECT_DELETED
+                : ActivityType.PROJECT_UPDATED;
+        if (type == ActivityType.PROJECT_DELETED) {
+            // les séries ne portent que sur les projets existants : les agrégats du projet sont retirés
+            dropPendingRollups(event.getProjectId());
+            rollupRepository.deleteByProjectId(event.getProjectId());
+        }
+        record(List.of(ActivityEvent.builder()
+                .type(type)
+                .projectId(event.getProjectId())
+                .entityId(event.getProjectId())
+                .actorId(currentUserId())
+                .at(LocalDateTime.now())
+                .build()));
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        Message message = event.getMessage();
+        record(List.of(ActivityEvent.builder()
+                .type(ActivityType.MESSAGE_CREATED)
+                .projectId(message.getProjectId())
+                .entityId(message.getId())
+                .actorId(message.getSenderId())
+                .at(message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now())
+                .build()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.activity.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Écriture du journal d'activité interrompue : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    // Journal brut et agrégats sont écrits (et remis en attente en cas d'échec) séparément :
+    // un échec de l'un ne fait pas écrire l'autre deux fois
+    @Override
+    public void flush() {
+        List<ActivityEvent> events;
+        Map<String, ActivityRollup> rollups;
+        synchronized (this) {
+            if (pendingEvents.isEmpty() && pendingRollups.isEmpty()) {
+                return;
+            }
+            events = pendingEvents;
+            rollups = pendingRollups;
+            pendingEvents = new ArrayList<>();
+            pendingRollups = new HashMap<>();
+        }
+        flushTimer.record(() -> {
+            RuntimeException failure = null;
+            try {
+                if (!events.isEmpty()) {
+                    eventRepository.insert(events);
+                }
+            } catch (RuntimeException e) {
+                restoreEvents(events);
+                failure = e;
+            }
+            try {
+                rollupRepository.increment(rollups.values());
+            } catch (RuntimeException e) {
+                restoreRollups(rollups.values());
+                failure = failure != null ? failure : e;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${application.activity.compaction.initial-delay-ms:60000}",
+            fixedDelayString = "${application.activity.compaction.interval-ms:3600000}")
+    public void scheduledCompaction() {
+        try {
+            int removed = compact();
+            if (removed > 0) {
+                log.info("{} événements d'activité compactés", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Compaction du journal d'activité interrompue : {}", e.getMessage());
+        }
+    }
+
+    // Un lot par passage : les agrégats à l'heure et au jour couvrent déjà ces événements
+    @Override
+    public int compact() {
+        LocalDateTime now = LocalDateTime.now();
+        rollupRepository.deleteByGranularityAndBucketStartBefore(ActivityGranularity.MINUTE, now.minusDays(minuteRetentionDays));
+        List<String> ids = eventRepository.findIdsByAtBefore(now.minusDays(rawRetentionDays), PageRequest.of(0, compactionBatchSize))
+                .stream()
+                .map(ActivityEvent::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        eventRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+
+    private void record(List<ActivityEvent> events) {
+        synchronized (this) {
+            for (ActivityEvent event : events) {
+                if (pendingEvents.size() >= bufferSize) {
+                    dropped.increment();
+                    continue;
+                }
+                pendingEvents.add(event);
+                recorded.increment();
+                // un projet supprimé n'a plus d'agrégats
+                if (event.getProjectId() != null && event.getType() != ActivityType.PROJECT_DELETED) {
+                    for (ActivityGranularity granularity : ActivityGranularity.values()) {
+                        LocalDateTime bucket = granularity.bucketOf(event.getAt());
+                        pendingRollups.computeIfAbsent(ActivityRollup.idOf(granularity, event.getProjectId(), bucket),
+                                        id -> new ActivityRollup(granularity, event.getProjectId(), bucket))
+                                .getCounts().merge(event.getType(), 1L, Long::sum);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void restoreEvents(List<ActivityEvent> events) {
+        List<ActivityEvent> restored = new ArrayList<>(events);
+        restored.addAll(pendingEvents);
+        pendingEvents = restored;
+    }
+
+    private synchronized void restoreRollups(Collection<ActivityRollup> rollups) {
+        for (ActivityRollup rollup : rollups) {
+            ActivityRollup pending = pendingRollups.computeIfAbsent(rollup.getId(),
+                    id -> new ActivityRollup(rollup.getGranularity(), rollup.getProjectId(), rollup.getBucketStart()));
+            rollup.getCounts().forEach((type, count) -> pending.getCounts().merge(type, count, Long::sum));
+        }
+    }
+
+    private synchronized void dropPendingRollups(String projectId) {
+        pendingRollups.values().removeIf(rollup -> projectId.equals(rollup.getProjectId()));
+    }
+
+    private synchronized double pendingEvents() {
+        return pendingEvents.size();
+    }
+
+    private static ActivityEvent taskEvent(ActivityType type, Task task, String actorId, String detail) {
+        return ActivityEvent.builder()
+                .type(type)
+                .projectId(task.getProjectId())
+                .entityId(task.getId())
+                .actorId(actorId)
+                .detail(detail)
+                .at(type == ActivityType.TASK_COMPLETED && task.getCompletedAt() != null ? task.getCompletedAt() : LocalDateTime.now())
+                .build();
+    }
+
+    // Les événements de service sont publiés dans le thread de la requête : l'utilisateur connecté en est l'auteur
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedPrincipal principal
+                ? principal.getId() : null;
+    }
+
+    // Minute jusqu'à 6 h, heure jusqu'à 14 jours, jour au-delà
+    private static ActivityGranularity granularityFor(Duration span) {
+        if (span.compareTo(Duration.ofHours(6)) <= 0) {
+            return ActivityGranularity.MINUTE;
+        }
+        return span.compareTo(Duration.ofDays(14)) <= 0 ? ActivityGranularity.HOUR : ActivityGranularity.DAY;
+    }
+}
@@ -1,18 +1,22 @@
 package com.backend.service.Impl;
 
+import com.backend.dto.auth.AuthResult;
 import com.backend.dto.auth.LoginRequest;
 import com.backend.dto.auth.RegisterRequest;
+import com.backend.event.UsersCreatedEvent;
 import com.backend.model.User;
 import com.backend.model.enums.UserRole;
 import com.backend.repository.UserRepository;
 import com.backend.security.JwtService;
 import com.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -20,52 +24,54 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Hash factice comparé quand l'email est inconnu, pour que la réponse prenne le même temps
+    private volatile String userNotFoundPassword;
 
     @Override
-    public String register(RegisterRequest request) {
+    public AuthResult registerUser(RegisterRequest request) {
 
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email déjà utilisé !");
         }
 
 
-        // Convertir le rôle en format capitalisé pour correspondre à l'enum (member -> Member)
-        String roleStr = request.getRole();
-        if (roleStr == null || roleStr.isEmpty()) {
-            roleStr = "member";
-        } else {
-            roleStr = roleStr.substring(0, 1).toUpperCase() + roleStr.substring(1).toLowerCase();
-        }
-        
         var user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword())) // On hache le MDP
-                .role(UserRole.valueOf(roleStr))
+                .password(passwordEncoder.encode(request.getPassword())) // On hache le MDP (pool BCrypt borné)
+                .role(UserRole.fromString(request.getRole())) // member -> Member
                 .build();
 
 
+        // save() renseigne l'id sur l'instance : pas besoin de relire l'utilisateur
         userRepository.save(user);
+        eventPublisher.publishEvent(new UsersCreatedEvent(List.of(user)));
 
 
-        return jwtService.generateToken(user);
+        return new AuthResult(jwtService.generateToken(user), user);
     }
 
     @Override
-    public String login(LoginRequest request) {
-        // Authentifier l'utilisateur (Spring Security vérifie le MDP automatiquement)
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
-
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+    public AuthResult authenticate(LoginRequest request) {
+        // Une seule lecture : on vérifie le MDP nous-mêmes au lieu de passer par l'AuthenticationManager
+        var user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            passwordEncoder.matches(request.getPassword(), getUserNotFoundPassword());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
 
+        return new AuthResult(jwtService.generateToken(user), user);
+    }
 
-        return jwtService.generateToken(user);
+    private String getUserNotFoundPassword() {
+        if (userNotFoundPassword == null) {
+            userNotFoundPassword = passwordEncoder.encode("userNotFoundPassword");
+        }
+        return userNotFoundPassword;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.DashboardResponse;
+import com.backend.dto.ProjectSummaryResponse;
+import com.backend.dto.TaskResponse;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskFacets;
+import com.backend.repository.TaskRepository;
+import com.backend.service.DashboardService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Résumés calculés par une seule agrégation $facet sur les tâches, gardés quelques secondes en cache.
+ * Une écriture de tâche invalide le résumé de son projet et le tableau de bord des membres de ce projet ;
+ * un changement de projet ou d'équipe invalide tous les tableaux de bord (événements rares).
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int MAX_ASSIGNEES = 20;
+    private static final int ACTIVE_TASKS = 5;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    private final Cache<String, ProjectSummaryResponse> projectSummaries;
+    private final Cache<String, DashboardResponse> dashboards;
+
+    public DashboardServiceImpl(TaskRepository taskRepository,
+                                ProjectRepository projectRepository,
+                                ProjectMembershipIndex membershipIndex,
+                                MeterRegistry meterRegistry,
+                                @Value("${application.dashboard.cache-ttl-seconds:15}") long ttlSeconds,
+                                @Value("${application.dashboard.cache-size:10000}") long maxSize) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.membershipIndex = membershipIndex;
+        this.projectSummaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.dashboards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, projectSummaries, "projectSummary");
+        CaffeineCacheMetrics.monitor(meterRegistry, dashboards, "dashboard");
+    }
+
+    @Override
+    public ProjectSummaryResponse getProjectSummary(String projectId) {
+        return projectSummaries.get(projectId, this::computeProjectSummary);
+    }
+
+    @Override
+    public DashboardResponse getDashboard(String userId) {
+        return dashboards.get(userId, this::computeDashboard);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<String> projectIds = new HashSet<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            addProject(projectIds, change.previous());
+            addProject(projectIds, change.current());
+        }
+        projectSummaries.invalidateAll(projectIds);
+        for (String projectId : projectIds) {
+            Set<String> members = membershipIndex.membersOf(projectId);
+            if (members == null) {
+                dashboards.invalidateAll();
+                return;
+            }
+            dashboards.invalidateAll(members);
+        }
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        projectSummaries.invalidate(event.getProjectId());
+        dashboards.invalidateAll();
+    }
+
+    @EventListener
+    public void onMembersChanged(ProjectMembersChangedEvent event) {
+        projectSummaries.invalidate(event.getProjectId());
+        dashboards.invalidateAll();
+    }
+
+    private ProjectSummaryResponse computeProjectSummary(String projectId) {
+        Project project = projectRepository.findActiveById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        TaskFacets facets = taskRepository.summarize(List.of(projectId), null, LocalDateTime.now(), MAX_ASSIGNEES, 0);
+        return ProjectSummaryResponse.builder()
+                .projectId(projectId)
+                .teamSize(project.getTeamSize())
+                .totalTasks(facets.total())
+                .progress(facets.progress())
+                .tasksByStatus(facets.getByStatus())
+                .tasksByPriority(facets.getByPriority())
+                .overdue(facets.getOverdue())
+                .assignees(facets.getAssignees())
+                .build();
+    }
+
+    private DashboardResponse computeDashboard(String userId) {
+        Set<String> projectIds = membershipIndex.projectIdsOf(userId);
+        List<Project> projects = projectIds.isEmpty() ? List.of() : projectRepository.findSummariesByIdIn(projectIds);
+        TaskFacets facets = projectIds.isEmpty()
+                ? new TaskFacets()
+                : taskRepository.summarize(projectIds, userId, LocalDateTime.now(), MAX_ASSIGNEES, ACTIVE_TASKS);
+        return DashboardResponse.builder()
+                .projectCount(projects.size())
+                .activeProjects((int) projects.stream().filter(p -> "In Progress".equals(p.getStatus())).count())
+                .teamSize(projects.stream().mapToInt(Project::getTeamSize).sum())
+                .totalTasks(facets.total())
+                .progress(facets.progress())
+                .tasksByStatus(facets.getByStatus())
+                .tasksByPriority(facets.getByPriority())
+                .overdue(facets.getOverdue())
+                .assignees(facets.getAssignees())
+                .myTasksByStatus(facets.getAssigneeByStatus())
+                .myActiveTasks(facets.getAssigneeActive().stream().map(TaskResponse::from).collect(Collectors.toList()))
+                .build();
+    }
+
+    private static void addProject(Set<String> projectIds, Task task) {
+        if (task != null && task.getProjectId() != null) {
+            projectIds.add(task.getProjectId());
+        }
+    }
+}
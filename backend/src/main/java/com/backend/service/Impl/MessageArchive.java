@@ -0,0 +1,602 @@
+package com.backend.service.Impl;
+
+import com.backend.event.ProjectChangedEvent;
+import com.backend.model.Message;
+import com.backend.repository.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archive sur disque local des messages sortis de la collection "messages" par la rétention.
+ * <p>
+ * Un répertoire par projet ("_global" pour les messages sans projet) contient des segments en ajout seul
+ * (000001.seg, ...) faits de blocs de block-size messages compressés (Deflate), dans l'ordre (createdAt, _id),
+ * et un index creux "index.idx" : une entrée par bloc (segment, position, taille, premier et dernier message),
+ * gardé en mémoire. Une lecture localise les blocs par recherche dichotomique dans l'index, puis les
+ * décompresse depuis le segment projeté en mémoire (mmap).
+ * <p>
+ * Un bloc n'est indexé qu'après avoir été forcé sur disque ; au démarrage, ce qui suit le dernier bloc indexé
+ * (écriture interrompue) est tronqué. Le dernier message archivé sert de filigrane. Un message qui ne le dépasse
+ * pas (inséré en retard par l'écriture différée) est cherché par son id dans les blocs qui couvrent sa clé :
+ * un lot déjà archivé mais pas encore supprimé de MongoDB (arrêt entre les deux) n'est pas archivé deux fois,
+ * et un message réellement en retard est écrit dans un bloc "hors ordre", relu à part par les fenêtres.
+ */
+@Slf4j
+@Component
+public class MessageArchive {
+
+    private static final String GLOBAL = "_global";
+    private static final String INDEX_FILE = "index.idx";
+
+    private final Path root;
+    private final long segmentMaxBytes;
+    private final int blockSize;
+    private final Counter archivedMessages;
+    private final Timer reads;
+    private final Map<String, ProjectArchive> projects = new ConcurrentHashMap<>();
+    private final Map<Path, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+    private final AtomicLong archivedCount = new AtomicLong();
+    private volatile KeysetCursor newest;  // plus haut filigrane, tous projets : au-dessous, aucune archive n'est lue
+
+    public MessageArchive(MeterRegistry meterRegistry,
+                          @Value("${application.messages.archive.dir:data/message-archive}") String root,
+                          @Value("${application.messages.archive.segment-max-bytes:67108864}") long segmentMaxBytes,
+                          @Value("${application.messages.archive.block-size:256}") int blockSize) {
+        this.root = Path.of(root).toAbsolutePath();
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.blockSize = Math.max(1, blockSize);
+        this.archivedMessages = Counter.builder("messages.archived").register(meterRegistry);
+        this.reads = Timer.builder("messages.archive.reads").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            for (Path dir : dirs.filter(Files::isDirectory).toList()) {
+                ProjectArchive archive = ProjectArchive.load(dir);
+                if (!archive.blocks.isEmpty()) {
+                    projects.put(dir.getFileName().toString(), archive);
+                    archivedCount.addAndGet(archive.messageCount());
+                    raiseNewest(archive.watermark());
+                }
+            }
+        }
+        log.info("Archive des messages : {} projets, {} blocs", projects.size(),
+                projects.values().stream().mapToInt(archive -> archive.blocks.size()).sum());
+    }
+
+    // Nombre de messages archivés, tous projets confondus
+    public long archivedCount() {
+        return archivedCount.get();
+    }
+
+    /**
+     * Ajoute des messages du projet, triés par (createdAt, _id) croissant, et renvoie les ids désormais
+     * présents dans l'archive (écrits par cet appel ou déjà archivés) : seuls ceux-là peuvent quitter MongoDB.
+     * Au retour, les messages sont sur disque et lisibles.
+     */
+    public synchronized Set<String> append(String projectId, List<Message> messages) throws IOException {
+        String name = dirName(projectId);
+        ProjectArchive archive = projects.get(name);
+        KeysetCursor watermark = archive == null ? null : archive.watermark();
+        List<Message> fresh = new ArrayList<>();
+        List<Message> late = new ArrayList<>();
+        for (Message message : messages) {
+            (watermark == null || KeysetCursor.of(message).compareTo(watermark) > 0 ? fresh : late).add(message);
+        }
+        Set<String> archived = new HashSet<>();
+        if (!late.isEmpty()) {
+            // sous le filigrane : déjà archivé (lot rejoué) ou inséré en retard, distingués par id
+            Set<String> held = heldIds(archive, late);
+            late.removeIf(message -> held.contains(message.getId()));
+            archived.addAll(held);
+        }
+        if (fresh.isEmpty() && late.isEmpty()) {
+            return archived;
+        }
+        if (archive == null) {
+            Path dir = root.resolve(name);
+            Files.createDirectories(dir);
+            archive = new ProjectArchive(dir, new ArrayList<>(), new ArrayList<>(), 1, 0);
+        }
+
+        // blocs hors ordre d'abord : au rechargement, un bloc qui ne dépasse pas le filigrane est classé hors ordre
+        List<List<Message>> chunks = new ArrayList<>();
+        for (List<Message> batch : List.of(late, fresh)) {
+            for (int from = 0; from < batch.size(); from += blockSize) {
+                chunks.add(batch.subList(from, Math.min(from + blockSize, batch.size())));
+            }
+        }
+        List<Block> written = new ArrayList<>();
+        int segment = archive.activeSegment;
+        long size = archive.activeSize;
+        FileChannel channel = null;
+        try {
+            for (List<Message> chunk : chunks) {
+                byte[] compressed = compress(chunk);
+                if (size > 0 && size + compressed.length > segmentMaxBytes) {
+                    channel.force(false);
+                    channel.close();
+                    channel = null;
+                    segment++;
+                    size = 0;
+                }
+                if (channel == null) {
+                    channel = FileChannel.open(archive.segmentPath(segment),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                }
+                channel.write(ByteBuffer.wrap(compressed), size);
+                written.add(new Block(segment, size, compressed.length, chunk.size(),
+                        KeysetCursor.of(chunk.get(0)), KeysetCursor.of(chunk.get(chunk.size() - 1))));
+                size += compressed.length;
+            }
+            channel.force(false);
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        // L'index n'est écrit qu'une fois les blocs sur disque
+        try (FileChannel index = FileChannel.open(archive.dir.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteArrayOutputStream entries = new ByteArrayOutputStream();
+            for (Block block : written) {
+                entries.write(block.encode());
+            }
+            index.write(ByteBuffer.wrap(entries.toByteArray()));
+            index.force(false);
+        }
+        List<Block> blocks = new ArrayList<>(archive.blocks);
+        List<Block> strays = new ArrayList<>(archive.strays);
+        int lateBlocks = (late.size() + blockSize - 1) / blockSize;
+        strays.addAll(written.subList(0, lateBlocks));
+        blocks.addAll(written.subList(lateBlocks, written.size()));
+        ProjectArchive updated = new ProjectArchive(archive.dir, blocks, strays, segment, size);
+        projects.put(name, updated);
+        raiseNewest(updated.watermark());
+        mappedSegments.remove(archive.segmentPath(segment));
+        int count = fresh.size() + late.size();
+        archivedMessages.increment(count);
+        archivedCount.addAndGet(count);
+        fresh.forEach(message -> archived.add(message.getId()));
+        late.forEach(message -> archived.add(message.getId()));
+        return archived;
+    }
+
+    // Ids déjà archivés parmi des messages sous le filigrane : lecture des seuls blocs qui couvrent leurs clés
+    private Set<String> heldIds(ProjectArchive archive, List<Message> late) {
+        Set<Block> covering = new LinkedHashSet<>();
+        for (Message message : late) {
+            KeysetCursor key = KeysetCursor.of(message);
+            int i = firstBlockEndingAtOrAfter(archive.blocks, key);
+            if (i < archive.blocks.size() && archive.blocks.get(i).first().compareTo(key) <= 0) {
+                covering.add(archive.blocks.get(i));
+            }
+            archive.strays.stream().filter(block -> block.covers(key)).forEach(covering::add);
+        }
+        Set<String> ids = new HashSet<>();
+        covering.forEach(block -> read(archive, block).forEach(message -> ids.add(message.getId())));
+        Set<String> held = new HashSet<>();
+        late.stream().map(Message::getId).filter(ids::contains).forEach(held::add);
+        return held;
+    }
+
+    private synchronized void raiseNewest(KeysetCursor watermark) {
+        if (watermark != null && (newest == null || watermark.compareTo(newest) > 0)) {
+            newest = watermark;
+        }
+    }
+
+    /**
+     * Même contrat que MessageRepository.findWindow, sur les messages archivés : au plus limit messages
+     * (de tous les projets si projectId est null), du plus récent au plus ancien.
+     */
+    public List<Message> findWindow(String projectId, KeysetCursor before, KeysetCursor after, int limit) {
+        return findWindow(projectId, before, after, limit, null);
+    }
+
+    /**
+     * Variante bornée : en arrière, l'appelant a déjà limit messages au-dessus de floor, seuls les messages
+     * archivés plus récents peuvent entrer dans sa fenêtre. Une archive dont le filigrane ne dépasse pas la
+     * borne (floor, ou after en avant) n'est pas lue ; tous projets, les archives sont lues du filigrane le plus
+     * récent au plus ancien et la lecture s'arrête dès que les suivantes ne peuvent plus entrer dans la fenêtre.
+     */
+    public List<Message> findWindow(String projectId, KeysetCursor before, KeysetCursor after, int limit, KeysetCursor floor) {
+        boolean forward = after != null && before == null;
+        KeysetCursor lower = forward ? after : max(after, floor);
+        KeysetCursor top = newest;
+        if (top == null || lower != null && top.compareTo(lower) <= 0) {
+            return List.of();
+        }
+        return reads.record(() -> {
+            if (projectId != null) {
+                ProjectArchive archive = projects.get(dirName(projectId));
+                return archive == null || !archive.reaches(lower) ? List.<Message>of() : window(archive, before, lower, limit, forward);
+            }
+            List<ProjectArchive> candidates = projects.values().stream()
+                    .filter(archive -> archive.reaches(lower))
+                    .sorted(Comparator.comparing(ProjectArchive::watermark, Comparator.reverseOrder()))
+                    .toList();
+            List<Message> merged = new ArrayList<>();
+            for (ProjectArchive archive : candidates) {
+                // en arrière : limit messages plus récents que tout ce que les archives restantes contiennent
+                if (!forward && merged.size() >= limit
+                        && KeysetCursor.of(merged.get(limit - 1)).compareTo(archive.watermark()) > 0) {
+                    break;
+                }
+                merged.addAll(window(archive, before, lower, limit, forward));
+                merged = cut(merged, limit, forward);
+            }
+            return merged;
+        });
+    }
+
+    // Du plus récent au plus ancien, recoupé à limit : en avant, les plus proches du curseur (les plus anciens)
+    private static List<Message> cut(List<Message> messages, int limit, boolean forward) {
+        List<Message> sorted = new ArrayList<>(messages);
+        sorted.sort(Comparator.comparing(KeysetCursor::of, Comparator.reverseOrder()));
+        return forward
+                ? new ArrayList<>(sorted.subList(Math.max(0, sorted.size() - limit), sorted.size()))
+                : new ArrayList<>(sorted.subList(0, Math.min(limit, sorted.size())));
+    }
+
+    private static KeysetCursor max(KeysetCursor a, KeysetCursor b) {
+        return a == null ? b : b == null || a.compareTo(b) >= 0 ? a : b;
+    }
+
+    // Le projet est en cours de suppression : son archive disparaît avec lui
+    @EventListener
+    public synchronized void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getCurrent() != null) {
+            return;
+        }
+        ProjectArchive archive = projects.remove(dirName(event.getProjectId()));
+        if (archive == null) {
+            return;
+        }
+        archivedCount.addAndGet(-archive.messageCount());
+        try (Stream<Path> files = Files.list(archive.dir)) {
+            for (Path file : files.toList()) {
+                mappedSegments.remove(file);
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(archive.dir);
+        } catch (IOException e) {
+            log.warn("Suppression de l'archive du projet {} incomplète : {}", event.getProjectId(), e.getMessage());
+        }
+    }
+
+    private List<Message> window(ProjectArchive archive, KeysetCursor before, KeysetCursor after, int limit, boolean forward) {
+        List<Block> blocks = archive.blocks;
+        List<Message> result = new ArrayList<>();
+        if (forward) {
+            // premier bloc dont le dernier message suit le curseur, puis en avant
+            for (int i = firstBlockEndingAfter(blocks, after); i < blocks.size() && result.size() < limit; i++) {
+                for (Message message : read(archive, blocks.get(i))) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    if (KeysetCursor.of(message).compareTo(after) > 0) {
+                        result.add(message);
+                    }
+                }
+            }
+            Collections.reverse(result);
+            return withStrays(archive, before, after, limit, true, result);
+        }
+        // dernier bloc qui commence avant le curseur, puis en arrière
+        for (int i = lastBlockStartingBefore(blocks, before); i >= 0 && result.size() < limit; i--) {
+            Block block = blocks.get(i);
+            if (after != null && block.last().compareTo(after) <= 0) {
+                break;
+            }
+            List<Message> messages = read(archive, block);
+            for (int j = messages.size() - 1; j >= 0 && result.size() < limit; j--) {
+                KeysetCursor key = KeysetCursor.of(messages.get(j));
+                if (after != null && key.compareTo(after) <= 0) {
+                    break;
+                }
+                if (before == null || key.compareTo(before) < 0) {
+                    result.add(messages.get(j));
+                }
+            }
+        }
+        return withStrays(archive, before, after, limit, false, result);
+    }
+
+    // Blocs hors ordre (messages insérés en retard, rares) : ceux qui recoupent l'intervalle sont relus et fusionnés
+    private List<Message> withStrays(ProjectArchive archive, KeysetCursor before, KeysetCursor after, int limit,
+                                     boolean forward, List<Message> result) {
+        List<Message> extra = new ArrayList<>();
+        for (Block block : archive.strays) {
+            if ((after != null && block.last().compareTo(after) <= 0) || (before != null && block.first().compareTo(before) >= 0)) {
+                continue;
+            }
+            for (Message message : read(archive, block)) {
+                KeysetCursor key = KeysetCursor.of(message);
+                if ((after == null || key.compareTo(after) > 0) && (before == null || key.compareTo(before) < 0)) {
+                    extra.add(message);
+                }
+            }
+        }
+        if (extra.isEmpty()) {
+            return result;
+        }
+        extra.addAll(result);
+        return cut(extra, limit, forward);
+    }
+
+    private static int firstBlockEndingAfter(List<Block> blocks, KeysetCursor after) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).last().compareTo(after) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int firstBlockEndingAtOrAfter(List<Block> blocks, KeysetCursor key) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).last().compareTo(key) >= 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int lastBlockStartingBefore(List<Block> blocks, KeysetCursor before) {
+        if (before == null) {
+            return blocks.size() - 1;
+        }
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).first().compareTo(before) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private List<Message> read(ProjectArchive archive, Block block) {
+        Path path = archive.segmentPath(block.segment());
+        long end = block.offset() + block.length();
+        MappedByteBuffer segment = mappedSegments.compute(path, (p, mapped) -> {
+            if (mapped != null && mapped.capacity() >= end) {
+                return mapped;
+            }
+            try (FileChannel channel = FileChannel.open(p, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(segment.slice((int) block.offset(), block.length()));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(block.length() * 4);
+            byte[] chunk = new byte[16 * 1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block in " + path);
+                }
+                out.write(chunk, 0, n);
+            }
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+            List<Message> messages = new ArrayList<>(block.count());
+            for (int i = 0; i < block.count(); i++) {
+                byte[] record = new byte[data.readInt()];
+                data.readFully(record);
+                messages.add(MessageJournal.decode(record));
+            }
+            return messages;
+        } catch (IOException | DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupt archive block in " + path, e));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] compress(List<Message> messages) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(raw);
+        for (Message message : messages) {
+            byte[] record = MessageJournal.encode(message);
+            data.writeInt(record.length);
+            data.write(record);
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw.toByteArray());
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 3 + 64);
+            byte[] chunk = new byte[16 * 1024];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Les projectId sont des ObjectId ; tout autre caractère est neutralisé pour rester dans le répertoire
+    private static String dirName(String projectId) {
+        return projectId == null ? GLOBAL : projectId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    // Blocs du projet dans l'ordre (createdAt, _id), et blocs hors ordre (sous le filigrane au moment de leur
+    // écriture) ; listes remplacées (jamais modifiées) à chaque ajout
+    private record ProjectArchive(Path dir, List<Block> blocks, List<Block> strays, int activeSegment, long activeSize) {
+
+        long messageCount() {
+            return blocks.stream().mapToLong(Block::count).sum() + strays.stream().mapToLong(Block::count).sum();
+        }
+
+        KeysetCursor watermark() {
+            return blocks.isEmpty() ? null : blocks.get(blocks.size() - 1).last();
+        }
+
+        // Contient au moins un message au-dessus de lower (tout message si lower est null)
+        boolean reaches(KeysetCursor lower) {
+            KeysetCursor watermark = watermark();
+            return watermark != null && (lower == null || watermark.compareTo(lower) > 0);
+        }
+
+        Path segmentPath(int segment) {
+            return dir.resolve(String.format("%06d.seg", segment));
+        }
+
+        static ProjectArchive load(Path dir) throws IOException {
+            Path indexPath = dir.resolve(INDEX_FILE);
+            List<Block> entries = new ArrayList<>();
+            long validIndexSize = 0;
+            if (Files.exists(indexPath)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+                    while (true) {
+                        int length = in.readInt();
+                        long crc = in.readInt() & 0xFFFFFFFFL;
+                        if (length < 1 || length > 4096) {
+                            break;
+                        }
+                        byte[] entry = new byte[length];
+                        in.readFully(entry);
+                        if (MessageJournal.checksum(entry) != crc) {
+                            break;
+                        }
+                        entries.add(Block.decode(entry));
+                        validIndexSize += 8 + length;
+                    }
+                } catch (EOFException e) {
+                    // fin de l'index (ou entrée tronquée)
+                }
+                truncate(indexPath, validIndexSize);
+            }
+            List<Block> blocks = new ArrayList<>();
+            List<Block> strays = new ArrayList<>();
+            for (Block block : entries) {
+                boolean inOrder = blocks.isEmpty() || block.first().compareTo(blocks.get(blocks.size() - 1).last()) > 0;
+                (inOrder ? blocks : strays).add(block);
+            }
+            // le dernier bloc écrit (dans l'ordre ou non) porte la fin du segment actif
+            Block lastWritten = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            int activeSegment = lastWritten == null ? 1 : lastWritten.segment();
+            long activeSize = lastWritten == null ? 0 : lastWritten.end();
+            ProjectArchive archive = new ProjectArchive(dir, blocks, strays, activeSegment, activeSize);
+            // blocs écrits mais jamais indexés : retirés
+            truncate(archive.segmentPath(activeSegment), activeSize);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".seg") && Integer.parseInt(name.substring(0, name.length() - 4)) > activeSegment) {
+                        Files.delete(file);
+                    }
+                }
+            }
+            return archive;
+        }
+
+        private static void truncate(Path path, long size) throws IOException {
+            if (!Files.exists(path) || Files.size(path) <= size) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+                channel.force(false);
+            }
+        }
+    }
+
+    // Entrée de l'index creux : un bloc compressé d'un segment
+    private record Block(int segment, long offset, int length, int count, KeysetCursor first, KeysetCursor last) {
+
+        long end() {
+            return offset + length;
+        }
+
+        boolean covers(KeysetCursor key) {
+            return first.compareTo(key) <= 0 && last.compareTo(key) >= 0;
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+            DataOutputStream data = new DataOutputStream(payload);
+            data.writeInt(segment);
+            data.writeLong(offset);
+            data.writeInt(length);
+            data.writeInt(count);
+            data.writeUTF(first.getCreatedAt().toString());
+            data.writeUTF(first.getId());
+            data.writeUTF(last.getCreatedAt().toString());
+            data.writeUTF(last.getId());
+            byte[] entry = payload.toByteArray();
+            ByteArrayOutputStream framed = new ByteArrayOutputStream(entry.length + 8);
+            DataOutputStream out = new DataOutputStream(framed);
+            out.writeInt(entry.length);
+            out.writeInt((int) MessageJournal.checksum(entry));
+            out.write(entry);
+            return framed.toByteArray();
+        }
+
+        static Block decode(byte[] entry) throws IOException {
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(entry));
+            return new Block(data.readInt(), data.readLong(), data.readInt(), data.readInt(),
+                    new KeysetCursor(LocalDateTime.parse(data.readUTF()), data.readUTF()),
+                    new KeysetCursor(LocalDateTime.parse(data.readUTF()), data.readUTF()));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.backend.service.Impl;
+
+import com.backend.model.Message;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local en ajout seul des messages acceptés en écriture différée.
+ * Chaque lot est écrit (et forcé sur disque si fsync) avant son insertion dans MongoDB, puis suivi d'un
+ * enregistrement COMMIT une fois inséré : au démarrage, les messages qui suivent le dernier COMMIT sont à rejouer.
+ * Enregistrement : longueur, CRC32, type, contenu ; un enregistrement tronqué ou corrompu (arrêt brutal
+ * pendant l'écriture) marque la fin du journal.
+ */
+public class MessageJournal implements Closeable {
+
+    private static final byte MESSAGE = 1;
+    private static final byte COMMIT = 2;
+
+    private final Path path;
+    private final boolean fsync;
+    private final long compactThreshold;
+    private FileOutputStream file;
+    private DataOutputStream out;
+
+    public MessageJournal(Path path, boolean fsync, long compactThreshold) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.fsync = fsync;
+        this.compactThreshold = compactThreshold;
+        Files.createDirectories(this.path.getParent());
+        open();
+    }
+
+    // Messages écrits après le dernier COMMIT, dans l'ordre d'écriture
+    public List<Message> readUncommitted() throws IOException {
+        List<Message> uncommitted = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return uncommitted;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int length = in.readInt();
+                long crc = in.readInt() & 0xFFFFFFFFL;
+                if (length < 1 || length > 64 * 1024 * 1024) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                if (checksum(record) != crc) {
+                    break;
+                }
+                if (record[0] == COMMIT) {
+                    uncommitted.clear();
+                } else {
+                    uncommitted.add(decode(record));
+                }
+            }
+        } catch (EOFException e) {
+            // fin du journal (ou dernier enregistrement tronqué)
+        }
+        return uncommitted;
+    }
+
+    // Ajoute un lot en une écriture et un fsync (group commit)
+    public void append(List<Message> messages) throws IOException {
+        for (Message message : messages) {
+            write(encode(message));
+        }
+        sync();
+    }
+
+    // Tout ce qui précède est dans MongoDB ; le journal est vidé quand il dépasse le seuil
+    public void commit() throws IOException {
+        if (file.getChannel().size() >= compactThreshold) {
+            reset();
+            return;
+        }
+        write(new byte[]{COMMIT});
+        sync();
+    }
+
+    // Vide le journal (après le rejeu du démarrage : retire aussi un éventuel enregistrement tronqué en fin de fichier)
+    public void reset() throws IOException {
+        out.flush();
+        file.getChannel().truncate(0);
+        sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        file = new FileOutputStream(path.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+    }
+
+    private void write(byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.writeInt((int) checksum(record));
+        out.write(record);
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        if (fsync) {
+            file.getChannel().force(false);
+        }
+    }
+
+    static long checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return crc.getValue();
+    }
+
+    // Encodage d'un message, partagé avec les segments d'archive (MessageArchive)
+    static byte[] encode(Message message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeByte(MESSAGE);
+        writeString(data, message.getId());
+        writeString(data, message.getSenderId());
+        writeString(data, message.getSenderName());
+        writeString(data, message.getSenderRole());
+        writeString(data, message.getContent());
+        writeString(data, message.getType());
+        writeString(data, message.getProjectId());
+        writeString(data, message.getProjectName());
+        writeString(data, message.getCreatedAt() != null ? message.getCreatedAt().toString() : null);
+        return bytes.toByteArray();
+    }
+
+    static Message decode(byte[] record) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(record, 1, record.length - 1));
+        Message message = Message.builder()
+                .id(readString(data))
+                .senderId(readString(data))
+                .senderName(readString(data))
+                .senderRole(readString(data))
+                .content(readString(data))
+                .type(readString(data))
+                .projectId(readString(data))
+                .projectName(readString(data))
+                .build();
+        String createdAt = readString(data);
+        message.setCreatedAt(createdAt != null ? LocalDateTime.parse(createdAt) : null);
+        return message;
+    }
+
+    // Longueur -1 pour null ; writeUTF est limité à 64 Ko, trop peu pour le contenu d'un message
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
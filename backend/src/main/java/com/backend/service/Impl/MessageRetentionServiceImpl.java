@@ -0,0 +1,122 @@
+package com.backend.service.Impl;
+
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.MessageRetentionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rétention des messages : ceux de plus de max-age-days quittent la collection "messages" pour l'archive
+ * sur disque (MessageArchive), projet par projet, du plus ancien au plus récent.
+ * Chaque lot est d'abord archivé (et forcé sur disque), puis seuls les messages que l'archive détient sont
+ * supprimés de MongoDB : un arrêt entre les deux laisse des messages présents des deux côtés, que le lot suivant
+ * retire sans les archiver à nouveau.
+ * Les messages archivés restent lisibles par MessageService ; un MessagesDeletedEvent les retire de la
+ * recherche et des compteurs de la collection.
+ */
+@Slf4j
+@Service
+public class MessageRetentionServiceImpl implements MessageRetentionService {
+
+    private final MessageRepository messageRepository;
+    private final ProjectRepository projectRepository;
+    private final MessageArchive archive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final int batchesPerRun;
+
+    public MessageRetentionServiceImpl(MessageRepository messageRepository,
+                                       ProjectRepository projectRepository,
+                                       MessageArchive archive,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${application.messages.retention.enabled:false}") boolean enabled,
+                                       @Value("${application.messages.retention.max-age-days:90}") int maxAgeDays,
+                                       @Value("${application.messages.retention.batch-size:1000}") int batchSize,
+                                       @Value("${application.messages.retention.batches-per-run:10}") int batchesPerRun) {
+        this.messageRepository = messageRepository;
+        this.projectRepository = projectRepository;
+        this.archive = archive;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchesPerRun = Math.max(1, batchesPerRun);
+    }
+
+    @Scheduled(initialDelayString = "${application.messages.retention.initial-delay-ms:30000}",
+            fixedDelayString = "${application.messages.retention.interval-ms:60000}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int archived = archiveExpired();
+            if (archived > 0) {
+                log.info("{} messages archivés", archived);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Archivage des messages interrompu : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int archiveExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        // projets en cours de purge : leurs messages vont être supprimés, inutile de les archiver ; ils sont
+        // exclus de la recherche du projet suivant pour ne pas bloquer les autres
+        Set<String> purging = new HashSet<>();
+        int archived = 0;
+        int batches = 0;
+        while (batches < batchesPerRun) {
+            // le plus ancien message expiré désigne le projet à traiter
+            Message oldest = messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(cutoff, purging);
+            if (oldest == null) {
+                break;
+            }
+            String projectId = oldest.getProjectId();
+            if (projectId != null && projectRepository.findById(projectId).map(Project::isDeleting).orElse(false)) {
+                purging.add(projectId);
+                continue;
+            }
+            batches++;
+            List<Message> expired = messageRepository.findExpired(projectId, cutoff, batchSize);
+            if (expired.isEmpty()) {
+                break;
+            }
+            Set<String> kept;
+            try {
+                kept = archive.append(projectId, expired);
+            } catch (IOException e) {
+                throw new IllegalStateException("Message archive write failed: " + e.getMessage(), e);
+            }
+            // seuls les messages que l'archive détient quittent MongoDB
+            List<String> ids = expired.stream().map(Message::getId).filter(kept::contains).collect(Collectors.toList());
+            if (ids.size() < expired.size()) {
+                log.warn("{} messages du projet {} non archivés, conservés dans MongoDB", expired.size() - ids.size(), projectId);
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+            messageRepository.deleteByIdIn(ids);
+            eventPublisher.publishEvent(new MessagesDeletedEvent(projectId, ids));
+            archived += ids.size();
+        }
+        return archived;
+    }
+}
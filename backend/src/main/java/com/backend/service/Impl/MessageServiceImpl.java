@@ -1,14 +1,24 @@
 package com.backend.service.Impl;
 
+import com.backend.dto.CursorWindow;
 import com.backend.dto.MessageRequest;
 import com.backend.dto.MessageResponse;
+import com.backend.event.MessageCreatedEvent;
 import com.backend.model.Message;
+import com.backend.repository.KeysetCursor;
 import com.backend.repository.MessageRepository;
 import com.backend.service.MessageService;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +26,16 @@ import java.util.stream.Collectors;
 public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessageWriteBehind writeBehind;
+    private final MessageArchive archive;
+    private final UnreadCounters unreadCounters;
+
+    @Value("${application.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${application.pagination.max-size:200}")
+    private int maxPageSize;
 
     @Override
     public MessageResponse createMessage(String userId, String userName, String userRole, MessageRequest request) {
@@ -28,21 +48,96 @@ public class MessageServiceImpl implements MessageService {
                 .projectId(request.getProjectId())
                 .projectName(request.getProjectName())
                 .build();
-        return toResponse(messageRepository.save(message));
+        if (writeBehind.isEnabled()) {
+            // id attribué ici : la réponse n'attend pas l'insertion ; l'écrivain publie MessageCreatedEvent après
+            message.setId(new ObjectId().toHexString());
+            writeBehind.submit(message);
+            return toResponse(message);
+        }
+        Message saved = messageRepository.save(message);
+        eventPublisher.publishEvent(new MessageCreatedEvent(saved));
+        return toResponse(saved);
     }
 
     @Override
-    public List<MessageResponse> getAllMessages() {
-        return messageRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorWindow<MessageResponse> getAllMessages(String before, String after, Integer limit) {
+        return findWindow(null, before, after, limit);
     }
 
     @Override
-    public List<MessageResponse> getMessagesByProject(String projectId) {
-        return messageRepository.findByProjectIdOrderByCreatedAtDesc(projectId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorWindow<MessageResponse> getMessagesByProject(String projectId, String before, String after, Integer limit) {
+        return findWindow(projectId, before, after, limit);
+    }
+
+    @Override
+    public Map<String, Long> getUnreadCounts(String userId) {
+        return unreadCounters.countsOf(userId);
+    }
+
+    @Override
+    public void markRead(String userId, String projectId, String cursor) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        if (position == null) {
+            List<Message> latest = messageRepository.findWindow(projectId, null, null, 1);
+            if (latest.isEmpty()) {
+                return;
+            }
+            position = KeysetCursor.of(latest.get(0));
+        }
+        unreadCounters.markRead(userId, projectId, position);
+    }
+
+    // Fenêtre bornée à max-size messages quelle que soit la taille de l'historique ; sans curseur, les plus récents
+    private CursorWindow<MessageResponse> findWindow(String projectId, String before, String after, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        KeysetCursor beforeCursor = KeysetCursor.decode(before);
+        KeysetCursor afterCursor = KeysetCursor.decode(after);
+        boolean forward = afterCursor != null && beforeCursor == null;
+        // un message de plus que la page pour savoir s'il en reste dans le sens du parcours
+        List<Message> messages = withArchived(projectId, beforeCursor, afterCursor, pageSize + 1, forward,
+                messageRepository.findWindow(projectId, beforeCursor, afterCursor, pageSize + 1));
+        boolean more = messages.size() > pageSize;
+        if (more) {
+            // éléments du plus récent au plus ancien : le surplus est le plus ancien, ou le plus récent en avant
+            messages = forward ? messages.subList(1, messages.size()) : messages.subList(0, pageSize);
+        }
+
+        String olderCursor = null;
+        String newerCursor = after;
+        if (!messages.isEmpty()) {
+            Message oldest = messages.get(messages.size() - 1);
+            // en avant, des messages plus anciens existent toujours (au moins celui du curseur)
+            if (forward || more) {
+                olderCursor = new KeysetCursor(oldest.getCreatedAt(), oldest.getId()).encode();
+            }
+            Message newest = messages.get(0);
+            newerCursor = new KeysetCursor(newest.getCreatedAt(), newest.getId()).encode();
+        }
+        List<MessageResponse> items = messages.stream().map(this::toResponse).collect(Collectors.toList());
+        return new CursorWindow<>(items, olderCursor, newerCursor);
+    }
+
+    // L'archive n'est pas forcément plus ancienne que la collection : la rétention avance projet par projet et
+    // l'écriture différée peut insérer un message antérieur à d'autres déjà archivés. Les deux listes (du plus
+    // récent au plus ancien) sont donc fusionnées sur (createdAt, _id) puis recoupées à limit dans le sens du
+    // parcours ; un message des deux côtés (archivé, pas encore supprimé) n'est gardé qu'une fois.
+    // Fenêtre pleine en arrière : seuls les messages archivés plus récents que le plus ancien de la collection
+    // peuvent y entrer, l'archive ne lit que les projets dont le filigrane dépasse cette borne
+    private List<Message> withArchived(String projectId, KeysetCursor before, KeysetCursor after, int limit,
+                                       boolean forward, List<Message> hot) {
+        KeysetCursor floor = forward || hot.size() < limit ? null : KeysetCursor.of(hot.get(hot.size() - 1));
+        List<Message> archived = archive.findWindow(projectId, before, after, limit, floor);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<String, Message> byId = new LinkedHashMap<>();
+        hot.forEach(message -> byId.put(message.getId(), message));
+        archived.forEach(message -> byId.putIfAbsent(message.getId(), message));
+        List<Message> combined = new ArrayList<>(byId.values());
+        combined.sort(Comparator.comparing(KeysetCursor::of, Comparator.reverseOrder()));
+        return forward
+                ? combined.subList(Math.max(0, combined.size() - limit), combined.size())
+                : combined.subList(0, Math.min(limit, combined.size()));
     }
 
     private MessageResponse toResponse(Message m) {
@@ -0,0 +1,273 @@
+package com.backend.service.Impl;
+
+import com.backend.event.MessageCreatedEvent;
+import com.backend.exception.ServiceUnavailableException;
+import com.backend.model.Message;
+import com.backend.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Écriture différée des messages (application.messages.write-mode=write-behind).
+ * <p>
+ * createMessage dépose le message, déjà doté de son id et de sa date, dans un tampon circulaire borné ;
+ * un seul thread écrivain le vide par lots (batch-size messages, ou ce qui est arrivé pendant
+ * flush-window-ms) : un ajout au journal local avec un seul fsync, puis un insertMany. Le
+ * MessageCreatedEvent est publié après l'insertion, pour que les versions (ETag) et le flux temps réel
+ * ne devancent jamais la lecture.
+ * <p>
+ * Acquittement (ack) :
+ * <ul>
+ *   <li>accepted : dès l'entrée dans le tampon ; un arrêt brutal perd les messages pas encore journalisés</li>
+ *   <li>journaled : après le fsync du journal, rejoué au démarrage suivant si l'insertion n'a pas eu lieu</li>
+ *   <li>persisted : après l'insertion dans MongoDB (latence d'un lot, débit du group commit)</li>
+ * </ul>
+ * Tampon plein, ou acquittement non reçu dans ack-timeout-ms : ServiceUnavailableException (503).
+ * En mode accepted ou journaled, un GET immédiat peut ne pas encore voir le message.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehind {
+
+    public enum AckMode {
+        ACCEPTED, JOURNALED, PERSISTED
+    }
+
+    private static final long JOURNAL_COMPACT_THRESHOLD = 16L * 1024 * 1024;
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    private final MessageRepository messageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final AckMode ackMode;
+    private final int batchSize;
+    private final long flushWindowNanos;
+    private final long acceptTimeoutMs;
+    private final long ackTimeoutMs;
+    private final Path journalFile;
+    private final boolean fsync;
+    private final BlockingQueue<Pending> buffer;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter insertFailures;
+
+    private MessageJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public MessageWriteBehind(MessageRepository messageRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.messages.write-mode:sync}") String writeMode,
+                              @Value("${application.messages.write-behind.ack:journaled}") String ackMode,
+                              @Value("${application.messages.write-behind.buffer-size:8192}") int bufferSize,
+                              @Value("${application.messages.write-behind.batch-size:500}") int batchSize,
+                              @Value("${application.messages.write-behind.flush-window-ms:5}") long flushWindowMs,
+                              @Value("${application.messages.write-behind.accept-timeout-ms:100}") long acceptTimeoutMs,
+                              @Value("${application.messages.write-behind.ack-timeout-ms:5000}") long ackTimeoutMs,
+                              @Value("${application.messages.write-behind.journal-file:data/messages-journal.bin}") String journalFile,
+                              @Value("${application.messages.write-behind.fsync:true}") boolean fsync) {
+        this.messageRepository = messageRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = "write-behind".equalsIgnoreCase(writeMode);
+        this.ackMode = AckMode.valueOf(ackMode.trim().toUpperCase());
+        this.batchSize = batchSize;
+        this.flushWindowNanos = TimeUnit.MILLISECONDS.toNanos(flushWindowMs);
+        this.acceptTimeoutMs = acceptTimeoutMs;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.journalFile = Path.of(journalFile);
+        this.fsync = fsync;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.flushTimer = Timer.builder("messages.write-behind.flush").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("messages.write-behind.batch.size").register(meterRegistry);
+        this.rejected = Counter.builder("messages.write-behind.rejected").register(meterRegistry);
+        this.insertFailures = Counter.builder("messages.write-behind.insert.failures").register(meterRegistry);
+        Gauge.builder("messages.write-behind.buffer.depth", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    // Le journal est relu même en mode sync : des messages acceptés avant un changement de mode restent à insérer
+    @PostConstruct
+    public void start() throws IOException {
+        journal = new MessageJournal(journalFile, fsync, JOURNAL_COMPACT_THRESHOLD);
+        List<Message> uncommitted = journal.readUncommitted();
+        if (!enabled && uncommitted.isEmpty()) {
+            journal.reset();
+            return;
+        }
+        running = true;
+        writer = new Thread(() -> run(uncommitted), "message-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Dépose le message (id et createdAt déjà renseignés) et attend l'acquittement demandé par ack.
+     */
+    public void submit(Message message) {
+        Pending pending = new Pending(message, ackMode == AckMode.ACCEPTED ? null : new CompletableFuture<>());
+        try {
+            if (!running || !buffer.offer(pending, acceptTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new ServiceUnavailableException("Message buffer full");
+            }
+            if (pending.ack() != null) {
+                pending.ack().get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while storing message");
+        } catch (TimeoutException | ExecutionException e) {
+            // le message peut encore être inséré plus tard (il est dans le tampon ou le journal)
+            throw new ServiceUnavailableException("Message not acknowledged in time");
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        journal.close();
+    }
+
+    private void run(List<Message> uncommitted) {
+        if (!uncommitted.isEmpty()) {
+            log.info("Rejeu de {} messages du journal {}", uncommitted.size(), journalFile.toAbsolutePath());
+            if (!insert(uncommitted)) {
+                return;
+            }
+            uncommitted.forEach(message -> eventPublisher.publishEvent(new MessageCreatedEvent(message)));
+        }
+        try {
+            journal.reset();
+        } catch (IOException e) {
+            log.error("Impossible de vider le journal des messages", e);
+        }
+        if (!enabled) {
+            running = false;
+            return;
+        }
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !buffer.isEmpty()) {
+                Pending first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flushTimer.record(() -> flush(batch));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Complète le lot jusqu'à batch-size, sans attendre plus de flush-window après le premier message
+    private void collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushWindowNanos;
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<Message> messages = batch.stream().map(Pending::message).collect(Collectors.toList());
+        boolean journaled = false;
+        try {
+            journal.append(messages);
+            journaled = true;
+        } catch (IOException e) {
+            // sans journal, les acquittements "journaled" attendent l'insertion
+            log.error("Écriture du journal des messages impossible", e);
+        }
+        if (journaled && ackMode == AckMode.JOURNALED) {
+            batch.forEach(pending -> pending.ack().complete(null));
+        }
+        if (!insert(messages)) {
+            batch.forEach(pending -> {
+                if (pending.ack() != null) {
+                    pending.ack().completeExceptionally(new IllegalStateException("Message not persisted"));
+                }
+            });
+            return;
+        }
+        try {
+            journal.commit();
+        } catch (IOException e) {
+            // au pire, le lot sera rejoué (et ignoré comme doublon) au prochain démarrage
+            log.warn("COMMIT du journal des messages impossible : {}", e.getMessage());
+        }
+        batch.forEach(pending -> {
+            if (pending.ack() != null) {
+                pending.ack().complete(null);
+            }
+        });
+        messages.forEach(message -> eventPublisher.publishEvent(new MessageCreatedEvent(message)));
+    }
+
+    // Réessaie tant que l'application tourne ; à l'arrêt, le lot reste dans le journal pour le prochain démarrage
+    private boolean insert(List<Message> messages) {
+        long delay = 100;
+        while (true) {
+            try {
+                messageRepository.insertIgnoringDuplicates(messages);
+                return true;
+            } catch (RuntimeException e) {
+                insertFailures.increment();
+                log.warn("Insertion de {} messages impossible : {}", messages.size(), e.getMessage());
+                if (!running) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private record Pending(Message message, CompletableFuture<Void> ack) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.service.Impl;
+
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.service.ProjectDeletionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Suppression en cascade des projets marqués "deleting" par ProjectServiceImpl.deleteProject.
+ * Chaque passage planifié supprime au plus batch-size tâches ou messages : le débit est ainsi borné à
+ * batch-size documents par interval-ms. L'état est entièrement dans MongoDB (drapeau sur le projet,
+ * documents restants) : après un redémarrage la purge reprend là où elle s'était arrêtée.
+ */
+@Slf4j
+@Service
+public class ProjectDeletionServiceImpl implements ProjectDeletionService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final MessageRepository messageRepository;
+    private final ProjectMemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter deletedTasks;
+    private final Counter deletedMessages;
+    private final Counter completedProjects;
+    private final AtomicLong pendingProjects = new AtomicLong();
+    private final int batchSize;
+
+    public ProjectDeletionServiceImpl(ProjectRepository projectRepository,
+                                      TaskRepository taskRepository,
+                                      MessageRepository messageRepository,
+                                      ProjectMemberRepository memberRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${application.projects.deletion.batch-size:500}") int batchSize) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.messageRepository = messageRepository;
+        this.memberRepository = memberRepository;
+        this.eventPublisher = eventPublisher;
+        this.deletedTasks = Counter.builder("projects.deletion.documents")
+                .description("Documents supprimés par la purge des projets supprimés")
+                .tag("type", "task")
+                .register(meterRegistry);
+        this.deletedMessages = Counter.builder("projects.deletion.documents")
+                .description("Documents supprimés par la purge des projets supprimés")
+                .tag("type", "message")
+                .register(meterRegistry);
+        this.completedProjects = Counter.builder("projects.deletion.completed")
+                .description("Projets entièrement purgés")
+                .register(meterRegistry);
+        Gauge.builder("projects.deletion.pending", pendingProjects, AtomicLong::get)
+                .description("Projets en attente de purge")
+                .register(meterRegistry);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(initialDelayString = "${application.projects.deletion.initial-delay-ms:10000}",
+            fixedDelayString = "${application.projects.deletion.interval-ms:1000}")
+    public void scheduledPurge() {
+        try {
+            purgeNextBatch();
+        } catch (RuntimeException e) {
+            log.warn("Purge des projets supprimés interrompue : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int purgeNextBatch() {
+        Optional<Project> next = projectRepository.findFirstByDeletingTrueOrderByDeletionRequestedAtAsc();
+        if (next.isEmpty()) {
+            pendingProjects.set(0);
+            return 0;
+        }
+        pendingProjects.set(projectRepository.countByDeletingTrue());
+        String projectId = next.get().getId();
+
+        // Les tâches sont relues entières : les listeners (compteurs, recherche) en ont besoin pour se mettre à jour
+        List<Task> tasks = taskRepository.findByProjectId(projectId, PageRequest.of(0, batchSize));
+        if (!tasks.isEmpty()) {
+            taskRepository.deleteByIdIn(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+            eventPublisher.publishEvent(new TaskChangedEvent(tasks.stream()
+                    .map(task -> new TaskChangedEvent.Change(task, null))
+                    .collect(Collectors.toList())));
+            deletedTasks.increment(tasks.size());
+            return tasks.size();
+        }
+
+        List<String> messageIds = messageRepository.findIdsByProjectId(projectId, PageRequest.of(0, batchSize)).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+        if (!messageIds.isEmpty()) {
+            messageRepository.deleteByIdIn(messageIds);
+            eventPublisher.publishEvent(new MessagesDeletedEvent(projectId, messageIds));
+            deletedMessages.increment(messageIds.size());
+            return messageIds.size();
+        }
+
+        memberRepository.deleteByProjectId(projectId);
+        projectRepository.deleteById(projectId);
+        completedProjects.increment();
+        pendingProjects.decrementAndGet();
+        log.info("Projet {} purgé", projectId);
+        return 0;
+    }
+}
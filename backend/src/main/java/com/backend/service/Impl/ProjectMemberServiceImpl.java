@@ -0,0 +1,200 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.TeamMembershipRequest;
+import com.backend.dto.TeamMembershipResponse;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.ProjectMember;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.ProjectMemberService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ajout / retrait de membres sans relecture préalable du projet : $addToSet / $pull gardés sur le document,
+ * avec teamSize maintenu par $inc dans la même écriture. Le projet n'est relu que si une écriture n'a pas
+ * porté (membre déjà présent ou absent, seuil atteint, équipe déjà externalisée, projet inexistant).
+ * <p>
+ * Au-delà de application.projects.max-embedded-members, l'équipe est déplacée dans project_members
+ * (un document indexé par membre) pour ne pas faire grossir le document projet sans limite.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProjectMemberServiceImpl implements ProjectMemberService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.projects.max-embedded-members:1000}")
+    private int maxEmbeddedMembers;
+
+    // projets dont l'équipe est déjà dans project_members : la tentative sur teamIds est inutile
+    private final Set<String> externalProjects = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public TeamMembershipResponse addMember(String projectId, String userId) {
+        return updateMembers(projectId, new TeamMembershipRequest(List.of(userId), List.of()));
+    }
+
+    @Override
+    public TeamMembershipResponse removeMember(String projectId, String userId) {
+        return updateMembers(projectId, new TeamMembershipRequest(List.of(), List.of(userId)));
+    }
+
+    @Override
+    public TeamMembershipResponse updateMembers(String projectId, TeamMembershipRequest request) {
+        Set<String> toRemove = distinct(request.getRemove());
+        Set<String> toAdd = distinct(request.getAdd());
+        toRemove.removeAll(toAdd);
+
+        int removed = remove(projectId, toRemove);
+        int added = add(projectId, toAdd);
+
+        Project membership = loadMembership(projectId);
+        if (added > 0 || removed > 0) {
+            eventPublisher.publishEvent(new ProjectMembersChangedEvent(projectId, toAdd, toRemove));
+        }
+        return new TeamMembershipResponse(added, removed, membership.getTeamSize());
+    }
+
+    // Initialise teamSize sur les projets antérieurs au compteur
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTeamSize() {
+        long updated = projectRepository.backfillTeamSize();
+        if (updated > 0) {
+            log.info("teamSize initialisé sur {} projets", updated);
+        }
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getCurrent() == null) {
+            externalProjects.remove(event.getProjectId());
+        }
+    }
+
+    private int add(String projectId, Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        if (externalProjects.contains(projectId)) {
+            return addExternal(projectId, userIds);
+        }
+        int added = projectRepository.addEmbeddedMembers(projectId, userIds, maxEmbeddedMembers);
+        if (added == userIds.size()) {
+            return added;
+        }
+        Project project = loadMembership(projectId);
+        Set<String> remaining = userIds;
+        if (!project.isMembersExternal()) {
+            remaining = new LinkedHashSet<>(userIds);
+            if (project.getTeamIds() != null) {
+                remaining.removeAll(project.getTeamIds());
+            }
+            if (remaining.isEmpty()) {
+                return added;  // les autres étaient déjà membres
+            }
+            moveToCollection(projectId);
+        }
+        externalProjects.add(projectId);
+        return added + addExternal(projectId, remaining);
+    }
+
+    private int remove(String projectId, Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        if (externalProjects.contains(projectId)) {
+            return removeExternal(projectId, userIds);
+        }
+        int removed = projectRepository.removeEmbeddedMembers(projectId, userIds);
+        if (removed == userIds.size()) {
+            return removed;
+        }
+        Project project = loadMembership(projectId);
+        if (!project.isMembersExternal()) {
+            return removed;  // les autres n'étaient pas membres
+        }
+        externalProjects.add(projectId);
+        return removed + removeExternal(projectId, userIds);
+    }
+
+    private int addExternal(String projectId, Collection<String> userIds) {
+        List<ProjectMember> members = userIds.stream()
+                .map(userId -> ProjectMember.of(projectId, userId))
+                .collect(Collectors.toList());
+        int inserted = memberRepository.insertIgnoringDuplicates(members);
+        projectRepository.incrementTeamSize(projectId, inserted);
+        return inserted;
+    }
+
+    private int removeExternal(String projectId, Collection<String> userIds) {
+        // bascule en cours : teamIds fait foi pour les membres pas encore recopiés (voir moveToCollection)
+        projectRepository.pullTeamIds(projectId, userIds);
+        List<String> ids = userIds.stream()
+                .map(userId -> ProjectMember.of(projectId, userId).getId())
+                .collect(Collectors.toList());
+        int deleted = (int) memberRepository.deleteByIdIn(ids);
+        projectRepository.incrementTeamSize(projectId, -deleted);
+        return deleted;
+    }
+
+    // Le drapeau est posé en premier (findAndModify) : les écritures gardées sur teamIds échouent dès lors
+    // et passent par project_members ; teamSize compte déjà les membres recopiés.
+    // Un retrait concurrent arrivé avant la copie ne trouve rien dans project_members mais retire le membre de
+    // teamIds : après la copie, teamIds est relu et les membres qui en ont disparu sont retirés de la collection.
+    private void moveToCollection(String projectId) {
+        Project before = projectRepository.markMembersExternal(projectId);
+        if (before == null) {
+            return;  // déjà déplacée par une requête concurrente
+        }
+        List<String> teamIds = before.getTeamIds() == null ? List.of() : before.getTeamIds();
+        memberRepository.insertIgnoringDuplicates(teamIds.stream()
+                .map(userId -> ProjectMember.of(projectId, userId))
+                .collect(Collectors.toList()));
+        Set<String> current = new HashSet<>(projectRepository.findMembershipById(projectId)
+                .map(Project::getTeamIds)
+                .orElse(List.of()));
+        List<String> removedMeanwhile = teamIds.stream()
+                .filter(userId -> !current.contains(userId))
+                .map(userId -> ProjectMember.of(projectId, userId).getId())
+                .collect(Collectors.toList());
+        if (!removedMeanwhile.isEmpty()) {
+            // retrait déjà compté dans teamSize s'il a trouvé la copie : seuls les documents encore là sont décomptés
+            projectRepository.incrementTeamSize(projectId, -(int) memberRepository.deleteByIdIn(removedMeanwhile));
+        }
+        projectRepository.unsetTeamIds(projectId);
+        log.info("Équipe du projet {} déplacée dans project_members ({} membres)", projectId, teamIds.size());
+    }
+
+    private Project loadMembership(String projectId) {
+        return projectRepository.findMembershipById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+    }
+
+    private static Set<String> distinct(List<String> userIds) {
+        if (userIds == null) {
+            return new LinkedHashSet<>();
+        }
+        return userIds.stream()
+                .filter(userId -> userId != null && !userId.isBlank())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.service.Impl;
+
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.ProjectMember;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire utilisateur -> projets (manager ou membre de l'équipe), chargé au démarrage puis tenu à jour
+ * par les ProjectChangedEvent et ProjectMembersChangedEvent. "Mes projets" se résout ainsi par une lecture par _id,
+ * sans requête sur les membres. Tant que le chargement n'est pas terminé, projectIdsOf interroge MongoDB
+ * (teamIds et project_members).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipIndex {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository memberRepository;
+
+    private final Map<String, Set<String>> projectsByUser = new HashMap<>();
+    private final Map<String, Set<String>> membersByProject = new HashMap<>();
+    private final Map<String, String> managerByProject = new HashMap<>();
+    private volatile boolean ready;
+
+    // Chargement sous verrou : les écritures de projets arrivant pendant ce temps attendent la fin du parcours
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        projectsByUser.clear();
+        membersByProject.clear();
+        managerByProject.clear();
+        try (Stream<Project> projects = projectRepository.streamAllMemberships()) {
+            projects.forEach(project -> index(project.getId(), project.getManagerId(), project.getTeamIds()));
+        }
+        // project_members garde les membres d'un projet en cours de purge : seuls les projets indexés sont repris
+        try (Stream<ProjectMember> members = memberRepository.streamAllMemberships()) {
+            members.filter(member -> membersByProject.containsKey(member.getProjectId()))
+                    .forEach(member -> add(member.getProjectId(), member.getUserId()));
+        }
+        ready = true;
+        log.info("Index des membres chargé : {} projets, {} utilisateurs", membersByProject.size(), projectsByUser.size());
+    }
+
+    @EventListener
+    public synchronized void onProjectChanged(ProjectChangedEvent event) {
+        Set<String> previous = unindex(event.getProjectId());
+        Project current = event.getCurrent();
+        if (current != null) {
+            // équipe externalisée : teamIds n'est plus renseigné, les membres connus sont conservés
+            index(current.getId(), current.getManagerId(), current.isMembersExternal() ? previous : current.getTeamIds());
+        }
+    }
+
+    @EventListener
+    public synchronized void onMembersChanged(ProjectMembersChangedEvent event) {
+        if (!membersByProject.containsKey(event.getProjectId())) {
+            return;  // projet supprimé entre-temps
+        }
+        event.getAdded().forEach(userId -> add(event.getProjectId(), userId));
+        String managerId = managerByProject.get(event.getProjectId());
+        event.getRemoved().stream()
+                .filter(userId -> !userId.equals(managerId))
+                .forEach(userId -> remove(event.getProjectId(), userId));
+    }
+
+    // Copie des projets de l'utilisateur ; lecture MongoDB tant que l'index n'est pas chargé
+    public Set<String> projectIdsOf(String userId) {
+        synchronized (this) {
+            if (ready) {
+                Set<String> projectIds = projectsByUser.get(userId);
+                return projectIds == null ? Set.of() : Set.copyOf(projectIds);
+            }
+        }
+        Set<String> projectIds = projectRepository.findByMember(userId).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        Set<String> external = memberRepository.findProjectIdsByUserId(userId).stream()
+                .map(ProjectMember::getProjectId)
+                .filter(projectId -> !projectIds.contains(projectId))
+                .collect(Collectors.toSet());
+        if (!external.isEmpty()) {
+            // équipes externalisées : les projets en cours de suppression sont écartés
+            projectRepository.findSummariesByIdIn(external).forEach(project -> projectIds.add(project.getId()));
+        }
+        return projectIds;
+    }
+
+    // Copie des membres du projet (manager compris), ou null si l'index n'est pas encore chargé
+    public synchronized Set<String> membersOf(String projectId) {
+        if (!ready) {
+            return null;
+        }
+        Set<String> members = membersByProject.get(projectId);
+        return members == null ? Set.of() : Set.copyOf(members);
+    }
+
+    private void index(String projectId, String managerId, Iterable<String> teamIds) {
+        membersByProject.put(projectId, new HashSet<>());
+        if (managerId != null) {
+            managerByProject.put(projectId, managerId);
+            add(projectId, managerId);
+        }
+        if (teamIds != null) {
+            teamIds.forEach(userId -> add(projectId, userId));
+        }
+    }
+
+    private void add(String projectId, String userId) {
+        membersByProject.computeIfAbsent(projectId, id -> new HashSet<>()).add(userId);
+        projectsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(projectId);
+    }
+
+    private void remove(String projectId, String userId) {
+        Set<String> members = membersByProject.get(projectId);
+        if (members != null) {
+            members.remove(userId);
+        }
+        Set<String> projectIds = projectsByUser.get(userId);
+        if (projectIds != null) {
+            projectIds.remove(projectId);
+            if (projectIds.isEmpty()) {
+                projectsByUser.remove(userId);
+            }
+        }
+    }
+
+    private Set<String> unindex(String projectId) {
+        managerByProject.remove(projectId);
+        Set<String> members = membersByProject.remove(projectId);
+        if (members == null) {
+            return Set.of();
+        }
+        for (String userId : members) {
+            Set<String> projectIds = projectsByUser.get(userId);
+            if (projectIds != null) {
+                projectIds.remove(projectId);
+                if (projectIds.isEmpty()) {
+                    projectsByUser.remove(userId);
+                }
+            }
+        }
+        return members;
+    }
+}
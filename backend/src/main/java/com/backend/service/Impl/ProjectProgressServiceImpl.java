@@ -0,0 +1,159 @@
+package com.backend.service.Impl;
+
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.service.ProjectProgressService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Tient à jour Project.taskCounts : chaque TaskChangedEvent devient des $inc (un bulkWrite par événement).
+ * Un job planifié recompte périodiquement les tâches par lots de projets traités en parallèle et corrige
+ * les compteurs qui ont dérivé (écriture perdue, modification hors application).
+ */
+@Slf4j
+@Service
+public class ProjectProgressServiceImpl implements ProjectProgressService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ResourceVersions resourceVersions;
+    private final Counter repairedCounter;
+    private final int batchSize;
+    private final int parallelism;
+
+    public ProjectProgressServiceImpl(ProjectRepository projectRepository,
+                                      TaskRepository taskRepository,
+                                      ResourceVersions resourceVersions,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${application.projects.progress-repair.batch-size:200}") int batchSize,
+                                      @Value("${application.projects.progress-repair.parallelism:4}") int parallelism) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.resourceVersions = resourceVersions;
+        this.repairedCounter = Counter.builder("projects.progress.repaired")
+                .description("Projets dont les compteurs de tâches ont été corrigés")
+                .register(meterRegistry);
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Avant ResourceVersions : la version des projets n'avance qu'une fois taskCounts à jour
+    @Order(0)
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Map<String, Map<TaskStatus, Long>> deltas = new HashMap<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            accumulate(deltas, change.previous(), -1);
+            accumulate(deltas, change.current(), 1);
+        }
+        deltas.values().forEach(counts -> counts.values().removeIf(delta -> delta == 0));
+        deltas.values().removeIf(Map::isEmpty);
+        if (!deltas.isEmpty()) {
+            projectRepository.incrementTaskCounts(deltas);
+        }
+    }
+
+    // Premier passage peu après le démarrage : initialise aussi les projets créés avant l'existence des compteurs
+    @Scheduled(initialDelayString = "${application.projects.progress-repair.initial-delay-ms:30000}",
+            fixedDelayString = "${application.projects.progress-repair.interval-ms:3600000}")
+    public void scheduledRepair() {
+        int repaired = repair();
+        if (repaired > 0) {
+            log.info("Compteurs de tâches corrigés pour {} projets", repaired);
+        }
+    }
+
+    @Override
+    public int repair() {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<Integer>> batches = new ArrayList<>();
+            List<String> batch = new ArrayList<>(batchSize);
+            try (Stream<Project> projects = projectRepository.streamAllIds()) {
+                for (Project project : (Iterable<Project>) projects::iterator) {
+                    batch.add(project.getId());
+                    if (batch.size() == batchSize) {
+                        List<String> ids = batch;
+                        batches.add(executor.submit(() -> repairBatch(ids)));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<String> ids = batch;
+                batches.add(executor.submit(() -> repairBatch(ids)));
+            }
+            int repaired = 0;
+            for (Future<Integer> future : batches) {
+                repaired += future.get();
+            }
+            repairedCounter.increment(repaired);
+            if (repaired > 0) {
+                resourceVersions.bump(ResourceVersions.PROJECTS);
+            }
+            return repaired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Progress repair failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Lit les compteurs stockés AVANT de recompter : une écriture concurrente fait échouer la garde de replaceTaskCounts
+    private int repairBatch(List<String> projectIds) {
+        Map<String, Map<TaskStatus, Long>> stored = new HashMap<>();
+        for (Project project : projectRepository.findTaskCountsByIdIn(projectIds)) {
+            stored.put(project.getId(), normalize(project.getTaskCounts()));
+        }
+        Map<String, Map<TaskStatus, Long>> actual = taskRepository.countByProjectAndStatus(projectIds);
+        Map<String, Map<TaskStatus, Long>> drifted = new HashMap<>();
+        for (String projectId : stored.keySet()) {
+            Map<TaskStatus, Long> counts = normalize(actual.get(projectId));
+            if (!counts.equals(stored.get(projectId))) {
+                drifted.put(projectId, counts);
+            }
+        }
+        return projectRepository.replaceTaskCounts(stored, drifted);
+    }
+
+    private static Map<TaskStatus, Long> normalize(Map<TaskStatus, Long> counts) {
+        Map<TaskStatus, Long> normalized = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            normalized.put(status, counts != null ? counts.getOrDefault(status, 0L) : 0L);
+        }
+        return normalized;
+    }
+
+    private static void accumulate(Map<String, Map<TaskStatus, Long>> deltas, Task task, long sign) {
+        if (task == null || task.getProjectId() == null || task.getStatus() == null) {
+            return;
+        }
+        deltas.computeIfAbsent(task.getProjectId(), id -> new EnumMap<>(TaskStatus.class))
+                .merge(task.getStatus(), sign, Long::sum);
+    }
+}
@@ -3,16 +3,20 @@ package com.backend.service.Impl;
 import com.backend.dto.ProjectRequest;
 import com.backend.dto.ProjectResponse;
 import com.backend.dto.ProjectUpdateRequest;
+import com.backend.event.ProjectChangedEvent;
 import com.backend.model.Project;
 import com.backend.model.User;
 import com.backend.repository.ProjectRepository;
 import com.backend.repository.UserRepository;
 import com.backend.service.ProjectService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -21,6 +25,8 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectMembershipIndex membershipIndex;
 
     @Override
     public ProjectResponse createProject(ProjectRequest request) {
@@ -33,72 +39,75 @@ public class ProjectServiceImpl implements ProjectService {
                 .managerId(manager.getId())
                 .managerName(manager.getName())
                 .deadline(request.getDeadline())
-                .totalProgress(0)
                 .status("In Progress")
                 .teamIds(new ArrayList<>())
+                .teamSize(0)
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.created(savedProject));
         return mapToResponse(savedProject);
     }
 
     @Override
     public ProjectResponse updateProject(String id, ProjectUpdateRequest request) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+        // $set des seuls champs fournis : pas de relecture ni d'écrasement des équipes modifiées en parallèle
+        Update update = new Update();
         if (request.getName() != null && !request.getName().isBlank()) {
-            project.setName(request.getName());
+            update.set("name", request.getName());
         }
         if (request.getDescription() != null) {
-            project.setDescription(request.getDescription());
+            update.set("description", request.getDescription());
         }
         if (request.getStatus() != null && !request.getStatus().isBlank()) {
-            project.setStatus(request.getStatus());
+            update.set("status", request.getStatus());
         }
         if (request.getDeadline() != null) {
-            project.setDeadline(request.getDeadline());
+            update.set("deadline", request.getDeadline());
         }
-        return mapToResponse(projectRepository.save(project));
+        Project project = update.getUpdateObject().isEmpty()
+                ? projectRepository.findActiveById(id).orElse(null)
+                : projectRepository.updateFields(id, update);
+        if (project == null) {
+            throw new RuntimeException("Project not found");
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, project));
+        return mapToResponse(project);
     }
 
     @Override
     public List<ProjectResponse> getAllProjects() {
-        return projectRepository.findAll().stream()
+        return projectRepository.findAllActive().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<ProjectResponse> getUserProjects(String userId) {
-        // Récupérer les projets où l'utilisateur est manager ou membre de l'équipe
-        List<Project> managerProjects = projectRepository.findByManagerId(userId);
-        List<Project> teamProjects = projectRepository.findByTeamIdsContaining(userId);
-        
-        // Combiner et dédupliquer par ID
-        List<Project> allProjects = new ArrayList<>(managerProjects);
-        for (Project project : teamProjects) {
-            boolean exists = allProjects.stream()
-                    .anyMatch(p -> p.getId().equals(project.getId()));
-            if (!exists) {
-                allProjects.add(project);
-            }
+        // Projets où l'utilisateur est manager ou membre de l'équipe : lecture par _id depuis l'index des membres
+        Set<String> projectIds = membershipIndex.projectIdsOf(userId);
+        if (projectIds.isEmpty()) {
+            return List.of();
         }
-        
-        return allProjects.stream()
+        return projectRepository.findActiveByIdIn(projectIds).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public ProjectResponse getProjectById(String id) {
-        Project project = projectRepository.findById(id)
+        Project project = projectRepository.findActiveById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found!"));
         return mapToResponse(project);
     }
 
     @Override
     public void deleteProject(String id) {
-        projectRepository.deleteById(id);
+        // Le projet est masqué immédiatement ; tâches, messages et membres sont purgés par lots
+        // en arrière-plan (ProjectDeletionServiceImpl), puis le projet lui-même
+        if (projectRepository.markDeleting(id) != null) {
+            eventPublisher.publishEvent(new ProjectChangedEvent(id, null));
+        }
     }
 
     //méthode privée pour transformer l'entité en DTO
@@ -107,12 +116,13 @@ public class ProjectServiceImpl implements ProjectService {
                 .id(project.getId())
                 .name(project.getName())
                 .description(project.getDescription())
-                .totalProgress(project.getTotalProgress())
+                .totalProgress(project.computeProgress())
+                .taskCounts(project.getTaskCounts())
                 .status(project.getStatus())
                 .managerName(project.getManagerName())
                 .managerId(project.getManagerId())
                 .deadline(project.getDeadline())
-                .teamSize(project.getTeamIds() != null ? project.getTeamIds().size() : 0)
+                .teamSize(project.getTeamSize())
                 .build();
     }
 }
\ No newline at end of file
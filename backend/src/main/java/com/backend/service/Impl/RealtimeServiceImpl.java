@@ -0,0 +1,345 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.MessageResponse;
+import com.backend.dto.TaskResponse;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.exception.ServiceUnavailableException;
+import com.backend.model.Message;
+import com.backend.model.Task;
+import com.backend.model.enums.UserRole;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.RealtimeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion en temps réel (SSE) des messages et des écritures de tâches, par projet.
+ * <p>
+ * Une connexion inactive ne coûte qu'un SseEmitter et une petite file : les requêtes sont asynchrones,
+ * aucun thread ne reste attaché à un abonné. Chaque événement est sérialisé une seule fois puis déposé
+ * dans la file bornée de chaque abonné du canal ; un petit pool (sender-threads) vide les files, au plus
+ * une tâche d'envoi par abonné à la fois. Un abonné trop lent dont la file déborde perd ses événements
+ * en attente et reçoit à la place un unique "resync" : le client recharge alors la liste par l'API REST.
+ * Un envoi en échec (connexion fermée) retire l'abonné.
+ */
+@Slf4j
+@Service
+public class RealtimeServiceImpl implements RealtimeService {
+
+    // Canal des messages de tous les projets (page Communication)
+    static final String ALL_MESSAGES = "*";
+
+    static final Event RESYNC = new Event("resync", "{}");
+    static final Event HEARTBEAT = new Event(null, null);
+
+    // Nombre d'événements envoyés à un abonné avant de rendre la main aux autres
+    private static final int DRAIN_BATCH = 32;
+
+    private final ObjectMapper objectMapper;
+    private final ProjectMembershipIndex membershipIndex;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor senders;
+    private final Map<String, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter sent;
+    private final Counter resyncs;
+    private final Counter rejected;
+
+    public RealtimeServiceImpl(ObjectMapper objectMapper,
+                               ProjectMembershipIndex membershipIndex,
+                               MeterRegistry meterRegistry,
+                               @Value("${application.realtime.queue-capacity:64}") int queueCapacity,
+                               @Value("${application.realtime.sender-threads:2}") int senderThreads,
+                               @Value("${application.realtime.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${application.realtime.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.membershipIndex = membershipIndex;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        // File non bornée mais au plus une tâche par abonné (drapeau scheduled)
+        this.senders = new ThreadPoolExecutor(
+                senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "realtime-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.sent = Counter.builder("realtime.events.sent").register(meterRegistry);
+        this.resyncs = Counter.builder("realtime.events.resync").register(meterRegistry);
+        this.rejected = Counter.builder("realtime.subscribers.rejected").register(meterRegistry);
+        Gauge.builder("realtime.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("realtime.senders.queue.depth", senders, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(AuthenticatedPrincipal user, String projectId) {
+        if (projectId != null && user.getRole() != UserRole.Admin
+                && !membershipIndex.projectIdsOf(user.getId()).contains(projectId)) {
+            throw new AccessDeniedException("Not a member of project " + projectId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many realtime subscribers");
+        }
+        String channel = projectId != null ? projectId : ALL_MESSAGES;
+        Subscriber subscriber = new Subscriber(channel, user.getId(), createEmitter(timeoutMs), queueCapacity);
+        // Ajout dans compute : remove() peut retirer au même moment un canal devenu vide
+        channels.compute(channel, (c, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    protected SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        Message message = event.getMessage();
+        Event pushed = event("message", toResponse(message));
+        if (pushed == null) {
+            return;
+        }
+        publish(ALL_MESSAGES, pushed);
+        if (message.getProjectId() != null) {
+            publish(message.getProjectId(), pushed);
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            Task previous = change.previous();
+            Task current = change.current();
+            // Tâche supprimée, ou déplacée vers un autre projet : retirée du tableau de l'ancien projet
+            if (previous != null && previous.getProjectId() != null
+                    && (current == null || !previous.getProjectId().equals(current.getProjectId()))) {
+                publish(previous.getProjectId(),
+                        event("task-deleted", Map.of("id", previous.getId(), "projectId", previous.getProjectId())));
+            }
+            if (current != null && current.getProjectId() != null) {
+                publish(current.getProjectId(), event("task", TaskResponse.from(current)));
+            }
+        }
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getCurrent() != null) {
+            return;
+        }
+        Set<Subscriber> subscribers = channels.get(event.getProjectId());
+        if (subscribers == null) {
+            return;
+        }
+        Event deleted = event("project-deleted", Map.of("projectId", event.getProjectId()));
+        subscribers.forEach(subscriber -> {
+            enqueue(subscriber, deleted);
+            subscriber.closeAfterDrain = true;
+        });
+    }
+
+    // Un membre retiré de l'équipe cesse de recevoir les événements du projet
+    @EventListener
+    public void onMembersChanged(ProjectMembersChangedEvent event) {
+        Set<Subscriber> subscribers = channels.get(event.getProjectId());
+        if (subscribers == null || event.getRemoved() == null || event.getRemoved().isEmpty()) {
+            return;
+        }
+        subscribers.stream()
+                .filter(subscriber -> event.getRemoved().contains(subscriber.userId))
+                .forEach(subscriber -> {
+                    remove(subscriber);
+                    subscriber.emitter.complete();
+                });
+    }
+
+    // Commentaire SSE périodique : garde la connexion ouverte à travers les proxys et détecte les clients partis
+    @Scheduled(fixedDelayString = "${application.realtime.heartbeat-ms:25000}")
+    public void heartbeat() {
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException e) {
+                // requête déjà libérée par Tomcat, arrêté avant ce bean
+            }
+        }));
+        channels.clear();
+    }
+
+    void publish(String channel, Event event) {
+        Set<Subscriber> subscribers = channels.get(channel);
+        if (subscribers == null || event == null) {
+            return;
+        }
+        subscribers.forEach(subscriber -> enqueue(subscriber, event));
+    }
+
+    private void enqueue(Subscriber subscriber, Event event) {
+        if (!subscriber.queue.offer(event)) {
+            // File pleine : les événements en attente sont périmés pour ce client, il rechargera tout
+            subscriber.queue.clear();
+            subscriber.queue.offer(RESYNC);
+            resyncs.increment();
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed.get() || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            int count = 0;
+            while (count++ < DRAIN_BATCH && (event = subscriber.queue.poll()) != null) {
+                if (subscriber.closed.get()) {
+                    return;
+                }
+                send(subscriber, event);
+            }
+            if (subscriber.closeAfterDrain && subscriber.queue.isEmpty()) {
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté ou emitter déjà terminé
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Event event) throws IOException {
+        if (event == HEARTBEAT) {
+            subscriber.emitter.send(SseEmitter.event().comment(""));
+            return;
+        }
+        subscriber.emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+        sent.increment();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriber.queue.clear();
+        subscriberCount.decrementAndGet();
+        channels.computeIfPresent(subscriber.channel, (channel, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Event event(String name, Object payload) {
+        try {
+            return new Event(name, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("Événement temps réel {} non sérialisable : {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private MessageResponse toResponse(Message m) {
+        return MessageResponse.builder()
+                .id(m.getId())
+                .senderId(m.getSenderId())
+                .senderName(m.getSenderName())
+                .senderRole(m.getSenderRole())
+                .content(m.getContent())
+                .type(m.getType())
+                .projectId(m.getProjectId())
+                .projectName(m.getProjectName())
+                .createdAt(m.getCreatedAt())
+                .build();
+    }
+
+    // Événement déjà sérialisé, partagé par tous les abonnés du canal
+    record Event(String name, String data) {
+    }
+
+    private static final class Subscriber {
+        private final String channel;
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean closeAfterDrain;
+
+        private Subscriber(String channel, String userId, SseEmitter emitter, int queueCapacity) {
+            this.channel = channel;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.backend.service.Impl;
+
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.event.UsersCreatedEvent;
+import com.backend.model.Task;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numéros de version des collections exposées en liste (et des tâches / messages de chaque projet),
+ * incrémentés par les événements d'écriture des services. Ils servent à calculer les ETag des GET
+ * (ConditionalGetInterceptor) sans lire MongoDB.
+ * <p>
+ * Les versions sont propres à l'instance : l'epoch tiré au démarrage, inclus dans l'ETag, invalide les
+ * ETag émis avant un redémarrage ou par une autre instance.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String PROJECTS = "projects";
+    public static final String USERS = "users";
+    public static final String MESSAGES = "messages";
+    public static final String TASKS = "tasks";
+
+    private final String epoch = Long.toString(System.nanoTime() ^ System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public long versionOf(String key) {
+        AtomicLong version = versions.get(key);
+        return version == null ? 0 : version.get();
+    }
+
+    public void bump(String key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public static String ofProject(String collection, String projectId) {
+        return collection + ":" + projectId;
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        bump(PROJECTS);
+    }
+
+    @EventListener
+    public void onMembersChanged(ProjectMembersChangedEvent event) {
+        bump(PROJECTS);  // teamSize
+    }
+
+    // Exécuté après ProjectProgressServiceImpl (@Order(0)) : la nouvelle version n'est visible qu'une fois
+    // taskCounts à jour, sinon une lecture intermédiaire resterait validée avec l'ancien avancement
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            bumpTasks(change.previous());
+            bumpTasks(change.current());
+        }
+        bump(PROJECTS);
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        bump(MESSAGES);
+        bump(ofProject(MESSAGES, event.getMessage().getProjectId()));
+    }
+
+    @EventListener
+    public void onMessagesDeleted(MessagesDeletedEvent event) {
+        bump(MESSAGES);
+        bump(ofProject(MESSAGES, event.getProjectId()));
+    }
+
+    @EventListener
+    public void onUsersCreated(UsersCreatedEvent event) {
+        bump(USERS);
+    }
+
+    private void bumpTasks(Task task) {
+        if (task != null && task.getProjectId() != null) {
+            bump(ofProject(TASKS, task.getProjectId()));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.SearchResult;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.UserRole;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.search.SearchDocument;
+import com.backend.search.SearchHit;
+import com.backend.search.SearchIndex;
+import com.backend.security.AuthenticatedPrincipal;
+import com.backend.service.SearchService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Alimente le SearchIndex à partir des événements d'écriture des services et filtre les résultats
+ * par appartenance aux projets.
+ * <p>
+ * Au démarrage, l'instantané écrit à l'arrêt précédent est relu puis supprimé : après un arrêt brutal il
+ * n'y a donc pas d'instantané et l'index est reconstruit depuis MongoDB. Il l'est aussi si le nombre de
+ * documents de l'instantané ne correspond plus à celui des collections (écritures faites pendant l'arrêt).
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final MessageRepository messageRepository;
+    private final ProjectMembershipIndex membershipIndex;
+
+    @Value("${application.search.snapshot-file:data/search-index.bin}")
+    private String snapshotFile;
+
+    @Value("${application.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${application.search.max-limit:100}")
+    private int maxLimit;
+
+    private volatile SearchIndex index = new SearchIndex();
+    private volatile boolean ready;
+    // écritures reçues pendant une reconstruction, rejouées sur le nouvel index avant bascule
+    private List<Consumer<SearchIndex>> pendingWrites;
+
+    @Override
+    public List<SearchResult> search(String query, AuthenticatedPrincipal user, Integer limit) {
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        Set<String> allowedProjects = user.getRole() == UserRole.Admin ? null : membershipIndex.projectIdsOf(user.getId());
+        return index.search(query, allowedProjects, size).stream()
+                .map(this::toResult)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread worker = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Chargement de l'index de recherche interrompu", e);
+            }
+        }, "search-index-loader");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        if (!ready) {
+            return;
+        }
+        try {
+            index.writeSnapshot(Path.of(snapshotFile));
+            log.info("Index de recherche sauvegardé ({} documents)", index.size());
+        } catch (IOException e) {
+            log.warn("Impossible d'écrire l'instantané de l'index de recherche : {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(target -> event.getChanges().forEach(change -> {
+            if (change.current() == null) {
+                target.remove(SearchDocument.Type.TASK, change.previous().getId());
+            } else {
+                target.upsert(toDocument(change.current()));
+            }
+        }));
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        apply(target -> {
+            if (event.getCurrent() == null) {
+                target.remove(SearchDocument.Type.PROJECT, event.getProjectId());
+            } else {
+                target.upsert(toDocument(event.getCurrent()));
+            }
+        });
+    }
+
+    @EventListener
+    public void onMessagesDeleted(MessagesDeletedEvent event) {
+        apply(target -> event.getMessageIds().forEach(id -> target.remove(SearchDocument.Type.MESSAGE, id)));
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        apply(target -> target.upsert(toDocument(event.getMessage())));
+    }
+
+    void load() {
+        synchronized (this) {
+            pendingWrites = new ArrayList<>();
+        }
+        Path file = Path.of(snapshotFile);
+        if (Files.exists(file)) {
+            try {
+                SearchIndex loaded = SearchIndex.readSnapshot(file);
+                Files.delete(file);
+                if (matchesCollections(loaded.countByType())) {
+                    swap(loaded);
+                    log.info("Index de recherche relu depuis {} ({} documents)", file, loaded.size());
+                    return;
+                }
+                log.info("Instantané de recherche périmé, reconstruction depuis MongoDB");
+            } catch (IOException | RuntimeException e) {
+                log.warn("Instantané de recherche illisible ({}), reconstruction depuis MongoDB", e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        SearchIndex rebuilt = new SearchIndex();
+        try (Stream<Task> tasks = taskRepository.streamAllForSearch()) {
+            tasks.forEach(task -> rebuilt.upsert(toDocument(task)));
+        }
+        try (Stream<Project> projects = projectRepository.streamAllForSearch()) {
+            projects.forEach(project -> rebuilt.upsert(toDocument(project)));
+        }
+        try (Stream<Message> messages = messageRepository.streamAllForSearch()) {
+            messages.forEach(message -> rebuilt.upsert(toDocument(message)));
+        }
+        swap(rebuilt);
+        log.info("Index de recherche construit ({} documents)", rebuilt.size());
+    }
+
+    private synchronized void swap(SearchIndex next) {
+        if (pendingWrites != null) {
+            pendingWrites.forEach(write -> write.accept(next));
+            pendingWrites = null;
+        }
+        index = next;
+        ready = true;
+    }
+
+    private synchronized void apply(Consumer<SearchIndex> write) {
+        write.accept(index);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    private boolean matchesCollections(Map<SearchDocument.Type, Long> counts) {
+        return counts.get(SearchDocument.Type.TASK) == taskRepository.count()
+                && counts.get(SearchDocument.Type.PROJECT) == projectRepository.countActive()
+                && counts.get(SearchDocument.Type.MESSAGE) == messageRepository.count();
+    }
+
+
+    private static SearchDocument toDocument(Task task) {
+        return new SearchDocument(SearchDocument.Type.TASK, task.getId(), task.getProjectId(),
+                task.getTitle(), task.getDescription());
+    }
+
+    private static SearchDocument toDocument(Project project) {
+        return new SearchDocument(SearchDocument.Type.PROJECT, project.getId(), project.getId(),
+                project.getName(), project.getDescription());
+    }
+
+    private static SearchDocument toDocument(Message message) {
+        return new SearchDocument(SearchDocument.Type.MESSAGE, message.getId(), message.getProjectId(), null, message.getContent());
+    }
+
+    private SearchResult toResult(SearchHit hit) {
+        return SearchResult.builder()
+                .type(hit.type().name().toLowerCase())
+                .id(hit.id())
+                .projectId(hit.projectId())
+                .title(hit.title())
+                .score(hit.score())
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.StatsResponse;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.event.UsersCreatedEvent;
+import com.backend.model.User;
+import com.backend.model.enums.TaskStatus;
+import com.backend.model.enums.UserRole;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.repository.UserRepository;
+import com.backend.service.StatsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs globaux de GET /api/stats, tenus en mémoire : amorcés au démarrage par estimatedDocumentCount
+ * (métadonnées de collection, sans parcours), ajustés par les événements de création et de suppression,
+ * puis recalés périodiquement sur des comptages exacts. Les répartitions par statut et par rôle, que
+ * estimatedDocumentCount ne fournit pas, sont connues à partir du premier recalage.
+ * <p>
+ * Le recalage ajoute l'écart (exact - valeur lue avant le comptage) au lieu d'écraser la valeur : les
+ * événements arrivés pendant le comptage sont conservés.
+ */
+@Slf4j
+@Service
+public class StatsServiceImpl implements StatsService {
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final MessageRepository messageRepository;
+    private final TaskRepository taskRepository;
+    private final MessageArchive archive;
+    private final Counter corrections;
+
+    private final AtomicLong projects = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong tasks = new AtomicLong();
+    private final Map<TaskStatus, AtomicLong> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<UserRole, AtomicLong> usersByRole = new EnumMap<>(UserRole.class);
+
+    public StatsServiceImpl(ProjectRepository projectRepository,
+                            UserRepository userRepository,
+                            MessageRepository messageRepository,
+                            TaskRepository taskRepository,
+                            MessageArchive archive,
+                            MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.messageRepository = messageRepository;
+        this.taskRepository = taskRepository;
+        this.archive = archive;
+        this.corrections = Counter.builder("stats.reconcile.corrections")
+                .description("Compteurs globaux corrigés par le recalage")
+                .register(meterRegistry);
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.put(status, new AtomicLong());
+        }
+        for (UserRole role : UserRole.values()) {
+            usersByRole.put(role, new AtomicLong());
+        }
+    }
+
+    @Override
+    public StatsResponse getStats() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        tasksByStatus.forEach((status, count) -> byStatus.put(status, count.get()));
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        usersByRole.forEach((role, count) -> byRole.put(role, count.get()));
+        return StatsResponse.builder()
+                .projects(projects.get())
+                .members(users.get())
+                .messages(messages.get() + archive.archivedCount())
+                .tasks(tasks.get())
+                .tasksByStatus(byStatus)
+                .membersByRole(byRole)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        projects.set(projectRepository.estimatedCount() - projectRepository.countByDeletingTrue());
+        users.set(userRepository.estimatedCount());
+        messages.set(messageRepository.estimatedCount());
+        tasks.set(taskRepository.estimatedCount());
+        log.info("Compteurs globaux amorcés : {} projets, {} utilisateurs, {} messages, {} tâches",
+                projects.get(), users.get(), messages.get(), tasks.get());
+    }
+
+    @Scheduled(initialDelayString = "${application.stats.reconcile.initial-delay-ms:5000}",
+            fixedDelayString = "${application.stats.reconcile.interval-ms:600000}")
+    public void scheduledReconcile() {
+        try {
+            int corrected = reconcile();
+            if (corrected > 0) {
+                log.info("{} compteurs globaux recalés", corrected);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Recalage des compteurs globaux interrompu : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int reconcile() {
+        int corrected = 0;
+        long before = projects.get();
+        corrected += correct(projects, before, projectRepository.count() - projectRepository.countByDeletingTrue());
+        before = users.get();
+        corrected += correct(users, before, userRepository.count());
+        before = messages.get();
+        corrected += correct(messages, before, messageRepository.count());
+
+        Map<TaskStatus, Long> beforeByStatus = snapshot(tasksByStatus);
+        long beforeTasks = tasks.get();
+        Map<TaskStatus, Long> exactByStatus = taskRepository.countByStatus();
+        for (TaskStatus status : TaskStatus.values()) {
+            corrected += correct(tasksByStatus.get(status), beforeByStatus.get(status), exactByStatus.getOrDefault(status, 0L));
+        }
+        corrected += correct(tasks, beforeTasks, exactByStatus.values().stream().mapToLong(Long::longValue).sum());
+
+        Map<UserRole, Long> beforeByRole = snapshot(usersByRole);
+        Map<UserRole, Long> exactByRole = userRepository.countByRole();
+        for (UserRole role : UserRole.values()) {
+            corrected += correct(usersByRole.get(role), beforeByRole.get(role), exactByRole.getOrDefault(role, 0L));
+        }
+        corrections.increment(corrected);
+        return corrected;
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.isCreated()) {
+            projects.incrementAndGet();
+        } else if (event.getCurrent() == null) {
+            projects.decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onUsersCreated(UsersCreatedEvent event) {
+        users.addAndGet(event.getUsers().size());
+        for (User user : event.getUsers()) {
+            if (user.getRole() != null) {
+                usersByRole.get(user.getRole()).incrementAndGet();
+            }
+        }
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        messages.incrementAndGet();
+    }
+
+    @EventListener
+    public void onMessagesDeleted(MessagesDeletedEvent event) {
+        messages.addAndGet(-event.getMessageIds().size());
+    }
+
+    // Création, changement de statut ou suppression : l'ancienne version sort, la nouvelle entre
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            if (change.previous() != null) {
+                tasks.decrementAndGet();
+                if (change.previous().getStatus() != null) {
+                    tasksByStatus.get(change.previous().getStatus()).decrementAndGet();
+                }
+            }
+            if (change.current() != null) {
+                tasks.incrementAndGet();
+                if (change.current().getStatus() != null) {
+                    tasksByStatus.get(change.current().getStatus()).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    // Ajoute l'écart entre le comptage exact et la valeur lue juste avant ; renvoie 1 si le compteur a été corrigé
+    private static int correct(AtomicLong counter, long before, long exact) {
+        long drift = exact - before;
+        if (drift == 0) {
+            return 0;
+        }
+        counter.addAndGet(drift);
+        return 1;
+    }
+
+    private static <K extends Enum<K>> Map<K, Long> snapshot(Map<K, AtomicLong> counters) {
+        Map<K, Long> values = new HashMap<>();
+        counters.forEach((key, count) -> values.put(key, count.get()));
+        return values;
+    }
+}
@@ -1,19 +1,35 @@
 package com.backend.service.Impl;
 
+import com.backend.dto.CursorPage;
+import com.backend.dto.TaskBatchRequest;
+import com.backend.dto.TaskBatchResponse;
+import com.backend.dto.TaskOperation;
+import com.backend.dto.TaskOperationResult;
 import com.backend.dto.TaskRequest;
 import com.backend.dto.TaskResponse;
+import com.backend.event.TaskChangedEvent;
+import com.backend.exception.ConflictException;
 import com.backend.model.Task;
 import com.backend.model.User;
 import com.backend.model.enums.TaskPriority;
 import com.backend.model.enums.TaskStatus;
+import com.backend.repository.KeysetCursor;
 import com.backend.repository.TaskRepository;
+import com.backend.repository.TaskWrite;
 import com.backend.repository.UserRepository;
 import com.backend.service.TaskService;
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -22,7 +38,16 @@ public class TaskServiceImpl implements TaskService{
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Value("${application.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${application.pagination.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${application.tasks.batch-max-size:500}")
+    private int batchMaxSize;
 
     @Override
     public TaskResponse createTask(TaskRequest request) {
@@ -33,78 +58,379 @@ public class TaskServiceImpl implements TaskService{
                 assigneeName = assignee.getName();
             }
         }
-        Task task = Task.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .projectId(request.getProjectId())
-                .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
-                .priority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM)
-                .assigneeId(request.getAssignedId())
-                .assigneeName(assigneeName)
-                .build();
-        return mapToResponse(taskRepository.save(task));
+        Task task = taskRepository.save(buildTask(request, assigneeName));
+        eventPublisher.publishEvent(TaskChangedEvent.of(null, task));
+        return TaskResponse.from(task);
     }
 
     @Override
     public TaskResponse updateTask(String taskId, TaskRequest request) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        if (request.getTitle() != null && !request.getTitle().isBlank()) {
-            task.setTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
-        }
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        Map<String, String> assigneeNames = new HashMap<>();
+        if (request.getAssignedId() != null && !request.getAssignedId().isEmpty()) {
+            userRepository.findById(request.getAssignedId())
+                    .ifPresent(assignee -> assigneeNames.put(assignee.getId(), assignee.getName()));
         }
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority());
+        // $set des seuls champs modifiés, conditionné au statut (transition autorisée) et à la version
+        TaskChanges changes = changesOf(request, assigneeNames);
+        Criteria guard = guard(request.getStatus(), request.isReopen(), request.getVersion());
+        Task previous = taskRepository.updateIfMatches(taskId, guard, changes.update());
+        if (previous == null) {
+            throw explainRejectedUpdate(taskId, request.getStatus(), request.getVersion());
         }
-        if (request.getAssignedId() != null) {
-            task.setAssigneeId(request.getAssignedId());
-            User assignee = userRepository.findById(request.getAssignedId()).orElse(null);
-            task.setAssigneeName(assignee != null ? assignee.getName() : "Unassigned");
-        }
-        return mapToResponse(taskRepository.save(task));
+        Task current = changes.applyTo(previous);
+        eventPublisher.publishEvent(TaskChangedEvent.of(previous, current));
+        return TaskResponse.from(current);
     }
 
     @Override
     public List<TaskResponse> getTasksByProject(String projectId) {
         return taskRepository.findByProjectId(projectId).stream()
-                .map(this::mapToResponse)
+                .map(TaskResponse::from)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<TaskResponse> getUserTasks(String userId) {
         return taskRepository.findByAssigneeId(userId).stream()
-                .map(this::mapToResponse)
+                .map(TaskResponse::from)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<TaskResponse> getTasksByProject(String projectId, String cursor, Integer limit) {
+        return findPage("projectId", projectId, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<TaskResponse> getUserTasks(String userId, String cursor, Integer limit) {
+        return findPage("assigneeId", userId, cursor, limit);
+    }
+
+    private CursorPage<TaskResponse> findPage(String field, String value, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // un élément de plus que la page pour savoir s'il en reste
+        List<Task> tasks = taskRepository.findPage(field, value, KeysetCursor.decode(cursor), pageSize + 1);
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            Task last = tasks.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(tasks.stream().map(TaskResponse::from).collect(Collectors.toList()), nextCursor);
+    }
+
     @Override
     public TaskResponse updateTaskStatus(String taskId, TaskStatus newStatus) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        task.setStatus(newStatus);
-        return mapToResponse(taskRepository.save(task));
+        return updateTaskStatus(taskId, newStatus, null, false);
+    }
+
+    @Override
+    public TaskResponse updateTaskStatus(String taskId, TaskStatus newStatus, Long expectedVersion, boolean reopen) {
+        // Un seul findAndModify : la garde porte la règle de transition et, si fournie, la version attendue
+        TaskChanges changes = statusChanges(newStatus);
+        Task previous = taskRepository.updateIfMatches(taskId, guard(newStatus, reopen, expectedVersion), changes.update());
+        if (previous == null) {
+            throw explainRejectedUpdate(taskId, newStatus, expectedVersion);
+        }
+        Task current = changes.applyTo(previous);
+        eventPublisher.publishEvent(TaskChangedEvent.of(previous, current));
+        return TaskResponse.from(current);
+    }
+
+    private Criteria guard(TaskStatus newStatus, boolean reopen, Long expectedVersion) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (newStatus != null) {
+            conditions.add(Criteria.where("status").in(TaskStatus.allowedSources(newStatus, reopen)));
+        }
+        if (expectedVersion != null) {
+            conditions.add(Criteria.where("version").is(expectedVersion));
+        }
+        return conditions.isEmpty() ? null : new Criteria().andOperator(conditions);
+    }
+
+    // Chemin d'échec uniquement : relit la tâche pour distinguer 404 / conflit de version / transition interdite
+    private RuntimeException explainRejectedUpdate(String taskId, TaskStatus newStatus, Long expectedVersion) {
+        return rejection(taskRepository.findById(taskId).orElse(null), newStatus, expectedVersion);
+    }
+
+    private static RuntimeException rejection(Task current, TaskStatus newStatus, Long expectedVersion) {
+        if (current == null) {
+            return new RuntimeException("Task not found");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return new ConflictException("Task was modified concurrently (current version " + current.getVersion() + ")");
+        }
+        if (newStatus != null && current.getStatus() != null && !current.getStatus().canTransitionTo(newStatus, false)) {
+            return new ConflictException("Transition " + current.getStatus() + " -> " + newStatus + " requires reopen=true");
+        }
+        return new ConflictException("Task was modified concurrently, please retry");
+    }
+
+    private static Long nextVersion(Task previous) {
+        return previous.getVersion() == null ? 1L : previous.getVersion() + 1;
     }
 
     @Override
     public void deleteTask(String taskId) {
-        taskRepository.deleteById(taskId);
-    }
-
-    private TaskResponse mapToResponse(Task task){
-        return TaskResponse.builder()
-                .id(task.getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .status(task.getStatus())
-                .priority(task.getPriority())
-                .assigneeName(task.getAssigneeName())
-                .projectId(task.getProjectId())
+        Task previous = taskRepository.removeAndGet(taskId);
+        if (previous != null) {
+            eventPublisher.publishEvent(TaskChangedEvent.of(previous, null));
+        }
+    }
+
+    @Override
+    public TaskBatchResponse applyBatch(TaskBatchRequest request) {
+        List<TaskOperation> operations = request.getOperations() != null ? request.getOperations() : List.of();
+        if (operations.size() > batchMaxSize) {
+            throw new RuntimeException("Batch too large (max " + batchMaxSize + " operations)");
+        }
+
+        // 1 requête $in pour les tâches ciblées, 1 pour les noms des assignés
+        Set<String> taskIds = operations.stream()
+                .filter(op -> op.getOp() != null && op.getOp() != TaskOperation.Type.CREATE && op.getTaskId() != null)
+                .map(TaskOperation::getTaskId)
+                .collect(Collectors.toSet());
+        Map<String, Task> existing = taskIds.isEmpty() ? Map.of() : taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<String> assigneeIds = operations.stream()
+                .map(TaskOperation::getTask)
+                .filter(Objects::nonNull)
+                .map(TaskRequest::getAssignedId)
+                .filter(id -> id != null && !id.isEmpty())
+                .collect(Collectors.toSet());
+        Map<String, String> assigneeNames = assigneeIds.isEmpty() ? Map.of() : userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        List<TaskWrite> writes = new ArrayList<>();
+        List<BatchWrite> pending = new ArrayList<>();
+        Set<String> targeted = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperation operation = operations.get(i);
+            TaskOperationResult result = TaskOperationResult.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .taskId(operation.getTaskId())
+                    .build();
+            results.add(result);
+
+            String error = validate(operation, existing);
+            if (error != null) {
+                result.setStatus(error.equals("Task not found") ? "NOT_FOUND" : "INVALID");
+                result.setError(error);
+                continue;
+            }
+            // toutes les écritures partent ensemble, gardées sur la version lue : une seule par tâche
+            if (operation.getOp() != TaskOperation.Type.CREATE && !targeted.add(operation.getTaskId())) {
+                result.setStatus("INVALID");
+                result.setError("Task targeted more than once in this batch");
+                continue;
+            }
+            String conflict = checkTransition(operation, existing.get(operation.getTaskId()));
+            if (conflict != null) {
+                result.setStatus("CONFLICT");
+                result.setError(conflict);
+                continue;
+            }
+            Task read = existing.get(operation.getTaskId());
+            BatchWrite batchWrite = switch (operation.getOp()) {
+                case CREATE -> {
+                    Task task = buildTask(operation.getTask(), resolveAssigneeName(operation.getTask().getAssignedId(), assigneeNames));
+                    task.setId(new ObjectId().toHexString());
+                    result.setTaskId(task.getId());
+                    yield new BatchWrite(result, TaskWrite.insert(task), null, null, null);
+                }
+                case UPDATE -> {
+                    TaskRequest task = operation.getTask();
+                    TaskChanges changes = changesOf(task, assigneeNames);
+                    yield new BatchWrite(result,
+                            TaskWrite.update(operation.getTaskId(), changes.update(), guard(task.getStatus(), task.isReopen(), task.getVersion()),
+                                    read.getVersion()),
+                            changes, task.getStatus(), task.getVersion());
+                }
+                case STATUS -> {
+                    TaskChanges changes = statusChanges(operation.getStatus());
+                    yield new BatchWrite(result,
+                            TaskWrite.update(operation.getTaskId(), changes.update(), guard(operation.getStatus(), operation.isReopen(), null),
+                                    read.getVersion()),
+                            changes, operation.getStatus(), null);
+                }
+                case DELETE -> new BatchWrite(result, TaskWrite.delete(operation.getTaskId(), read.getVersion()), null, null, null);
+            };
+            writes.add(batchWrite.write());
+            pending.add(batchWrite);
+        }
+
+        // Un bulkWrite gardé sur la version lue : une écriture appliquée a trouvé exactement le document lu, d'où les
+        // événements ; une tâche modifiée ou supprimée entre-temps donne CONFLICT / NOT_FOUND d'après sa relecture
+        List<TaskWrite.Outcome> outcomes = taskRepository.bulkWrite(writes);
+        List<TaskChangedEvent.Change> applied = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            BatchWrite batchWrite = pending.get(i);
+            TaskOperationResult result = batchWrite.result();
+            TaskWrite.Outcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                result.setStatus("FAILED");
+                result.setError(outcome.error());
+            } else if (!outcome.applied()) {
+                RuntimeException rejection = rejection(outcome.current(), batchWrite.status(), batchWrite.expectedVersion());
+                result.setStatus(rejection instanceof ConflictException ? "CONFLICT" : "NOT_FOUND");
+                result.setError(rejection.getMessage());
+            } else {
+                result.setStatus("OK");
+                Task previous = existing.get(batchWrite.write().getTaskId());
+                applied.add(switch (batchWrite.write().getKind()) {
+                    case INSERT -> new TaskChangedEvent.Change(null, batchWrite.write().getTask());
+                    case UPDATE -> new TaskChangedEvent.Change(previous, batchWrite.changes().applyTo(previous));
+                    case DELETE -> new TaskChangedEvent.Change(previous, null);
+                });
+            }
+        }
+        if (!applied.isEmpty()) {
+            eventPublisher.publishEvent(new TaskChangedEvent(applied));
+        }
+        return new TaskBatchResponse(results);
+    }
+
+    private String validate(TaskOperation operation, Map<String, Task> existing) {
+        if (operation.getOp() == null) {
+            return "Missing op";
+        }
+        switch (operation.getOp()) {
+            case CREATE -> {
+                if (operation.getTask() == null || operation.getTask().getTitle() == null || operation.getTask().getTitle().isBlank()) {
+                    return "Missing task title";
+                }
+                return null;
+            }
+            case UPDATE -> {
+                if (operation.getTask() == null) {
+                    return "Missing task";
+                }
+            }
+            case STATUS -> {
+                if (operation.getStatus() == null) {
+                    return "Missing status";
+                }
+            }
+            case DELETE -> {
+            }
+        }
+        return existing.containsKey(operation.getTaskId()) ? null : "Task not found";
+    }
+
+    private String checkTransition(TaskOperation operation, Task current) {
+        if (current == null || current.getStatus() == null) {
+            return null;
+        }
+        TaskStatus target = operation.getOp() == TaskOperation.Type.STATUS ? operation.getStatus()
+                : operation.getOp() == TaskOperation.Type.UPDATE ? operation.getTask().getStatus() : null;
+        boolean reopen = operation.isReopen() || (operation.getTask() != null && operation.getTask().isReopen());
+        if (target != null && !current.getStatus().canTransitionTo(target, reopen)) {
+            return "Transition " + current.getStatus() + " -> " + target + " requires reopen=true";
+        }
+        Long expectedVersion = operation.getTask() != null ? operation.getTask().getVersion() : null;
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return "Task was modified concurrently (current version " + current.getVersion() + ")";
+        }
+        return null;
+    }
+
+    private Task buildTask(TaskRequest request, String assigneeName) {
+        return Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .projectId(request.getProjectId())
+                .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
+                .priority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM)
+                .assigneeId(request.getAssignedId())
+                .assigneeName(assigneeName)
+                .createdAt(LocalDateTime.now())
+                .completedAt(request.getStatus() == TaskStatus.DONE ? LocalDateTime.now() : null)
                 .build();
     }
+
+    // Écriture d'un lot en attente de son résultat ; status / expectedVersion servent à expliquer un refus
+    private record BatchWrite(TaskOperationResult result, TaskWrite write, TaskChanges changes,
+                              TaskStatus status, Long expectedVersion) {
+    }
+
+    // Modifications demandées, calculées une seule fois : le $set envoyé à MongoDB (+ incrément de version) et
+    // la même modification appliquée en mémoire au document d'avant renvoyé par MongoDB
+    private record TaskChanges(Update update, List<Consumer<Task>> setters) {
+
+        Task applyTo(Task previous) {
+            Task current = previous.toBuilder().version(nextVersion(previous)).build();
+            setters.forEach(setter -> setter.accept(current));
+            return current;
+        }
+    }
+
+    private TaskChanges changesOf(TaskRequest request, Map<String, String> assigneeNames) {
+        TaskChanges changes = new TaskChanges(new Update().inc("version", 1), new ArrayList<>());
+        if (request.getTitle() != null && !request.getTitle().isBlank()) {
+            String title = request.getTitle();
+            changes.update().set("title", title);
+            changes.setters().add(task -> task.setTitle(title));
+        }
+        if (request.getDescription() != null) {
+            String description = request.getDescription();
+            changes.update().set("description", description);
+            changes.setters().add(task -> task.setDescription(description));
+        }
+        if (request.getStatus() != null) {
+            addStatus(request.getStatus(), changes);
+        }
+        if (request.getPriority() != null) {
+            TaskPriority priority = request.getPriority();
+            changes.update().set("priority", priority);
+            changes.setters().add(task -> task.setPriority(priority));
+        }
+        if (request.getAssignedId() != null) {
+            String assigneeId = request.getAssignedId();
+            String assigneeName = resolveAssigneeName(assigneeId, assigneeNames);
+            changes.update().set("assigneeId", assigneeId).set("assigneeName", assigneeName);
+            changes.setters().add(task -> {
+                task.setAssigneeId(assigneeId);
+                task.setAssigneeName(assigneeName);
+            });
+        }
+        return changes;
+    }
+
+    private static TaskChanges statusChanges(TaskStatus status) {
+        TaskChanges changes = new TaskChanges(new Update().inc("version", 1), new ArrayList<>());
+        addStatus(status, changes);
+        return changes;
+    }
+
+    // Statut et completedAt : $min pose la date au premier passage à DONE sans écraser celle d'une tâche déjà
+    // terminée (elle n'existe que tant que la tâche est DONE) ; tout autre statut la retire
+    private static void addStatus(TaskStatus status, TaskChanges changes) {
+        changes.update().set("status", status);
+        if (status == TaskStatus.DONE) {
+            LocalDateTime now = LocalDateTime.now();
+            changes.update().min("completedAt", now);
+            changes.setters().add(task -> {
+                task.setStatus(status);
+                if (task.getCompletedAt() == null || task.getCompletedAt().isAfter(now)) {
+                    task.setCompletedAt(now);
+                }
+            });
+        } else {
+            changes.update().unset("completedAt");
+            changes.setters().add(task -> {
+                task.setStatus(status);
+                task.setCompletedAt(null);
+            });
+        }
+    }
+
+    private String resolveAssigneeName(String assigneeId, Map<String, String> assigneeNames) {
+        if (assigneeId == null || assigneeId.isEmpty()) {
+            return "Unassigned";
+        }
+        return assigneeNames.getOrDefault(assigneeId, "Unassigned");
+    }
 }
@@ -0,0 +1,118 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.AssigneeStatsResponse;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.AssigneeTaskCounter;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.AssigneeTaskCounterRepository;
+import com.backend.repository.UserRepository;
+import com.backend.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    private final AssigneeTaskCounterRepository counterRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public List<AssigneeStatsResponse> getAssigneeStats() {
+        Map<String, AssigneeTaskCounter> counters = counterRepository.findAll().stream()
+                .collect(Collectors.toMap(AssigneeTaskCounter::getAssigneeId, Function.identity()));
+        return userRepository.findAllSummaries().stream()
+                .map(user -> {
+                    AssigneeTaskCounter counter = counters.get(user.getId());
+                    return AssigneeStatsResponse.builder()
+                            .userId(user.getId())
+                            .userName(user.getName())
+                            .role(user.getRole() != null ? user.getRole().name() : null)
+                            .done(counter != null ? counter.getDone() : 0)
+                            .total(counter != null ? counter.getTotal() : 0)
+                            .projects(counter != null ? (int) counter.getProjects().values().stream().filter(count -> count > 0).count() : 0)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Premier passage peu après le démarrage : amorce aussi une collection vide
+    @Scheduled(initialDelayString = "${application.tasks.assignee-stats.reconcile.initial-delay-ms:15000}",
+            fixedDelayString = "${application.tasks.assignee-stats.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        try {
+            int corrected = reconcile();
+            if (corrected > 0) {
+                log.info("Compteurs de tâches recalés pour {} assignés", corrected);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Recalage des compteurs de tâches par assigné interrompu : {}", e.getMessage());
+        }
+    }
+
+    // Lit les compteurs stockés AVANT d'agréger : une écriture concurrente fait échouer la garde de replaceCounters
+    @Override
+    public int reconcile() {
+        Map<String, AssigneeTaskCounter> stored = byAssignee(counterRepository.findAll());
+        Map<String, AssigneeTaskCounter> actual = byAssignee(counterRepository.aggregateFromTasks());
+        Map<String, AssigneeTaskCounter> drifted = new HashMap<>();
+        actual.forEach((assigneeId, counter) -> {
+            if (!sameCounts(counter, stored.get(assigneeId))) {
+                drifted.put(assigneeId, counter);
+            }
+        });
+        // plus aucune tâche assignée : le compteur est supprimé
+        stored.keySet().stream()
+                .filter(assigneeId -> !actual.containsKey(assigneeId))
+                .forEach(assigneeId -> drifted.put(assigneeId, new AssigneeTaskCounter(assigneeId)));
+        return counterRepository.replaceCounters(stored, drifted);
+    }
+
+    // Retire la contribution de l'ancienne version de chaque tâche et ajoute celle de la nouvelle
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Map<String, AssigneeTaskCounter> deltas = new HashMap<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            accumulate(deltas, change.previous(), -1);
+            accumulate(deltas, change.current(), 1);
+        }
+        counterRepository.increment(deltas.values());
+    }
+
+    private static void accumulate(Map<String, AssigneeTaskCounter> deltas, Task task, long sign) {
+        if (task == null || task.getAssigneeId() == null || task.getAssigneeId().isEmpty()) {
+            return;
+        }
+        deltas.computeIfAbsent(task.getAssigneeId(), AssigneeTaskCounter::new)
+                .add(task.getProjectId(), task.getStatus() == TaskStatus.DONE, sign);
+    }
+
+    private static Map<String, AssigneeTaskCounter> byAssignee(List<AssigneeTaskCounter> counters) {
+        return counters.stream().collect(Collectors.toMap(AssigneeTaskCounter::getAssigneeId, Function.identity()));
+    }
+
+    // Les entrées de projet à 0 laissées par les $inc comptent comme absentes
+    private static boolean sameCounts(AssigneeTaskCounter counter, AssigneeTaskCounter stored) {
+        return stored != null
+                && counter.getTotal() == stored.getTotal()
+                && counter.getDone() == stored.getDone()
+                && nonZero(counter.getProjects()).equals(nonZero(stored.getProjects()));
+    }
+
+    private static Map<String, Long> nonZero(Map<String, Long> projects) {
+        return projects.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
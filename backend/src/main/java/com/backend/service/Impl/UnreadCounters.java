@@ -0,0 +1,244 @@
+package com.backend.service.Impl;
+
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.UnreadCounter;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.UnreadCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compteurs de messages non lus par utilisateur et par projet (collection "unread_counters").
+ * <p>
+ * Chaque message d'un projet ajoute 1 au compteur de chacun de ses membres (l'auteur excepté). Les ajouts sont
+ * cumulés en mémoire par utilisateur et par projet, puis appliqués toutes les flush-interval-ms en un seul
+ * bulkWrite de $inc : une rafale de messages coûte une écriture par membre, pas une par message et par membre.
+ * <p>
+ * Les positions de lecture envoyées par les clients sont elles aussi regroupées : seule la plus récente de
+ * chaque (utilisateur, projet) est écrite au vidage suivant, avec le nombre de messages qui la suivent
+ * (parcours d'index borné aux non lus). Une position plus ancienne que celle enregistrée est ignorée.
+ * <p>
+ * Les compteurs se lisent en un accès par _id. Ils sont indicatifs : un message compté juste avant la
+ * position de lecture peut l'être une fois de trop jusqu'à la lecture suivante, et les messages publiés
+ * avant le chargement de l'index des membres ne sont pas comptés.
+ */
+@Slf4j
+@Component
+public class UnreadCounters {
+
+    // Au-delà, le compteur reste à cette valeur jusqu'à la prochaine lecture
+    private static final int MAX_COUNTED = 10_000;
+
+    private final UnreadCounterRepository counterRepository;
+    private final MessageRepository messageRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    private final Timer flushTimer;
+    private final Counter readsReceived;
+    private final Counter readsWritten;
+
+    // userId -> projectId -> messages arrivés depuis le dernier vidage
+    private Map<String, Map<String, Long>> pendingIncrements = new HashMap<>();
+    // userId -> projectId -> position de lecture la plus récente reçue depuis le dernier vidage
+    private Map<String, Map<String, KeysetCursor>> pendingReads = new HashMap<>();
+
+    public UnreadCounters(UnreadCounterRepository counterRepository,
+                          MessageRepository messageRepository,
+                          ProjectMembershipIndex membershipIndex,
+                          MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.messageRepository = messageRepository;
+        this.membershipIndex = membershipIndex;
+        this.flushTimer = Timer.builder("messages.unread.flush").register(meterRegistry);
+        this.readsReceived = Counter.builder("messages.unread.reads").tag("stage", "received").register(meterRegistry);
+        this.readsWritten = Counter.builder("messages.unread.reads").tag("stage", "written").register(meterRegistry);
+        Gauge.builder("messages.unread.pending", this, UnreadCounters::pendingUsers).register(meterRegistry);
+    }
+
+    // Non lus de chaque projet de l'utilisateur, y compris ce qui n'est pas encore écrit
+    public Map<String, Long> countsOf(String userId) {
+        Set<String> projectIds = membershipIndex.projectIdsOf(userId);
+        UnreadCounter stored = counterRepository.findById(userId).orElseGet(() -> new UnreadCounter(userId));
+        Map<String, Long> increments;
+        Map<String, KeysetCursor> reads;
+        synchronized (this) {
+            increments = Map.copyOf(pendingIncrements.getOrDefault(userId, Map.of()));
+            reads = Map.copyOf(pendingReads.getOrDefault(userId, Map.of()));
+        }
+        Map<String, Long> counts = new TreeMap<>();
+        for (String projectId : projectIds) {
+            long count = reads.containsKey(projectId) ? 0 : stored.getProjects().getOrDefault(projectId, 0L);
+            counts.put(projectId, Math.max(0, count) + increments.getOrDefault(projectId, 0L));
+        }
+        return counts;
+    }
+
+    // L'utilisateur a lu le projet jusqu'au message position (inclus) ; écrit au prochain vidage
+    public void markRead(String userId, String projectId, KeysetCursor position) {
+        if (!membershipIndex.projectIdsOf(userId).contains(projectId)) {
+            throw new AccessDeniedException("Not a member of this project");
+        }
+        readsReceived.increment();
+        synchronized (this) {
+            pendingReads.computeIfAbsent(userId, id -> new HashMap<>())
+                    .merge(projectId, position, (current, next) -> next.compareTo(current) > 0 ? next : current);
+            // ce qui a été compté avant la position est couvert par la lecture
+            Map<String, Long> increments = pendingIncrements.get(userId);
+            if (increments != null) {
+                increments.remove(projectId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        Message message = event.getMessage();
+        if (message.getProjectId() == null) {
+            return;
+        }
+        Set<String> members = membershipIndex.membersOf(message.getProjectId());
+        if (members == null) {
+            log.debug("Index des membres pas encore chargé : message {} non compté", message.getId());
+            return;
+        }
+        synchronized (this) {
+            for (String userId : members) {
+                if (!userId.equals(message.getSenderId())) {
+                    pendingIncrements.computeIfAbsent(userId, id -> new HashMap<>())
+                            .merge(message.getProjectId(), 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getCurrent() == null) {
+            dropPending(event.getProjectId(), null);
+            counterRepository.forget(event.getProjectId(), null);
+        }
+    }
+
+    @EventListener
+    public void onMembersChanged(ProjectMembersChangedEvent event) {
+        if (!event.getRemoved().isEmpty()) {
+            dropPending(event.getProjectId(), event.getRemoved());
+            counterRepository.forget(event.getProjectId(), event.getRemoved());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.messages.unread.flush-interval-ms:250}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Écriture des compteurs de non lus interrompue : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    // Applique les ajouts puis les lectures accumulés ; en cas d'échec, ils sont remis en attente
+    public void flush() {
+        Map<String, Map<String, Long>> increments;
+        Map<String, Map<String, KeysetCursor>> reads;
+        synchronized (this) {
+            if (pendingIncrements.isEmpty() && pendingReads.isEmpty()) {
+                return;
+            }
+            increments = pendingIncrements;
+            reads = pendingReads;
+            pendingIncrements = new HashMap<>();
+            pendingReads = new HashMap<>();
+        }
+        flushTimer.record(() -> {
+            try {
+                counterRepository.increment(increments.entrySet().stream()
+                        .map(entry -> new UnreadCounter(entry.getKey(), entry.getValue(), Map.of()))
+                        .collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                restore(increments, reads);
+                throw e;
+            }
+            try {
+                writeReads(reads);
+            } catch (RuntimeException e) {
+                restore(Map.of(), reads);
+                throw e;
+            }
+        });
+    }
+
+    private void writeReads(Map<String, Map<String, KeysetCursor>> reads) {
+        if (reads.isEmpty()) {
+            return;
+        }
+        Map<String, UnreadCounter> stored = counterRepository.findAllById(reads.keySet()).stream()
+                .collect(Collectors.toMap(UnreadCounter::getUserId, Function.identity()));
+        Collection<UnreadCounter> updates = new ArrayList<>();
+        reads.forEach((userId, positions) -> {
+            UnreadCounter update = new UnreadCounter(userId);
+            UnreadCounter current = stored.get(userId);
+            positions.forEach((projectId, position) -> {
+                String previous = current != null ? current.getReadCursors().get(projectId) : null;
+                if (previous != null && KeysetCursor.decode(previous).compareTo(position) >= 0) {
+                    return;  // position déjà dépassée (autre onglet, requête en retard)
+                }
+                update.getProjects().put(projectId, messageRepository.countUnread(projectId, position, userId, MAX_COUNTED));
+                update.getReadCursors().put(projectId, position.encode());
+            });
+            if (!update.getReadCursors().isEmpty()) {
+                updates.add(update);
+            }
+        });
+        counterRepository.markRead(updates);
+        readsWritten.increment(updates.stream().mapToInt(update -> update.getReadCursors().size()).sum());
+    }
+
+    private synchronized void restore(Map<String, Map<String, Long>> increments, Map<String, Map<String, KeysetCursor>> reads) {
+        increments.forEach((userId, projects) -> projects.forEach((projectId, count) ->
+                pendingIncrements.computeIfAbsent(userId, id -> new HashMap<>()).merge(projectId, count, Long::sum)));
+        reads.forEach((userId, positions) -> positions.forEach((projectId, position) ->
+                pendingReads.computeIfAbsent(userId, id -> new HashMap<>())
+                        .merge(projectId, position, (current, next) -> next.compareTo(current) > 0 ? next : current)));
+    }
+
+    // Sans userIds : tous les utilisateurs
+    private synchronized void dropPending(String projectId, Collection<String> userIds) {
+        for (Map<String, ? extends Map<String, ?>> pending : List.of(pendingIncrements, pendingReads)) {
+            pending.forEach((userId, projects) -> {
+                if (userIds == null || userIds.contains(userId)) {
+                    projects.remove(projectId);
+                }
+            });
+        }
+    }
+
+    private synchronized double pendingUsers() {
+        return pendingIncrements.size() + pendingReads.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.service.Impl;
+
+import com.backend.dto.auth.RegisterRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture en flux d'un fichier d'import d'utilisateurs (tableau JSON ou CSV avec en-tête
+ * name,email,password,role) : une ligne à la fois, le fichier n'est jamais chargé entièrement.
+ */
+abstract class UserImportReader implements Closeable {
+
+    // Prochaine ligne, ou null en fin de fichier
+    abstract RegisterRequest next() throws IOException;
+
+    static UserImportReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of users");
+        }
+        return new UserImportReader() {
+            @Override
+            RegisterRequest next() throws IOException {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                return parser.readValueAs(RegisterRequest.class);
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+    }
+
+    static UserImportReader csv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IOException("Empty CSV file");
+        }
+        List<String> header = parseCsvLine(headerLine.replace("\uFEFF", ""));
+        int name = header.indexOf("name");
+        int email = header.indexOf("email");
+        int password = header.indexOf("password");
+        int role = header.indexOf("role");
+        if (email < 0 || password < 0) {
+            throw new IOException("CSV header must contain at least email and password");
+        }
+        return new UserImportReader() {
+            @Override
+            RegisterRequest next() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                List<String> fields = parseCsvLine(line);
+                return new RegisterRequest(field(fields, name), field(fields, email), field(fields, password), field(fields, role));
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    // Champs séparés par des virgules, guillemets doubles optionnels ("" pour un guillemet littéral)
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString().trim());
+        return fields;
+    }
+}
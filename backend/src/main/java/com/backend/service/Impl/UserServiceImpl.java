@@ -1,15 +1,27 @@
 package com.backend.service.Impl;
 
+import com.backend.dto.auth.BulkImportResponse;
+import com.backend.dto.auth.BulkImportRowResult;
+import com.backend.dto.auth.RegisterRequest;
 import com.backend.dto.auth.UserResponse;
+import com.backend.event.UsersCreatedEvent;
 import com.backend.model.User;
 import com.backend.model.enums.UserRole;
 import com.backend.repository.UserRepository;
+import com.backend.security.BoundedPasswordEncoder;
 import com.backend.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +29,12 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.users.import-batch-size:500}")
+    private int importBatchSize;
 
     @Override
     public List<UserResponse> getAllUsers() {
@@ -47,4 +65,134 @@ public class UserServiceImpl implements UserService {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public BulkImportResponse importUsers(InputStream content, boolean csv) {
+        List<BulkImportRowResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<RegisterRequest> batch = new ArrayList<>(importBatchSize);
+        List<BulkImportRowResult> batchRows = new ArrayList<>(importBatchSize);
+
+        try (UserImportReader reader = csv ? UserImportReader.csv(content) : UserImportReader.json(content, objectMapper)) {
+            int rowNumber = 0;
+            RegisterRequest request;
+            while ((request = reader.next()) != null) {
+                BulkImportRowResult row = BulkImportRowResult.builder()
+                        .row(++rowNumber)
+                        .email(request.getEmail() != null ? request.getEmail().trim() : null)
+                        .build();
+                results.add(row);
+
+                String error = validate(request);
+                if (error != null) {
+                    row.setStatus("INVALID");
+                    row.setError(error);
+                } else if (!seenEmails.add(row.getEmail())) {
+                    row.setStatus("DUPLICATE");
+                    row.setError("Email présent plusieurs fois dans le fichier");
+                } else {
+                    batch.add(request);
+                    batchRows.add(row);
+                    if (batch.size() >= importBatchSize) {
+                        importBatch(batch, batchRows);
+                    }
+                }
+            }
+            importBatch(batch, batchRows);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid import file: " + e.getMessage());
+        }
+
+        Map<String, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkImportRowResult::getStatus, Collectors.counting()));
+        return BulkImportResponse.builder()
+                .created(counts.getOrDefault("CREATED", 0L).intValue())
+                .duplicates(counts.getOrDefault("DUPLICATE", 0L).intValue())
+                .invalid(counts.getOrDefault("INVALID", 0L).intValue())
+                .failed(counts.getOrDefault("FAILED", 0L).intValue())
+                .rows(results)
+                .build();
+    }
+
+    // Un lot = un $in pour les doublons, un hachage parallèle, un bulkWrite non ordonné
+    private void importBatch(List<RegisterRequest> batch, List<BulkImportRowResult> batchRows) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existing = userRepository.findEmailsIn(batchRows.stream().map(BulkImportRowResult::getEmail).toList())
+                .stream()
+                .map(User::getEmail)
+                .collect(Collectors.toSet());
+
+        List<RegisterRequest> toCreate = new ArrayList<>();
+        List<BulkImportRowResult> toCreateRows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            BulkImportRowResult row = batchRows.get(i);
+            if (existing.contains(row.getEmail())) {
+                row.setStatus("DUPLICATE");
+                row.setError("Email déjà utilisé");
+            } else {
+                toCreate.add(batch.get(i));
+                toCreateRows.add(row);
+            }
+        }
+
+        List<String> hashes = encodeAll(toCreate.stream().map(RegisterRequest::getPassword).toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            RegisterRequest request = toCreate.get(i);
+            // id attribué ici : l'insertion en bulkWrite ne le reporte pas sur les entités
+            users.add(User.builder()
+                    .id(new ObjectId().toHexString())
+                    .name(request.getName())
+                    .email(toCreateRows.get(i).getEmail())
+                    .password(hashes.get(i))
+                    .role(UserRole.fromString(request.getRole()))
+                    .createdAt(now)
+                    .build());
+        }
+
+        Map<Integer, String> failures = userRepository.insertUnordered(users);
+        List<User> created = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            BulkImportRowResult row = toCreateRows.get(i);
+            String failure = failures.get(i);
+            if (failure == null) {
+                row.setStatus("CREATED");
+                row.setId(users.get(i).getId());
+                created.add(users.get(i));
+            } else {
+                row.setStatus("FAILED");
+                row.setError(failure);
+            }
+        }
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new UsersCreatedEvent(created));
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private List<String> encodeAll(List<String> rawPasswords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder boundedEncoder) {
+            return boundedEncoder.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private String validate(RegisterRequest request) {
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "Email manquant";
+        }
+        if (request.getPassword() == null || request.getPassword().isEmpty()) {
+            return "Mot de passe manquant";
+        }
+        try {
+            UserRole.fromString(request.getRole());
+        } catch (IllegalArgumentException e) {
+            return "Rôle inconnu : " + request.getRole();
+        }
+        return null;
+    }
 }
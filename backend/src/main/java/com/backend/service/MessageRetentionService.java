@@ -0,0 +1,7 @@
+package com.backend.service;
+
+public interface MessageRetentionService {
+    // Archive sur disque puis supprime de MongoDB les messages plus anciens que max-age-days ;
+    // renvoie le nombre de messages archivés
+    int archiveExpired();
+}
@@ -1,12 +1,17 @@
 package com.backend.service;
 
+import com.backend.dto.CursorWindow;
 import com.backend.dto.MessageRequest;
 import com.backend.dto.MessageResponse;
 
-import java.util.List;
+import java.util.Map;
 
 public interface MessageService {
     MessageResponse createMessage(String userId, String userName, String userRole, MessageRequest request);
-    List<MessageResponse> getAllMessages();
-    List<MessageResponse> getMessagesByProject(String projectId);
+    CursorWindow<MessageResponse> getAllMessages(String before, String after, Integer limit);
+    CursorWindow<MessageResponse> getMessagesByProject(String projectId, String before, String after, Integer limit);
+    // Non lus de chaque projet de l'utilisateur (projectId -> nombre), sans parcours des messages
+    Map<String, Long> getUnreadCounts(String userId);
+    // Position de lecture (curseur d'un message, ou le plus récent si null), regroupée avant écriture
+    void markRead(String userId, String projectId, String cursor);
 }
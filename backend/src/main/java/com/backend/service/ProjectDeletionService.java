@@ -0,0 +1,7 @@
+package com.backend.service;
+
+public interface ProjectDeletionService {
+    // Supprime un lot de tâches ou de messages du plus ancien projet en cours de suppression,
+    // puis le projet lui-même une fois vide ; renvoie le nombre de documents supprimés
+    int purgeNextBatch();
+}
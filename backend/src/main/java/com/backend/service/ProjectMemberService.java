@@ -0,0 +1,10 @@
+package com.backend.service;
+
+import com.backend.dto.TeamMembershipRequest;
+import com.backend.dto.TeamMembershipResponse;
+
+public interface ProjectMemberService {
+    TeamMembershipResponse addMember(String projectId, String userId);
+    TeamMembershipResponse removeMember(String projectId, String userId);
+    TeamMembershipResponse updateMembers(String projectId, TeamMembershipRequest request);
+}
@@ -0,0 +1,6 @@
+package com.backend.service;
+
+public interface ProjectProgressService {
+    // Recompte les tâches de chaque projet et corrige les compteurs qui ont dérivé ; renvoie le nombre de projets corrigés
+    int repair();
+}
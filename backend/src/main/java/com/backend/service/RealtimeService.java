@@ -0,0 +1,9 @@
+package com.backend.service;
+
+import com.backend.security.AuthenticatedPrincipal;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RealtimeService {
+    SseEmitter subscribe(AuthenticatedPrincipal user, String projectId);
+    int subscriberCount();
+}
@@ -0,0 +1,11 @@
+package com.backend.service;
+
+import com.backend.dto.SearchResult;
+import com.backend.security.AuthenticatedPrincipal;
+
+import java.util.List;
+
+public interface SearchService {
+    // Recherche plein texte sur les tâches, projets et messages visibles par l'utilisateur
+    List<SearchResult> search(String query, AuthenticatedPrincipal user, Integer limit);
+}
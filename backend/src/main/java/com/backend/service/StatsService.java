@@ -0,0 +1,11 @@
+package com.backend.service;
+
+import com.backend.dto.StatsResponse;
+
+public interface StatsService {
+    // Compteurs globaux lus en mémoire, sans requête MongoDB
+    StatsResponse getStats();
+
+    // Recale les compteurs sur des comptages exacts ; renvoie le nombre de compteurs corrigés
+    int reconcile();
+}
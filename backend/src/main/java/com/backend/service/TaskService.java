@@ -1,5 +1,8 @@
 package com.backend.service;
 
+import com.backend.dto.CursorPage;
+import com.backend.dto.TaskBatchRequest;
+import com.backend.dto.TaskBatchResponse;
 import com.backend.dto.TaskRequest;
 import com.backend.dto.TaskResponse;
 import com.backend.model.Task;
@@ -12,6 +15,10 @@ public interface TaskService {
     TaskResponse updateTask(String taskId, TaskRequest request);
     List<TaskResponse> getTasksByProject(String projectId);
     List<TaskResponse> getUserTasks(String userId);
+    CursorPage<TaskResponse> getTasksByProject(String projectId, String cursor, Integer limit);
+    CursorPage<TaskResponse> getUserTasks(String userId, String cursor, Integer limit);
     TaskResponse updateTaskStatus(String taskId, TaskStatus newStatus);
+    TaskResponse updateTaskStatus(String taskId, TaskStatus newStatus, Long expectedVersion, boolean reopen);
     void deleteTask(String taskId);
+    TaskBatchResponse applyBatch(TaskBatchRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.backend.service;
+
+import com.backend.dto.AssigneeStatsResponse;
+
+import java.util.List;
+
+public interface TaskStatsService {
+    // Compteurs done / total de chaque utilisateur (0 pour ceux sans tâche), en deux lectures
+    List<AssigneeStatsResponse> getAssigneeStats();
+
+    // Recale les compteurs sur une agrégation de "tasks" ; renvoie le nombre d'assignés corrigés
+    int reconcile();
+}
@@ -1,10 +1,13 @@
 package com.backend.service;
 
+import com.backend.dto.auth.BulkImportResponse;
 import com.backend.dto.auth.UserResponse;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface UserService {
     List<UserResponse> getAllUsers();
     List<UserResponse> getManagersAndAdmins();
+    BulkImportResponse importUsers(InputStream content, boolean csv);
 }
@@ -0,0 +1,82 @@
+package com.backend.benchmark;
+
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.security.Impl.JwtServiceImpl;
+import com.backend.security.JwtAuthenticationFilter;
+import com.backend.security.TestJwtServices;
+import com.backend.security.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Requêtes/seconde passant par JwtAuthenticationFilter selon le mode d'authentification.
+ * Le findByEmail Mongo est simulé par une attente de dbLatencyMicros (aller-retour réseau).
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main AuthModeBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthModeBenchmark {
+
+    private static final String SECRET = "bmV4YWJvYXJkLWJlbmNobWFyay1zZWNyZXQta2V5LTMyLWJ5dGVzIQ==";
+    private static final String COOKIE = TestJwtServices.COOKIE_NAME;
+
+    // database : sans cache principal ; database-cached : cache principal actif ; claims : aucun accès base
+    @Param({"database", "database-cached", "claims"})
+    public String mode;
+
+    @Param({"300"})
+    public long dbLatencyMicros;
+
+    private JwtAuthenticationFilter filter;
+    private UserDetailsCache cache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        User user = User.builder().id("1").email("bench@nexaboard.io").name("Bench").role(UserRole.Member).build();
+
+        JwtServiceImpl jwtService = TestJwtServices.create(SECRET, 3_600_000L);
+        token = jwtService.generateToken(user);
+
+        UserDetailsService mongoLookup = email -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+            return user;
+        };
+        cache = new UserDetailsCache(mongoLookup, new SimpleMeterRegistry(), 10_000L, 300);
+
+        filter = new JwtAuthenticationFilter(jwtService, cache);
+        ReflectionTestUtils.setField(filter, "authMode", "claims".equals(mode) ? "claims" : "database");
+    }
+
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        if ("database".equals(mode)) {
+            cache.evictAll();
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.setCookies(new Cookie(COOKIE, token));
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
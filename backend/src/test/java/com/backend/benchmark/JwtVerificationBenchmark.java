@@ -0,0 +1,65 @@
+package com.backend.benchmark;
+
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.security.Impl.JwtServiceImpl;
+import com.backend.security.TestJwtServices;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'authentification d'une requête dans JwtAuthenticationFilter
+ * (extractUserName puis isTokenValid) : ancien chemin vs cache de tokens vérifiés.
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main JwtVerificationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "bmV4YWJvYXJkLWJlbmNobWFyay1zZWNyZXQta2V5LTMyLWJ5dGVzIQ==";
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = TestJwtServices.create(SECRET, 3_600_000L);
+
+        user = User.builder().id("1").email("bench@nexaboard.io").name("Bench").role(UserRole.Member).build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean previousPath() {
+        // Reproduit l'implémentation d'origine : 3 parsings, clé et parser reconstruits à chaque fois
+        String userName = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(user.getUsername())
+                && userName != null
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedPath() {
+        String userName = jwtService.extractUserName(token);
+        return userName != null && jwtService.isTokenValid(token, user);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+}
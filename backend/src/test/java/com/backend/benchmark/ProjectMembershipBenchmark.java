@@ -0,0 +1,103 @@
+package com.backend.benchmark;
+
+import com.backend.event.ProjectChangedEvent;
+import com.backend.model.Project;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Résolution de "mes projets" pour un utilisateur présent dans 600 projets (20 000 projets, 2 000 utilisateurs) :
+ * fusion d'origine des deux listes (findByManagerId + findByTeamIdsContaining, dédoublonnage par anyMatch)
+ * vs lecture de l'index des membres. Les allers-retours MongoDB ne sont pas mesurés : l'ancien chemin en
+ * faisait deux, le nouveau un seul (par _id).
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main ProjectMembershipBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectMembershipBenchmark {
+
+    private static final int PROJECTS = 20_000;
+    private static final int USERS = 2_000;
+    private static final String HEAVY_USER = "heavy";
+
+    private List<Project> managerProjects;
+    private List<Project> teamProjects;
+    private ProjectMembershipIndex membershipIndex;
+    private Project updated;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        managerProjects = new ArrayList<>();
+        teamProjects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            List<String> team = new ArrayList<>();
+            for (int j = 0; j < 8; j++) {
+                team.add("u" + random.nextInt(USERS));
+            }
+            String managerId = "u" + random.nextInt(USERS);
+            // l'utilisateur suivi manage 200 projets et appartient à l'équipe de 500 (dont 100 qu'il manage)
+            if (i < 200) {
+                managerId = HEAVY_USER;
+            }
+            if (i >= 100 && i < 600) {
+                team.add(HEAVY_USER);
+            }
+            Project project = Project.builder().id("p" + i).name("Project " + i).managerId(managerId).teamIds(team).build();
+            projects.add(project);
+            if (HEAVY_USER.equals(managerId)) {
+                managerProjects.add(project);
+            }
+            if (team.contains(HEAVY_USER)) {
+                teamProjects.add(project);
+            }
+        }
+        ProjectRepository repository = Mockito.mock(ProjectRepository.class);
+        Mockito.when(repository.streamAllMemberships()).thenAnswer(invocation -> projects.stream());
+        ProjectMemberRepository memberRepository = Mockito.mock(ProjectMemberRepository.class);
+        Mockito.when(memberRepository.streamAllMemberships()).thenAnswer(invocation -> Stream.empty());
+        membershipIndex = new ProjectMembershipIndex(repository, memberRepository);
+        membershipIndex.load();
+        updated = projects.get(150);
+    }
+
+    @Benchmark
+    public List<Project> previousMerge() {
+        List<Project> allProjects = new ArrayList<>(managerProjects);
+        for (Project project : teamProjects) {
+            boolean exists = allProjects.stream()
+                    .anyMatch(p -> p.getId().equals(project.getId()));
+            if (!exists) {
+                allProjects.add(project);
+            }
+        }
+        return allProjects;
+    }
+
+    @Benchmark
+    public Set<String> membershipIndex() {
+        return membershipIndex.projectIdsOf(HEAVY_USER);
+    }
+
+    @Benchmark
+    public void projectWrite() {
+        membershipIndex.onProjectChanged(new ProjectChangedEvent(updated.getId(), updated));
+    }
+}
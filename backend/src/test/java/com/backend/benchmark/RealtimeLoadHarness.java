@@ -0,0 +1,203 @@
+package com.backend.benchmark;
+
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Task;
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import com.backend.service.Impl.RealtimeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge du flux SSE : N connexions inactives ouvertes par un processus client séparé sur un serveur
+ * Tomcat + Spring MVC réduit au StreamController (sans MongoDB ni sécurité), puis un événement par projet.
+ * Affiche le tas retenu par connexion côté serveur (Tomcat, requête asynchrone, SseEmitter, file de l'abonné),
+ * le nombre de threads et la durée de la diffusion. La mémoire noyau des sockets n'est pas comptée.
+ * Le processus a besoin d'environ N descripteurs de fichiers (ulimit -n).
+ * <p>
+ * Avec 10 000 connexions : ~103 Ko par connexion, ~1 Go au total, presque entièrement les tampons de la
+ * requête et de la réponse Tomcat gardées ouvertes (l'abonné lui-même, file comprise, pèse moins d'1 Ko).
+ * Le hub n'ajoute que sender-threads threads ; les threads Tomcat supplémentaires viennent de la rafale
+ * d'ouvertures et redescendent au repos.
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-Xmx2g -cp %classpath com.backend.benchmark.RealtimeLoadHarness 10000"
+ */
+public class RealtimeLoadHarness {
+
+    private static final int PROJECTS = 100;
+    private static final User ADMIN = User.builder().id("admin").role(UserRole.Admin).build();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("client")) {
+            runClient(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Server.class)
+                .properties("server.port=0",
+                        "server.tomcat.max-connections=" + (connections + 100),
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=error")
+                .run();
+        RealtimeServiceImpl realtimeService = context.getBean(RealtimeServiceImpl.class);
+        SimpleMeterRegistry meterRegistry = context.getBean(SimpleMeterRegistry.class);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        // Préchauffage : initialise Spring MVC et les chemins de code avant la mesure de référence
+        Process warmup = startClient(port, 10);
+        awaitSubscribers(realtimeService, 10);
+        warmup.destroy();
+        warmup.waitFor();
+        // Une connexion fermée par le client n'est détectée qu'à l'écriture suivante (heartbeat)
+        while (realtimeService.subscriberCount() > 0) {
+            realtimeService.heartbeat();
+            Thread.sleep(100);
+        }
+        long baseline = usedHeap();
+        int baselineThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        long start = System.nanoTime();
+        Process client = startClient(port, connections);
+        awaitSubscribers(realtimeService, connections);
+        long connectMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long loaded = usedHeap();
+        int loadedThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        double sentBefore = meterRegistry.counter("realtime.events.sent").count();
+        start = System.nanoTime();
+        for (int p = 0; p < PROJECTS; p++) {
+            Task task = Task.builder().id("t" + p).projectId("p" + p).title("Load test").version(1L).build();
+            realtimeService.onTaskChanged(TaskChangedEvent.of(null, task));
+        }
+        while (meterRegistry.counter("realtime.events.sent").count() - sentBefore < connections) {
+            Thread.sleep(1);
+        }
+        long fanOutMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("connections            %d (opened in %d ms)%n", connections, connectMs);
+        System.out.printf("heap retained          %.1f MB%n", (loaded - baseline) / 1024.0 / 1024.0);
+        System.out.printf("heap per connection    %.1f KB%n", (loaded - baseline) / 1024.0 / connections);
+        System.out.printf("threads                %d idle -> %d with all connections%n", baselineThreads, loadedThreads);
+        System.out.printf("fan-out                %d events to %d subscribers in %d ms%n", PROJECTS, connections, fanOutMs);
+
+        client.destroy();
+        client.waitFor();
+        context.close();
+    }
+
+    private static Process startClient(int port, int connections) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                RealtimeLoadHarness.class.getName(), "client", Integer.toString(port), Integer.toString(connections))
+                .inheritIO()
+                .start();
+    }
+
+    // Ouvre les connexions et ne lit jamais la réponse : abonnés inactifs, jusqu'à la fin du processus
+    private static void runClient(int port, int connections) throws Exception {
+        List<SocketChannel> channels = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+            String request = "GET /api/stream?projectId=p" + (i % PROJECTS) + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n";
+            channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)));
+            channels.add(channel);
+        }
+        Thread.sleep(Long.MAX_VALUE);
+    }
+
+    private static void awaitSubscribers(RealtimeServiceImpl realtimeService, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (realtimeService.subscriberCount() != expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(realtimeService.subscriberCount() + " subscribers, expected " + expected);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    static class Server {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RealtimeServiceImpl realtimeService(ObjectMapper objectMapper, SimpleMeterRegistry meterRegistry) {
+            return new RealtimeServiceImpl(objectMapper, Mockito.mock(ProjectMembershipIndex.class), meterRegistry,
+                    64, 2, Integer.MAX_VALUE, 0);
+        }
+
+        @Bean
+        StreamEndpoint streamEndpoint(RealtimeServiceImpl realtimeService) {
+            return new StreamEndpoint(realtimeService);
+        }
+    }
+
+    // Équivalent de StreamController, sans SecurityContext
+    @RestController
+    static class StreamEndpoint {
+
+        private final RealtimeServiceImpl realtimeService;
+
+        StreamEndpoint(RealtimeServiceImpl realtimeService) {
+            this.realtimeService = realtimeService;
+        }
+
+        @GetMapping(value = "/api/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        SseEmitter subscribe(@RequestParam String projectId) {
+            return realtimeService.subscribe(ADMIN, projectId);
+        }
+    }
+}
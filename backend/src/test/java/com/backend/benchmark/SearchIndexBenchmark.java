@@ -0,0 +1,96 @@
+package com.backend.benchmark;
+
+import com.backend.search.SearchDocument;
+import com.backend.search.SearchHit;
+import com.backend.search.SearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence d'une recherche sur 1 000 000 de documents (tâches, projets, messages) au vocabulaire
+ * de distribution zipfienne : requête de deux mots dont le dernier est un préfixe, avec et sans filtre de projets.
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main SearchIndexBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int DOCUMENTS = 1_000_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int PROJECTS = 5_000;
+
+    private SearchIndex index;
+    private String[] words;
+    private Set<String> memberProjects;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(random);
+        }
+        index = new SearchIndex();
+        SearchDocument.Type[] types = SearchDocument.Type.values();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String projectId = "p" + random.nextInt(PROJECTS);
+            index.upsert(new SearchDocument(types[i % types.length], "d" + i, projectId,
+                    sentence(random, 4), sentence(random, 20)));
+        }
+        memberProjects = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            memberProjects.add("p" + random.nextInt(PROJECTS));
+        }
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            String last = zipf(random);
+            queries[i] = zipf(random) + " " + last.substring(0, Math.min(last.length(), 3));
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> unfiltered() {
+        return index.search(queries[next++ & 255], null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> memberOf50Projects() {
+        return index.search(queries[next++ & 255], memberProjects, 20);
+    }
+
+    private String sentence(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(zipf(random)).append(' ');
+        }
+        return builder.toString();
+    }
+
+    // rang ~ 1/x : quelques mots très fréquents, une longue traîne de mots rares
+    private String zipf(Random random) {
+        int rank = (int) Math.floor(Math.pow(VOCABULARY, random.nextDouble())) - 1;
+        return words[Math.min(rank, VOCABULARY - 1)];
+    }
+
+    private static String word(Random random) {
+        int length = 4 + random.nextInt(6);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,83 @@
+package com.backend.config;
+
+import com.backend.event.UsersCreatedEvent;
+import com.backend.service.Impl.ResourceVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConditionalGetInterceptorTest {
+
+    private ResourceVersions resourceVersions;
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        resourceVersions = new ResourceVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConditionalGetInterceptor(resourceVersions, meterRegistry);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedUntilCollectionChanges() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("/api/users", null), first, null));
+        String etag = first.getHeader("ETag");
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(get("/api/users", etag), second, null));
+        assertEquals(304, second.getStatus());
+
+        resourceVersions.onUsersCreated(new UsersCreatedEvent(List.of()));
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("/api/users", etag), third, null));
+        assertNotEquals(etag, third.getHeader("ETag"));
+
+        assertEquals(1.0, meterRegistry.get("http.conditional.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("http.conditional.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldVersionTasksPerProject() {
+        MockHttpServletRequest request = get("/api/tasks/project/{projectId}", null);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("projectId", "p1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        String etag = response.getHeader("ETag");
+
+        resourceVersions.bump(ResourceVersions.ofProject(ResourceVersions.TASKS, "p2"));
+
+        MockHttpServletRequest again = get("/api/tasks/project/{projectId}", etag);
+        again.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("projectId", "p1"));
+        assertFalse(interceptor.preHandle(again, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void shouldIgnoreOtherEndpoints() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("/api/stats", null), response, null));
+        assertNull(response.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest get(String pattern, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,125 @@
+package com.backend.repository;
+
+import com.backend.exception.GlobalExceptionHandler;
+import com.backend.model.Task;
+import com.backend.repository.Impl.TaskRepositoryCustomImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetCursorTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+    private static final String LOW_ID = "65e1f0a0a0a0a0a0a0a0a0a1";
+    private static final String HIGH_ID = "65e1f0a0a0a0a0a0a0a0a0a2";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void shouldDecodeWhatItEncodes() {
+        KeysetCursor cursor = new KeysetCursor(AT, LOW_ID);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(AT, decoded.getCreatedAt());
+        assertEquals(LOW_ID, decoded.getId());
+        // opaque et utilisable tel quel dans une URL
+        assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"));
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void shouldRejectAnInvalidOrTamperedCursorWithABadRequest() {
+        String valid = new KeysetCursor(AT, LOW_ID).encode();
+        List<String> invalid = List.of(
+                "not a cursor!",
+                valid.substring(0, valid.length() - 3) + "$$$",
+                encoded("2024-13-45T99:00|" + LOW_ID),
+                encoded("no-separator"));
+
+        for (String cursor : invalid) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> KeysetCursor.decode(cursor), cursor);
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    new GlobalExceptionHandler().handleRuntimeException(e).getStatusCode(), cursor);
+        }
+    }
+
+    @Test
+    void shouldBreakTiesOnEqualDatesById() {
+        KeysetCursor low = new KeysetCursor(AT, LOW_ID);
+        KeysetCursor high = new KeysetCursor(AT, HIGH_ID);
+
+        assertTrue(low.compareTo(high) < 0);
+        assertTrue(high.compareTo(low) > 0);
+        assertEquals(0, low.compareTo(new KeysetCursor(AT, LOW_ID)));
+        // la date prime sur l'id
+        assertTrue(new KeysetCursor(AT.minusNanos(1_000_000), HIGH_ID).compareTo(low) < 0);
+    }
+
+    @Test
+    void shouldExcludeTheCursorItselfOnBothSides() {
+        KeysetCursor cursor = new KeysetCursor(AT, LOW_ID);
+
+        // strictement après : date plus récente, ou même date et _id plus grand
+        assertEquals(List.of(
+                        new Document("createdAt", new Document("$gt", AT)),
+                        new Document("createdAt", AT).append("_id", new Document("$gt", new ObjectId(LOW_ID)))),
+                cursor.after().getCriteriaObject().get("$or"));
+        assertEquals(List.of(
+                        new Document("createdAt", new Document("$lt", AT)),
+                        new Document("createdAt", AT).append("_id", new Document("$lt", new ObjectId(LOW_ID)))),
+                cursor.before().getCriteriaObject().get("$or"));
+    }
+
+    @Test
+    void shouldResumeTheTaskPageAfterTheCursorInCreationOrder() {
+        TaskRepositoryCustomImpl repository = new TaskRepositoryCustomImpl(mongoTemplate);
+
+        repository.findPage("projectId", "p1", new KeysetCursor(AT, LOW_ID), 21);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Task.class));
+        assertEquals(new Document("$and", List.of(
+                        new Document("projectId", "p1"),
+                        new KeysetCursor(AT, LOW_ID).after().getCriteriaObject())),
+                query.getValue().getQueryObject());
+        assertEquals(new Document("createdAt", 1).append("_id", 1), query.getValue().getSortObject());
+        assertEquals(21, query.getValue().getLimit());
+    }
+
+    @Test
+    void shouldStartTheTaskPageAtTheBeginningWithoutCursor() {
+        new TaskRepositoryCustomImpl(mongoTemplate).findPage("assigneeId", "u1", null, 5);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), any());
+        assertEquals(new Document("assigneeId", "u1"), query.getValue().getQueryObject());
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
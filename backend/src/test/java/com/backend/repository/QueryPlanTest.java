@@ -0,0 +1,178 @@
+package com.backend.repository;
+
+import com.backend.config.IndexReconciler;
+import com.backend.model.enums.UserRole;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Passe chaque requête dérivée des repositories dans explain() et échoue si le plan retenu
+ * contient un COLLSCAN ou un SORT en mémoire. Les index sont créés par IndexReconciler, comme au démarrage.
+ * Ignoré si aucun MongoDB n'écoute sur localhost:27017.
+ */
+@DataMongoTest
+@Import({IndexReconciler.class, QueryPlanTest.CommandCapture.class})
+@EnabledIf("com.backend.repository.QueryPlanTest#mongoReachable")
+class QueryPlanTest {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexReconciler indexReconciler;
+
+    @Autowired
+    private CommandCapture capture;
+
+    private static boolean indexesReady;
+
+    static boolean mongoReachable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", 27017), 500);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!indexesReady) {
+            indexReconciler.reconcile();
+            indexesReady = true;
+        }
+        capture.commands.clear();
+    }
+
+    @Test
+    void taskQueriesUseIndexes() {
+        assertIndexed(() -> taskRepository.findByProjectId("p1"));
+        assertIndexed(() -> taskRepository.findByAssigneeId("u1"));
+    }
+
+    @Test
+    void messageQueriesUseIndexes() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), new ObjectId().toHexString());
+        assertIndexed(() -> messageRepository.findWindow(null, null, null, 51));
+        assertIndexed(() -> messageRepository.findWindow("p1", null, null, 51));
+        assertIndexed(() -> messageRepository.findWindow("p1", cursor, null, 51));
+        assertIndexed(() -> messageRepository.findWindow("p1", null, cursor, 51));
+        assertIndexed(() -> messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(LocalDateTime.now(), Set.of("p1")));
+        assertIndexed(() -> messageRepository.findExpired("p1", LocalDateTime.now(), 1000));
+        assertIndexed(() -> messageRepository.findExpired(null, LocalDateTime.now(), 1000));
+        assertIndexed(() -> messageRepository.countUnread("p1", cursor, "u1", 10000));
+        assertIndexed(() -> messageRepository.countUnread("p1", null, "u1", 10000));
+    }
+
+    @Test
+    void projectQueriesUseIndexes() {
+        assertIndexed(() -> projectRepository.findByManagerId("u1"));
+        assertIndexed(() -> projectRepository.findByTeamIdsContaining("u1"));
+        assertIndexed(() -> projectRepository.findByMember("u1"));
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertIndexed(() -> userRepository.findByEmail("a@test.com"));
+        assertIndexed(() -> userRepository.existsByEmail("a@test.com"));
+        assertIndexed(() -> userRepository.findByRole(UserRole.Manager));
+        assertIndexed(() -> userRepository.findEmailsIn(List.of("a@test.com", "b@test.com")));
+    }
+
+    private void assertIndexed(Runnable query) {
+        capture.commands.clear();
+        query.run();
+        assertThat(capture.commands).as("commande capturée").isNotEmpty();
+        for (Document command : capture.commands) {
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", command).append("verbosity", "queryPlanner"));
+            Object winningPlan = ((Document) explain.get("queryPlanner")).get("winningPlan");
+            List<String> stages = new ArrayList<>();
+            collectStages(winningPlan, stages);
+            assertThat(stages)
+                    .as("plan de %s", command.toJson())
+                    .doesNotContainAnyElementsOf(FORBIDDEN_STAGES);
+        }
+        capture.commands.clear();
+    }
+
+    // Parcourt le plan (inputStage, inputStages, queryPlan...) et relève tous les "stage"
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof Collection<?> children) {
+            children.forEach(child -> collectStages(child, stages));
+        } else if (node instanceof Map<?, ?> map) {
+            map.values().forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    @TestConfiguration
+    static class CommandCapture implements CommandListener {
+
+        final List<Document> commands = new CopyOnWriteArrayList<>();
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCaptureCustomizer() {
+            return settings -> settings.addCommandListener(this);
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (!QUERY_COMMANDS.contains(event.getCommandName())) {
+                return;
+            }
+            BsonDocument command = event.getCommand();
+            Document copy = new DocumentCodec().decode(new BsonDocumentReader(command), DecoderContext.builder().build());
+            // champs de session / routage que explain refuse
+            copy.keySet().removeIf(key -> key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber"));
+            commands.add(copy);
+        }
+    }
+}
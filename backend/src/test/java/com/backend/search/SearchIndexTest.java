@@ -0,0 +1,61 @@
+package com.backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRankTitleMatchesFirstAndCompleteLastWord() {
+        SearchIndex index = new SearchIndex();
+        index.upsert(new SearchDocument(SearchDocument.Type.TASK, "t1", "p1", "Préparer la démo client", "slides"));
+        index.upsert(new SearchDocument(SearchDocument.Type.TASK, "t2", "p1", "Corriger le login", "avant la démo"));
+        index.upsert(new SearchDocument(SearchDocument.Type.MESSAGE, "m1", "p2", null, "Réunion sur le budget"));
+
+        List<SearchHit> hits = index.search("demo", null, 10);
+        assertEquals(List.of("t1", "t2"), hits.stream().map(SearchHit::id).toList());
+
+        // "reun" est complété en "reunion" (accents ignorés)
+        assertEquals("m1", index.search("reun", null, 10).get(0).id());
+    }
+
+    @Test
+    void shouldFilterByProjectAndForgetRemovedDocuments() {
+        SearchIndex index = new SearchIndex();
+        index.upsert(new SearchDocument(SearchDocument.Type.TASK, "t1", "p1", "Budget 2026", null));
+        index.upsert(new SearchDocument(SearchDocument.Type.TASK, "t2", "p2", "Budget 2025", null));
+        index.upsert(new SearchDocument(SearchDocument.Type.MESSAGE, "m1", null, null, "budget global"));
+
+        assertEquals(Set.of("t1", "m1"), Set.copyOf(index.search("budget", Set.of("p1"), 10).stream().map(SearchHit::id).toList()));
+
+        index.remove(SearchDocument.Type.TASK, "t1");
+        index.upsert(new SearchDocument(SearchDocument.Type.MESSAGE, "m1", null, null, "planning"));
+        assertEquals(List.of("t2"), index.search("budget", null, 10).stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    void shouldRestoreFromSnapshot() throws Exception {
+        SearchIndex index = new SearchIndex();
+        index.upsert(new SearchDocument(SearchDocument.Type.PROJECT, "p1", "p1", "Refonte du site", "Nouvelle charte"));
+        index.upsert(new SearchDocument(SearchDocument.Type.TASK, "t1", "p1", "Maquettes", "charte graphique"));
+        index.remove(SearchDocument.Type.TASK, "t1");
+        Path file = tempDir.resolve("search.bin");
+
+        index.writeSnapshot(file);
+        SearchIndex restored = SearchIndex.readSnapshot(file);
+
+        assertEquals(1, restored.size());
+        List<SearchHit> hits = restored.search("charte", Set.of("p1"), 10);
+        assertEquals(1, hits.size());
+        assertEquals("Refonte du site", hits.get(0).title());
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void shouldKeepHalfThePoolFreeForLoginsDuringBulkEncoding() throws Exception {
+        // Given : un encodeur lent qui mesure le parallélisme atteint
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash-" + rawPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 4, 64, new SimpleMeterRegistry());
+
+        // When
+        List<String> hashes = encoder.encodeAll(Collections.nCopies(12, "secret"));
+
+        // Then : l'ordre est conservé et le lot n'a jamais pris plus de 2 threads sur 4
+        assertEquals(Collections.nCopies(12, "hash-secret"), hashes);
+        assertTrue(peak.get() <= 2, "peak=" + peak.get());
+        assertTrue(encoder.matches("secret", "hash-secret"));
+        encoder.destroy();
+    }
+}
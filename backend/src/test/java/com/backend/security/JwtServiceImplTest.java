@@ -0,0 +1,65 @@
+package com.backend.security;
+
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.security.Impl.JwtServiceImpl;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = "bmV4YWJvYXJkLXRlc3Qtc2VjcmV0LWtleS0zMi1ieXRlcy1sb25nIQ==";
+
+    private JwtServiceImpl jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = TestJwtServices.create(SECRET, 60_000L);
+
+        user = User.builder().id("1").email("hajar@test.com").name("hajar").role(UserRole.Member).build();
+    }
+
+    @Test
+    void shouldValidateTokenFromCacheOnSecondCall() {
+        // Given
+        String token = jwtService.generateToken(user);
+
+        // When
+        String userName = jwtService.extractUserName(token);
+
+        // Then
+        assertEquals("hajar@test.com", userName);
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void shouldNotCacheTamperedToken() {
+        // Given
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(SignatureException.class, () -> jwtService.extractUserName(tampered));
+        assertThrows(SignatureException.class, () -> jwtService.extractUserName(tampered));
+    }
+
+    @Test
+    void shouldRejectRevokedToken() {
+        // Given
+        String token = jwtService.generateToken(user);
+        String other = jwtService.generateToken(user);
+        assertTrue(jwtService.isTokenValid(token, user));
+
+        // When
+        jwtService.revokeToken(token);
+
+        // Then
+        assertFalse(jwtService.isTokenValid(token, user));
+        assertTrue(jwtService.isTokenValid(other, user));
+    }
+}
@@ -0,0 +1,48 @@
+package com.backend.security;
+
+import com.backend.security.Impl.JwtServiceImpl;
+import com.backend.security.Impl.TokenRevocationServiceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Construit un JwtServiceImpl (et sa liste de révocation sur un fichier temporaire) hors contexte Spring.
+ */
+public final class TestJwtServices {
+
+    public static final String COOKIE_NAME = "nexaboard_token";
+
+    private TestJwtServices() {
+    }
+
+    public static JwtServiceImpl create(String secret, long expirationMillis) {
+        return create(secret, expirationMillis, revocationService());
+    }
+
+    public static JwtServiceImpl create(String secret, long expirationMillis, TokenRevocationService revocationService) {
+        JwtServiceImpl jwtService = new JwtServiceImpl(revocationService);
+        ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(jwtService, "jwtCookieName", COOKIE_NAME);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    public static TokenRevocationServiceImpl revocationService() {
+        try {
+            TokenRevocationServiceImpl service = new TokenRevocationServiceImpl();
+            String file = Files.createTempDirectory("revocation").resolve("revoked-tokens.bin").toString();
+            ReflectionTestUtils.setField(service, "revocationFile", file);
+            ReflectionTestUtils.setField(service, "expectedTokens", 1_000L);
+            ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+            ReflectionTestUtils.invokeMethod(service, "init");
+            return service;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.security;
+
+import com.backend.security.Impl.TokenRevocationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationServiceImplTest {
+
+    @Test
+    void shouldSurviveRestartAndDropExpiredEntries() throws Exception {
+        // Given
+        TokenRevocationServiceImpl service = TestJwtServices.revocationService();
+        service.revoke("jti-live", new Date(System.currentTimeMillis() + 60_000));
+        service.revoke("jti-short", new Date(System.currentTimeMillis() + 50));
+        Thread.sleep(100);
+
+        // When : nouvelle instance sur le même fichier
+        TokenRevocationServiceImpl restarted = new TokenRevocationServiceImpl();
+        ReflectionTestUtils.setField(restarted, "revocationFile", ReflectionTestUtils.getField(service, "revocationFile"));
+        ReflectionTestUtils.setField(restarted, "expectedTokens", 1_000L);
+        ReflectionTestUtils.setField(restarted, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(restarted, "init");
+
+        // Then
+        assertTrue(restarted.isRevoked("jti-live"));
+        assertFalse(restarted.isRevoked("jti-short"));
+        assertFalse(restarted.isRevoked("jti-unknown"));
+    }
+}
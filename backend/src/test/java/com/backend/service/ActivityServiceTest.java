@@ -0,0 +1,227 @@
+package com.backend.service;
+
+import com.backend.dto.ActivitySeriesResponse;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.ActivityEvent;
+import com.backend.model.ActivityRollup;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.ActivityGranularity;
+import com.backend.model.enums.ActivityType;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ActivityEventRepository;
+import com.backend.repository.ActivityRollupRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.Impl.ActivityServiceImpl;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private ActivityEventRepository eventRepository;
+
+    @Mock
+    private ActivityRollupRepository rollupRepository;
+
+    @Mock
+    private ProjectMembershipIndex membershipIndex;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private ActivityServiceImpl activityService;
+
+    @BeforeEach
+    void setUp() {
+        activityService = new ActivityServiceImpl(eventRepository, rollupRepository, membershipIndex, projectRepository,
+                new SimpleMeterRegistry(), 100, 1000, 30, 7, 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBatchEventsAndCoalesceRollupsPerBucket() {
+        for (int i = 0; i < 20; i++) {
+            activityService.onMessageCreated(new MessageCreatedEvent(message("m" + i, NOW.plusSeconds(i))));
+        }
+        activityService.flush();
+        activityService.flush();
+
+        ArgumentCaptor<List<ActivityEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository, times(1)).insert(events.capture());
+        assertEquals(20, events.getValue().size());
+
+        // 20 messages dans la même minute : un agrégat par granularité
+        ArgumentCaptor<Collection<ActivityRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository, times(1)).increment(rollups.capture());
+        assertEquals(3, rollups.getValue().size());
+        rollups.getValue().forEach(rollup -> assertEquals(20L, rollup.getCounts().get(ActivityType.MESSAGE_CREATED)));
+        assertEquals(Set.of(NOW, NOW.withMinute(0).withHour(0)), rollups.getValue().stream()
+                .filter(rollup -> rollup.getGranularity() != ActivityGranularity.HOUR)
+                .map(ActivityRollup::getBucketStart)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordCompletionAndReopen() {
+        Task todo = Task.builder().id("t1").projectId("p1").status(TaskStatus.REVIEW).build();
+        Task done = todo.toBuilder().status(TaskStatus.DONE).completedAt(NOW).build();
+        activityService.onTaskChanged(TaskChangedEvent.of(todo, done));
+        activityService.onTaskChanged(TaskChangedEvent.of(done, todo));
+        activityService.flush();
+
+        ArgumentCaptor<List<ActivityEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).insert(events.capture());
+        assertEquals(List.of(ActivityType.TASK_STATUS_CHANGED, ActivityType.TASK_COMPLETED,
+                        ActivityType.TASK_STATUS_CHANGED, ActivityType.TASK_REOPENED),
+                events.getValue().stream().map(ActivityEvent::getType).toList());
+        assertEquals("REVIEW->DONE", events.getValue().get(0).getDetail());
+        // la complétion est datée par completedAt
+        assertEquals(NOW, events.getValue().get(1).getAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRestoreRollupsWhenTheirWriteFails() {
+        activityService.onMessageCreated(new MessageCreatedEvent(message("m1", NOW)));
+        doThrow(new RuntimeException("down")).doNothing().when(rollupRepository).increment(anyCollection());
+
+        assertThrows(RuntimeException.class, () -> activityService.flush());
+        activityService.onMessageCreated(new MessageCreatedEvent(message("m2", NOW)));
+        activityService.flush();
+
+        // le journal brut n'est pas réécrit ; les compteurs en échec sont cumulés avec les suivants
+        ArgumentCaptor<List<ActivityEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository, times(2)).insert(events.capture());
+        assertEquals(List.of(1, 1), events.getAllValues().stream().map(List::size).toList());
+        ArgumentCaptor<Collection<ActivityRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository, times(2)).increment(rollups.capture());
+        rollups.getAllValues().get(1).forEach(rollup -> assertEquals(2L, rollup.getCounts().get(ActivityType.MESSAGE_CREATED)));
+    }
+
+    @Test
+    void shouldDropEventsBeyondTheBuffer() {
+        activityService = new ActivityServiceImpl(eventRepository, rollupRepository, membershipIndex, projectRepository,
+                new SimpleMeterRegistry(), 5, 1000, 30, 7, 500);
+        for (int i = 0; i < 8; i++) {
+            activityService.onMessageCreated(new MessageCreatedEvent(message("m" + i, NOW)));
+        }
+        activityService.flush();
+
+        verify(eventRepository).insert(argThat((List<ActivityEvent> batch) -> batch.size() == 5));
+    }
+
+    @Test
+    void shouldReturnDenseSeriesSummedOverProjects() {
+        when(membershipIndex.projectIdsOf("alice")).thenReturn(Set.of("p1", "p2"));
+        when(rollupRepository.findRange(eq(ActivityGranularity.DAY), eq(Set.of("p1", "p2")), any(), any()))
+                .thenReturn(List.of(
+                        rollup("p1", NOW.toLocalDate().atStartOfDay(), ActivityType.TASK_COMPLETED, 2),
+                        rollup("p2", NOW.toLocalDate().atStartOfDay(), ActivityType.TASK_COMPLETED, 3),
+                        rollup("p2", NOW.toLocalDate().atStartOfDay().plusDays(2), ActivityType.PROJECT_CREATED, 1)));
+
+        ActivitySeriesResponse series = activityService.getSeries("alice", null, ActivityGranularity.DAY,
+                NOW, NOW.plusDays(3));
+
+        assertEquals(4, series.getBuckets().size());
+        assertEquals(Map.of(ActivityType.TASK_COMPLETED, 5L), series.getBuckets().get(0).getCounts());
+        assertTrue(series.getBuckets().get(1).getCounts().isEmpty());
+        assertEquals(Map.of(ActivityType.TASK_COMPLETED, 5L, ActivityType.PROJECT_CREATED, 1L), series.getTotals());
+    }
+
+    @Test
+    void shouldRejectNonMembersAndOversizedRanges() {
+        when(membershipIndex.projectIdsOf("alice")).thenReturn(Set.of("p1"));
+
+        assertThrows(AccessDeniedException.class,
+                () -> activityService.getSeries("alice", "p2", ActivityGranularity.DAY, NOW, NOW.plusDays(1)));
+        assertThrows(RuntimeException.class,
+                () -> activityService.getSeries("alice", "p1", ActivityGranularity.MINUTE, NOW, NOW.plusDays(1)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldForgetRollupsOfDeletedProject() {
+        activityService.onMessageCreated(new MessageCreatedEvent(message("m1", NOW)));
+        activityService.onProjectChanged(new ProjectChangedEvent("p1", (Project) null));
+        activityService.flush();
+
+        verify(rollupRepository).deleteByProjectId("p1");
+        ArgumentCaptor<Collection<ActivityRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).increment(rollups.capture());
+        assertTrue(rollups.getValue().isEmpty());
+        ArgumentCaptor<List<ActivityEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).insert(events.capture());
+        assertEquals(List.of(ActivityType.MESSAGE_CREATED, ActivityType.PROJECT_DELETED),
+                events.getValue().stream().map(ActivityEvent::getType).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotRecreateRollupsWhenTheDeletedProjectIsPurged() {
+        activityService.onProjectChanged(new ProjectChangedEvent("p1", (Project) null));
+        // la purge retire les tâches après coup ; p2 existe toujours
+        Task purged = Task.builder().id("t1").projectId("p1").status(TaskStatus.TODO).build();
+        Task removed = Task.builder().id("t2").projectId("p2").status(TaskStatus.TODO).build();
+        when(projectRepository.findSummariesByIdIn(Set.of("p1", "p2"))).thenReturn(List.of(Project.builder().id("p2").build()));
+        activityService.onTaskChanged(new TaskChangedEvent(List.of(
+                new TaskChangedEvent.Change(purged, null),
+                new TaskChangedEvent.Change(removed, null))));
+        activityService.flush();
+
+        ArgumentCaptor<List<ActivityEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).insert(events.capture());
+        assertEquals(List.of("p1", "p2"), events.getValue().stream().map(ActivityEvent::getProjectId).toList());
+        assertEquals(List.of(ActivityType.PROJECT_DELETED, ActivityType.TASK_DELETED),
+                events.getValue().stream().map(ActivityEvent::getType).toList());
+        ArgumentCaptor<Collection<ActivityRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).increment(rollups.capture());
+        assertTrue(rollups.getValue().stream().allMatch(rollup -> rollup.getProjectId().equals("p2")));
+        assertEquals(3, rollups.getValue().size());
+    }
+
+    private static Message message(String id, LocalDateTime createdAt) {
+        Message message = Message.builder().id(id).senderId("alice").projectId("p1").content("hello").build();
+        message.setCreatedAt(createdAt);
+        return message;
+    }
+
+    private static ActivityRollup rollup(String projectId, LocalDateTime bucket, ActivityType type, long count) {
+        ActivityRollup rollup = new ActivityRollup(ActivityGranularity.DAY, projectId, bucket);
+        rollup.getCounts().put(type, count);
+        return rollup;
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.service;
 
+import com.backend.dto.auth.AuthResult;
+import com.backend.dto.auth.LoginRequest;
 import com.backend.dto.auth.RegisterRequest;
 import com.backend.model.User;
 import com.backend.repository.UserRepository;
@@ -10,9 +12,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager; // Import manquant
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +38,9 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager; // AJOUTER CECI si présent dans le constructeur de AuthServiceImpl
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -46,11 +55,12 @@ class AuthServiceTest {
         when(jwtService.generateToken(any())).thenReturn("fake-jwt-token");
 
         // 2. When
-        String result = authService.register(request);
+        AuthResult result = authService.registerUser(request);
 
         // 3. Then
         assertNotNull(result);
-        assertEquals("fake-jwt-token", result);
+        assertEquals("fake-jwt-token", result.getToken());
+        assertEquals("hajar@test.com", result.getUser().getEmail());
         verify(userRepository, times(1)).save(any(User.class));
     }
 
@@ -61,6 +71,37 @@ class AuthServiceTest {
         when(userRepository.existsByEmail("hajar@test.com")).thenReturn(true);
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> authService.register(request));
+        assertThrows(RuntimeException.class, () -> authService.registerUser(request));
+    }
+
+    @Test
+    void shouldLoginWithSingleUserLookup() {
+        // Given
+        User user = User.builder().id("1").email("hajar@test.com").password("hashed_password").build();
+        when(userRepository.findByEmail("hajar@test.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "hashed_password")).thenReturn(true);
+        when(jwtService.generateToken(user)).thenReturn("fake-jwt-token");
+
+        // When
+        AuthResult result = authService.authenticate(new LoginRequest("hajar@test.com", "password123"));
+
+        // Then
+        assertEquals("fake-jwt-token", result.getToken());
+        assertSame(user, result.getUser());
+        verify(userRepository, times(1)).findByEmail("hajar@test.com");
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        // Given
+        User user = User.builder().id("1").email("hajar@test.com").password("hashed_password").build();
+        when(userRepository.findByEmail("hajar@test.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "hashed_password")).thenReturn(false);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class,
+                () -> authService.authenticate(new LoginRequest("hajar@test.com", "wrong")));
+        verify(jwtService, never()).generateToken(any());
     }
-}
\ No newline at end of file
+}
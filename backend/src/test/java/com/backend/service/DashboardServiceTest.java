@@ -0,0 +1,81 @@
+package com.backend.service;
+
+import com.backend.dto.ProjectSummaryResponse;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskFacets;
+import com.backend.repository.TaskRepository;
+import com.backend.service.Impl.DashboardServiceImpl;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMembershipIndex membershipIndex;
+
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardServiceImpl(taskRepository, projectRepository, membershipIndex,
+                new SimpleMeterRegistry(), 60, 100);
+    }
+
+    @Test
+    void shouldCacheSummaryUntilATaskOfTheProjectChanges() {
+        TaskFacets facets = new TaskFacets();
+        facets.getByStatus().put(TaskStatus.DONE, 1L);
+        facets.getByStatus().put(TaskStatus.TODO, 3L);
+        when(projectRepository.findActiveById("p1")).thenReturn(Optional.of(Project.builder().id("p1").teamSize(4).build()));
+        when(taskRepository.summarize(eq(List.of("p1")), isNull(), any(), anyInt(), anyInt())).thenReturn(facets);
+        when(membershipIndex.membersOf("p1")).thenReturn(Set.of("u1"));
+
+        ProjectSummaryResponse summary = dashboardService.getProjectSummary("p1");
+        dashboardService.getProjectSummary("p1");
+        assertEquals(4, summary.getTotalTasks());
+        assertEquals(25, summary.getProgress());
+        assertEquals(4, summary.getTeamSize());
+        verify(taskRepository, times(1)).summarize(any(), any(), any(), anyInt(), anyInt());
+
+        // une tâche d'un autre projet ne touche pas le résumé en cache
+        Task other = Task.builder().id("t2").projectId("p2").status(TaskStatus.TODO).build();
+        when(membershipIndex.membersOf("p2")).thenReturn(Set.of());
+        dashboardService.onTaskChanged(TaskChangedEvent.of(null, other));
+        dashboardService.getProjectSummary("p1");
+        verify(taskRepository, times(1)).summarize(any(), any(), any(), anyInt(), anyInt());
+
+        Task task = Task.builder().id("t1").projectId("p1").status(TaskStatus.TODO).build();
+        dashboardService.onTaskChanged(TaskChangedEvent.of(null, task));
+        dashboardService.getProjectSummary("p1");
+        verify(taskRepository, times(2)).summarize(any(), any(), any(), anyInt(), anyInt());
+    }
+}
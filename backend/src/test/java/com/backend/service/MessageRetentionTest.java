@@ -0,0 +1,213 @@
+package com.backend.service;
+
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.Impl.MessageArchive;
+import com.backend.service.Impl.MessageRetentionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageRetentionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void shouldPageThroughArchivedBlocksInBothDirections() throws Exception {
+        MessageArchive archive = archive();
+        archive.append("p1", messages("p1", 0, 10));
+
+        // du plus récent au plus ancien, à travers les blocs de 4 messages
+        assertEquals(List.of("p1-9", "p1-8", "p1-7"), ids(archive.findWindow("p1", null, null, 3)));
+        assertEquals(List.of("p1-5", "p1-4", "p1-3", "p1-2", "p1-1"),
+                ids(archive.findWindow("p1", cursor("p1", 6), null, 5)));
+        // en avant : les plus proches du curseur
+        assertEquals(List.of("p1-4", "p1-3", "p1-2"), ids(archive.findWindow("p1", null, cursor("p1", 1), 3)));
+        assertEquals(List.of("p1-3", "p1-2"), ids(archive.findWindow("p1", cursor("p1", 4), cursor("p1", 1), 10)));
+        assertTrue(archive.findWindow("p2", null, null, 3).isEmpty());
+    }
+
+    @Test
+    void shouldSurviveRestartAndIgnoreAlreadyArchivedMessages() throws Exception {
+        MessageArchive archive = archive();
+        archive.append("p1", messages("p1", 0, 6));
+        archive.append(null, messages(null, 0, 2));
+        // blocs écrits mais jamais indexés : un arrêt brutal pendant l'archivage
+        try (FileOutputStream out = new FileOutputStream(dir.resolve("p1").resolve("000001.seg").toFile(), true)) {
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        MessageArchive reloaded = archive();
+        // lot rejoué après un arrêt entre l'archivage et la suppression dans MongoDB
+        reloaded.append("p1", messages("p1", 4, 8));
+
+        assertEquals(List.of("p1-7", "p1-6", "p1-5", "p1-4", "p1-3", "p1-2", "p1-1", "p1-0"),
+                ids(reloaded.findWindow("p1", null, null, 20)));
+        // tous projets : fusion par date
+        assertEquals(List.of("p1-7", "p1-6", "p1-5", "p1-4", "p1-3", "p1-2", "p1-1", "null-1"),
+                ids(reloaded.findWindow(null, null, null, 8)));
+    }
+
+    @Test
+    void shouldRemoveTheArchiveOfADeletedProject() throws Exception {
+        MessageArchive archive = archive();
+        archive.append("p1", messages("p1", 0, 3));
+
+        archive.onProjectChanged(new ProjectChangedEvent("p1", null));
+
+        assertTrue(archive.findWindow("p1", null, null, 10).isEmpty());
+        assertFalse(Files.exists(dir.resolve("p1")));
+    }
+
+    @Test
+    void shouldArchiveBeforeDeletingExpiredMessages() throws Exception {
+        MessageArchive archive = archive();
+        List<Message> expired = messages("p1", 0, 3);
+        when(messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(any(), any()))
+                .thenReturn(expired.get(0))
+                .thenReturn(null);
+        when(projectRepository.findById("p1")).thenReturn(Optional.of(Project.builder().id("p1").build()));
+        when(messageRepository.findExpired(eq("p1"), any(), eq(100))).thenReturn(expired);
+
+        int archived = retention(archive).archiveExpired();
+
+        assertEquals(3, archived);
+        verify(messageRepository).deleteByIdIn(List.of("p1-0", "p1-1", "p1-2"));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MessagesDeletedEvent deleted
+                && deleted.getMessageIds().size() == 3));
+        assertEquals(List.of("p1-2", "p1-1", "p1-0"), ids(archive.findWindow("p1", null, null, 10)));
+    }
+
+    @Test
+    void shouldSkipAProjectBeingPurgedAndArchiveTheOthers() throws Exception {
+        MessageArchive archive = archive();
+        List<Message> expired = messages("p2", 0, 2);
+        when(messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(any(), eq(Set.of())))
+                .thenReturn(messages("p1", 0, 1).get(0));
+        when(messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(any(), eq(Set.of("p1"))))
+                .thenReturn(expired.get(0))
+                .thenReturn(null);
+        when(projectRepository.findById("p1")).thenReturn(Optional.of(Project.builder().id("p1").deleting(true).build()));
+        when(projectRepository.findById("p2")).thenReturn(Optional.of(Project.builder().id("p2").build()));
+        when(messageRepository.findExpired(eq("p2"), any(), eq(100))).thenReturn(expired);
+
+        assertEquals(2, retention(archive).archiveExpired());
+        verify(messageRepository, never()).findExpired(eq("p1"), any(), anyInt());
+        verify(messageRepository).deleteByIdIn(List.of("p2-0", "p2-1"));
+    }
+
+    @Test
+    void shouldArchiveALateMessageBelowTheWatermarkBeforeDeletingIt() throws Exception {
+        MessageArchive archive = archive();
+        archive.append("p1", messages("p1", 0, 6));
+        // inséré en retard par l'écriture différée, sous le filigrane, à côté d'un message déjà archivé
+        Message late = Message.builder().id("p1-late").projectId("p1").senderId("u1").content("late").type("message")
+                .createdAt(START.plusMinutes(2).plusSeconds(30)).build();
+        List<Message> expired = List.of(messages("p1", 1, 2).get(0), late);
+        when(messageRepository.findFirstByCreatedAtBeforeAndProjectIdNotInOrderByCreatedAtAscIdAsc(any(), any()))
+                .thenReturn(expired.get(0))
+                .thenReturn(null);
+        when(projectRepository.findById("p1")).thenReturn(Optional.of(Project.builder().id("p1").build()));
+        when(messageRepository.findExpired(eq("p1"), any(), eq(100))).thenReturn(expired);
+
+        assertEquals(2, retention(archive).archiveExpired());
+
+        verify(messageRepository).deleteByIdIn(List.of("p1-1", "p1-late"));
+        assertEquals(7, archive.archivedCount());
+        assertEquals(List.of("p1-3", "p1-late", "p1-2"), ids(archive.findWindow("p1", cursor("p1", 4), null, 3)));
+        // relu après redémarrage, et pas réécrit si le lot est rejoué
+        MessageArchive reloaded = archive();
+        assertEquals(Set.of("p1-1", "p1-late"), reloaded.append("p1", expired));
+        assertEquals(7, reloaded.archivedCount());
+        assertEquals(List.of("p1-late", "p1-2", "p1-1"), ids(reloaded.findWindow("p1", cursor("p1", 3), null, 3)));
+        assertEquals(List.of("p1-3", "p1-late"), ids(reloaded.findWindow(null, null, cursor("p1", 2), 2)));
+    }
+
+    @Test
+    void shouldOnlyReadArchivesThatReachTheFloor() throws Exception {
+        MessageArchive archive = archive();
+        archive.append("p1", messages("p1", 0, 6));
+        archive.append("p2", messages("p2", 0, 2));
+
+        // la collection a déjà la fenêtre au-dessus de p1-3 : seul ce qui la dépasse compte
+        assertEquals(List.of("p1-5", "p1-4"), ids(archive.findWindow(null, null, null, 2, cursor("p1", 3))));
+        assertTrue(archive.findWindow(null, null, null, 2, cursor("p1", 5)).isEmpty());
+        assertTrue(archive.findWindow("p2", null, null, 2, cursor("p1", 3)).isEmpty());
+    }
+
+    private MessageArchive archive() throws Exception {
+        MessageArchive archive = new MessageArchive(new SimpleMeterRegistry(), dir.toString(), 1024 * 1024, 4);
+        archive.load();
+        return archive;
+    }
+
+    private MessageRetentionServiceImpl retention(MessageArchive archive) {
+        return new MessageRetentionServiceImpl(messageRepository, projectRepository, archive, eventPublisher, true, 90, 100, 5);
+    }
+
+    private static List<Message> messages(String projectId, int from, int to) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            messages.add(Message.builder()
+                    .id(projectId + "-" + i)
+                    .projectId(projectId)
+                    .senderId("u1")
+                    .content("message " + i)
+                    .type("message")
+                    .createdAt(START.plusMinutes(i))
+                    .build());
+        }
+        return messages;
+    }
+
+    private static KeysetCursor cursor(String projectId, int i) {
+        return new KeysetCursor(START.plusMinutes(i), projectId + "-" + i);
+    }
+
+    private static List<String> ids(List<Message> messages) {
+        return messages.stream().map(Message::getId).toList();
+    }
+}
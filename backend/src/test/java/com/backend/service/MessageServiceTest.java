@@ -0,0 +1,156 @@
+package com.backend.service;
+
+import com.backend.dto.CursorWindow;
+import com.backend.dto.MessageResponse;
+import com.backend.model.Message;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.MessageRepository;
+import com.backend.dto.MessageRequest;
+import com.backend.service.Impl.MessageArchive;
+import com.backend.service.Impl.MessageServiceImpl;
+import com.backend.service.Impl.MessageWriteBehind;
+import com.backend.service.Impl.UnreadCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MessageWriteBehind writeBehind;
+
+    @Mock
+    private MessageArchive archive;
+
+    @Mock
+    private UnreadCounters unreadCounters;
+
+    @InjectMocks
+    private MessageServiceImpl messageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(messageService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(messageService, "maxPageSize", 10);
+    }
+
+    @Test
+    void shouldReturnLatestMessagesWithCursorToOlderPage() {
+        when(messageRepository.findWindow(null, null, null, 3)).thenReturn(List.of(message("m3", 3), message("m2", 2), message("m1", 1)));
+
+        CursorWindow<MessageResponse> window = messageService.getAllMessages(null, null, null);
+
+        assertEquals(List.of("m3", "m2"), window.getItems().stream().map(MessageResponse::getId).toList());
+        assertEquals("m2", KeysetCursor.decode(window.getBefore()).getId());
+        assertEquals("m3", KeysetCursor.decode(window.getAfter()).getId());
+    }
+
+    @Test
+    void shouldNotOfferOlderPageAtTheStartOfHistory() {
+        String before = new KeysetCursor(NOW.plusMinutes(2), "m2").encode();
+        when(messageRepository.findWindow(eq("p1"), any(KeysetCursor.class), isNull(), eq(3))).thenReturn(List.of(message("m1", 1)));
+
+        CursorWindow<MessageResponse> window = messageService.getMessagesByProject("p1", before, null, null);
+
+        assertEquals(1, window.getItems().size());
+        assertNull(window.getBefore());
+    }
+
+    @Test
+    void shouldKeepMessagesClosestToAfterCursor() {
+        String after = new KeysetCursor(NOW.plusMinutes(1), "m1").encode();
+        // du plus récent au plus ancien : m4 est le surplus au-delà de la page
+        when(messageRepository.findWindow(isNull(), isNull(), any(KeysetCursor.class), eq(3)))
+                .thenReturn(List.of(message("m4", 4), message("m3", 3), message("m2", 2)));
+
+        CursorWindow<MessageResponse> window = messageService.getAllMessages(null, after, null);
+
+        assertEquals(List.of("m3", "m2"), window.getItems().stream().map(MessageResponse::getId).toList());
+        assertEquals("m3", KeysetCursor.decode(window.getAfter()).getId());
+    }
+
+    @Test
+    void shouldContinueIntoTheArchivePastTheHotWindow() {
+        String before = new KeysetCursor(NOW.plusMinutes(3), "m3").encode();
+        when(messageRepository.findWindow(eq("p1"), any(KeysetCursor.class), isNull(), eq(3))).thenReturn(List.of(message("m2", 2)));
+        // m2 archivé mais pas encore supprimé de la collection ; fenêtre incomplète : pas de borne
+        when(archive.findWindow(eq("p1"), any(KeysetCursor.class), isNull(), eq(3), isNull()))
+                .thenReturn(List.of(message("m2", 2), message("m1", 1), message("m0", 0)));
+
+        CursorWindow<MessageResponse> window = messageService.getMessagesByProject("p1", before, null, null);
+
+        assertEquals(List.of("m2", "m1"), window.getItems().stream().map(MessageResponse::getId).toList());
+        assertEquals("m1", KeysetCursor.decode(window.getBefore()).getId());
+    }
+
+    @Test
+    void shouldInterleaveArchivedMessagesNewerThanLateInsertedOnes() {
+        // m1 inséré en retard (écriture différée) après l'archivage de m2 et m4
+        when(messageRepository.findWindow("p1", null, null, 3))
+                .thenReturn(List.of(message("m5", 5), message("m3", 3), message("m1", 1)));
+        // fenêtre pleine : l'archive n'est lue qu'au-dessus du plus ancien message de la collection
+        when(archive.findWindow(eq("p1"), isNull(), isNull(), eq(3), argThat(floor -> floor != null && "m1".equals(floor.getId()))))
+                .thenReturn(List.of(message("m4", 4), message("m2", 2)));
+
+        CursorWindow<MessageResponse> window = messageService.getMessagesByProject("p1", null, null, null);
+
+        assertEquals(List.of("m5", "m4"), window.getItems().stream().map(MessageResponse::getId).toList());
+        assertEquals("m4", KeysetCursor.decode(window.getBefore()).getId());
+    }
+
+    @Test
+    void shouldHandOverToWriteBehindWithoutWaitingForMongo() {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        MessageRequest request = new MessageRequest();
+        request.setContent("hello");
+
+        MessageResponse response = messageService.createMessage("u1", "Alice", "member", request);
+
+        assertNotNull(response.getId());
+        verify(writeBehind).submit(argThat(message -> message.getId().equals(response.getId())));
+        verify(messageRepository, never()).save(any());
+        // publié par l'écrivain après l'insertion
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldMarkTheLatestMessageReadWithoutCursor() {
+        when(messageRepository.findWindow("p1", null, null, 1)).thenReturn(List.of(message("m3", 3)));
+
+        messageService.markRead("u1", "p1", null);
+
+        verify(unreadCounters).markRead(eq("u1"), eq("p1"), argThat(position -> position.getId().equals("m3")));
+    }
+
+    private static Message message(String id, int minute) {
+        return Message.builder().id(id).content(id).createdAt(NOW.plusMinutes(minute)).build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.backend.service;
+
+import com.backend.event.MessageCreatedEvent;
+import com.backend.exception.ServiceUnavailableException;
+import com.backend.model.Message;
+import com.backend.repository.MessageRepository;
+import com.backend.service.Impl.MessageJournal;
+import com.backend.service.Impl.MessageWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MessageWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void shouldGroupBurstIntoOneInsertAndPublishAfterIt() throws Exception {
+        writeBehind = writeBehind("write-behind", "accepted", 100, 200);
+
+        writeBehind.submit(message("m1"));
+        writeBehind.submit(message("m2"));
+        writeBehind.submit(message("m3"));
+
+        verify(eventPublisher, timeout(2000).times(3)).publishEvent(any(MessageCreatedEvent.class));
+        var order = inOrder(messageRepository, eventPublisher);
+        order.verify(messageRepository).insertIgnoringDuplicates(argThat(batch -> batch.size() == 3));
+        order.verify(eventPublisher, times(3)).publishEvent(any(MessageCreatedEvent.class));
+    }
+
+    @Test
+    void shouldAcknowledgePersistedOnlyAfterARetriedInsertSucceeds() throws Exception {
+        when(messageRepository.insertIgnoringDuplicates(anyList()))
+                .thenThrow(new IllegalStateException("primary stepped down"))
+                .thenReturn(1);
+        writeBehind = writeBehind("write-behind", "persisted", 100, 1);
+
+        writeBehind.submit(message("m1"));
+
+        verify(messageRepository, times(2)).insertIgnoringDuplicates(anyList());
+        // lot inséré puis COMMIT : plus rien à rejouer
+        assertTrue(new MessageJournal(dir.resolve("journal.bin"), false, Long.MAX_VALUE).readUncommitted().isEmpty());
+    }
+
+    @Test
+    void shouldRejectWhenTheBufferIsFull() throws Exception {
+        CountDownLatch mongo = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            mongo.await();
+            return 1;
+        }).when(messageRepository).insertIgnoringDuplicates(anyList());
+        writeBehind = writeBehind("write-behind", "accepted", 1, 1);
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> {
+                for (int i = 0; i < 10; i++) {
+                    writeBehind.submit(message("m" + i));
+                }
+            });
+        } finally {
+            mongo.countDown();
+        }
+    }
+
+    @Test
+    void shouldReplayMessagesAfterTheLastCommitOnStartup() throws Exception {
+        Path file = dir.resolve("journal.bin");
+        try (MessageJournal journal = new MessageJournal(file, false, Long.MAX_VALUE)) {
+            journal.append(List.of(message("m1"), message("m2")));
+            journal.commit();
+            journal.append(List.of(message("m3")));
+        }
+        // enregistrement tronqué par un arrêt brutal pendant l'écriture
+        try (FileOutputStream out = new FileOutputStream(file.toFile(), true)) {
+            out.write(new byte[]{0, 0, 0, 40, 1, 2});
+        }
+
+        writeBehind = writeBehind("sync", "journaled", 100, 10);
+
+        verify(messageRepository, timeout(2000)).insertIgnoringDuplicates(
+                argThat(batch -> batch.size() == 1 && batch.get(0).getId().equals("m3") && batch.get(0).getContent().equals("content m3")));
+        verify(eventPublisher, timeout(2000)).publishEvent(any(MessageCreatedEvent.class));
+        writeBehind.stop();
+        writeBehind = null;
+        assertEquals(0, new MessageJournal(file, false, Long.MAX_VALUE).readUncommitted().size());
+    }
+
+    private MessageWriteBehind writeBehind(String mode, String ack, int bufferSize, int batchSize) throws Exception {
+        MessageWriteBehind created = new MessageWriteBehind(messageRepository, eventPublisher, new SimpleMeterRegistry(),
+                mode, ack, bufferSize, batchSize, 50, 10, 5000, dir.resolve("journal.bin").toString(), false);
+        created.start();
+        return created;
+    }
+
+    private static Message message(String id) {
+        return Message.builder()
+                .id(id)
+                .senderId("u1")
+                .senderName("Alice")
+                .content("content " + id)
+                .type("message")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+}
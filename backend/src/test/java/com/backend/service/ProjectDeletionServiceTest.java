@@ -0,0 +1,105 @@
+package com.backend.service;
+
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.service.Impl.ProjectDeletionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectDeletionServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ProjectMemberRepository memberRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectDeletionServiceImpl deletionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deletionService = new ProjectDeletionServiceImpl(projectRepository, taskRepository, messageRepository,
+                memberRepository, eventPublisher, meterRegistry, 2);
+        when(projectRepository.findFirstByDeletingTrueOrderByDeletionRequestedAtAsc())
+                .thenReturn(Optional.of(Project.builder().id("p1").deleting(true).build()));
+        when(projectRepository.countByDeletingTrue()).thenReturn(1L);
+    }
+
+    @Test
+    void shouldDeleteOneBatchOfTasksAndPublishTheirRemoval() {
+        Task t1 = Task.builder().id("t1").projectId("p1").build();
+        Task t2 = Task.builder().id("t2").projectId("p1").build();
+        when(taskRepository.findByProjectId("p1", PageRequest.of(0, 2))).thenReturn(List.of(t1, t2));
+
+        assertEquals(2, deletionService.purgeNextBatch());
+
+        verify(taskRepository).deleteByIdIn(List.of("t1", "t2"));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getChanges().size());
+        assertNull(event.getValue().getChanges().get(0).current());
+        verify(messageRepository, never()).findIdsByProjectId(any(), any());
+        assertEquals(2.0, meterRegistry.get("projects.deletion.documents").tag("type", "task").counter().count());
+    }
+
+    @Test
+    void shouldDeleteMessagesOnceTasksAreGone() {
+        when(taskRepository.findByProjectId("p1", PageRequest.of(0, 2))).thenReturn(List.of());
+        when(messageRepository.findIdsByProjectId("p1", PageRequest.of(0, 2)))
+                .thenReturn(List.of(Message.builder().id("m1").build()));
+
+        assertEquals(1, deletionService.purgeNextBatch());
+
+        verify(messageRepository).deleteByIdIn(List.of("m1"));
+        verify(eventPublisher).publishEvent(any(MessagesDeletedEvent.class));
+        verify(projectRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void shouldRemoveProjectWhenNothingIsLeft() {
+        when(taskRepository.findByProjectId("p1", PageRequest.of(0, 2))).thenReturn(List.of());
+        when(messageRepository.findIdsByProjectId("p1", PageRequest.of(0, 2))).thenReturn(List.of());
+
+        assertEquals(0, deletionService.purgeNextBatch());
+
+        verify(memberRepository).deleteByProjectId("p1");
+        verify(projectRepository).deleteById("p1");
+        assertEquals(1.0, meterRegistry.get("projects.deletion.completed").counter().count());
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.service;
+
+import com.backend.dto.TeamMembershipResponse;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.ProjectMember;
+import com.backend.repository.ProjectMemberRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.service.Impl.ProjectMemberServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectMemberServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository memberRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProjectMemberServiceImpl memberService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(memberService, "maxEmbeddedMembers", 2);
+    }
+
+    @Test
+    void shouldAddMemberWithoutReadingProjectFirst() {
+        when(projectRepository.addEmbeddedMembers("p1", Set.of("u1"), 2)).thenReturn(1);
+        when(projectRepository.findMembershipById("p1"))
+                .thenReturn(Optional.of(Project.builder().id("p1").teamSize(1).build()));
+
+        TeamMembershipResponse response = memberService.addMember("p1", "u1");
+
+        assertEquals(1, response.getAdded());
+        assertEquals(1, response.getTeamSize());
+        verify(memberRepository, never()).insertIgnoringDuplicates(anyList());
+        verify(eventPublisher).publishEvent(any(ProjectMembersChangedEvent.class));
+    }
+
+    @Test
+    void shouldMoveTeamToCollectionWhenThresholdIsReached() {
+        Project full = Project.builder().id("p1").teamIds(List.of("u1", "u2")).teamSize(2).build();
+        when(projectRepository.addEmbeddedMembers("p1", Set.of("u3"), 2)).thenReturn(0);
+        when(projectRepository.findMembershipById("p1"))
+                .thenReturn(Optional.of(full))
+                .thenReturn(Optional.of(full))
+                .thenReturn(Optional.of(Project.builder().id("p1").teamSize(3).membersExternal(true).build()));
+        when(projectRepository.markMembersExternal("p1")).thenReturn(full);
+        when(memberRepository.insertIgnoringDuplicates(anyList())).thenReturn(2, 1);
+
+        TeamMembershipResponse response = memberService.addMember("p1", "u3");
+
+        assertEquals(1, response.getAdded());
+        assertEquals(3, response.getTeamSize());
+        verify(memberRepository).insertIgnoringDuplicates(argThat(members ->
+                members.stream().map(ProjectMember::getId).toList().equals(List.of("p1:u1", "p1:u2"))));
+        verify(projectRepository).unsetTeamIds("p1");
+        verify(projectRepository).incrementTeamSize("p1", 1);
+    }
+
+    @Test
+    void shouldDropMembersRemovedWhileTheTeamWasBeingCopied() {
+        Project full = Project.builder().id("p1").teamIds(List.of("u1", "u2")).teamSize(2).build();
+        when(projectRepository.addEmbeddedMembers("p1", Set.of("u3"), 2)).thenReturn(0);
+        // u2 retiré entre la pose du drapeau et la copie : absent de teamIds à la relecture
+        when(projectRepository.findMembershipById("p1"))
+                .thenReturn(Optional.of(full))
+                .thenReturn(Optional.of(Project.builder().id("p1").teamIds(List.of("u1")).teamSize(2).membersExternal(true).build()))
+                .thenReturn(Optional.of(Project.builder().id("p1").teamSize(2).membersExternal(true).build()));
+        when(projectRepository.markMembersExternal("p1")).thenReturn(full);
+        when(memberRepository.insertIgnoringDuplicates(anyList())).thenReturn(2).thenReturn(1);
+        when(memberRepository.deleteByIdIn(List.of("p1:u2"))).thenReturn(1L);
+
+        memberService.addMember("p1", "u3");
+
+        verify(projectRepository).incrementTeamSize("p1", -1);
+        verify(projectRepository).unsetTeamIds("p1");
+    }
+
+    @Test
+    void shouldNotCountMembersAlreadyPresent() {
+        when(projectRepository.addEmbeddedMembers("p1", Set.of("u1"), 2)).thenReturn(0);
+        when(projectRepository.findMembershipById("p1"))
+                .thenReturn(Optional.of(Project.builder().id("p1").teamIds(List.of("u1")).teamSize(1).build()));
+
+        TeamMembershipResponse response = memberService.addMember("p1", "u1");
+
+        assertEquals(0, response.getAdded());
+        verify(projectRepository, never()).markMembersExternal(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldThrowWhenProjectDoesNotExist() {
+        when(projectRepository.removeEmbeddedMembers("missing", Set.of("u1"))).thenReturn(0);
+        when(projectRepository.findMembershipById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> memberService.removeMember("missing", "u1"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.backend.service;
+
+import com.backend.event.TaskChangedEvent;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.service.Impl.ProjectProgressServiceImpl;
+import com.backend.service.Impl.ResourceVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectProgressServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ProjectProgressServiceImpl progressService;
+
+    @BeforeEach
+    void setUp() {
+        progressService = new ProjectProgressServiceImpl(projectRepository, taskRepository, new ResourceVersions(),
+                new SimpleMeterRegistry(), 200, 1);
+    }
+
+    @Test
+    void shouldTurnTaskChangesIntoStatusDeltas() {
+        Task todo = Task.builder().id("t1").projectId("p1").status(TaskStatus.TODO).build();
+        Task done = todo.toBuilder().status(TaskStatus.DONE).build();
+        Task created = Task.builder().id("t2").projectId("p2").status(TaskStatus.TODO).build();
+
+        progressService.onTaskChanged(new TaskChangedEvent(List.of(
+                new TaskChangedEvent.Change(todo, done),
+                new TaskChangedEvent.Change(null, created))));
+
+        verify(projectRepository).incrementTaskCounts(Map.of(
+                "p1", Map.of(TaskStatus.TODO, -1L, TaskStatus.DONE, 1L),
+                "p2", Map.of(TaskStatus.TODO, 1L)));
+    }
+
+    @Test
+    void shouldDeriveProgressFromCounters() {
+        Project project = Project.builder()
+                .taskCounts(Map.of(TaskStatus.TODO, 1L, TaskStatus.IN_PROGRESS, 1L, TaskStatus.DONE, 2L))
+                .build();
+        assertEquals(50, project.computeProgress());
+        assertEquals(0, Project.builder().build().computeProgress());
+    }
+}
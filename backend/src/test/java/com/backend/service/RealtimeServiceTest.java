@@ -0,0 +1,208 @@
+package com.backend.service;
+
+import com.backend.event.TaskChangedEvent;
+import com.backend.exception.ServiceUnavailableException;
+import com.backend.model.Task;
+import com.backend.model.User;
+import com.backend.model.enums.UserRole;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import com.backend.service.Impl.RealtimeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RealtimeServiceTest {
+
+    @Mock
+    private ProjectMembershipIndex membershipIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private RealtimeServiceImpl realtimeService;
+
+    @AfterEach
+    void tearDown() {
+        if (realtimeService != null) {
+            realtimeService.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPushTaskWritesToSubscribersOfTheProjectOnly() throws Exception {
+        realtimeService = service(8, 100, () -> new RecordingEmitter(null));
+        User member = user("u1", UserRole.Member);
+        when(membershipIndex.projectIdsOf("u1")).thenReturn(Set.of("p1", "p2"));
+        realtimeService.subscribe(member, "p1");
+        realtimeService.subscribe(member, "p2");
+
+        realtimeService.onTaskChanged(TaskChangedEvent.of(null, task("t1", "p1")));
+
+        await(() -> emitters.get(0).names().size() == 1);
+        assertEquals(List.of("task"), emitters.get(0).names());
+        assertTrue(emitters.get(0).received.get(0).contains("\"id\":\"t1\""));
+        assertTrue(emitters.get(1).names().isEmpty());
+    }
+
+    @Test
+    void shouldSendTaskDeletedToTheOldProjectWhenATaskMoves() throws Exception {
+        realtimeService = service(8, 100, () -> new RecordingEmitter(null));
+        User admin = user("a1", UserRole.Admin);
+        realtimeService.subscribe(admin, "p1");
+        realtimeService.subscribe(admin, "p2");
+
+        realtimeService.onTaskChanged(TaskChangedEvent.of(task("t1", "p1"), task("t1", "p2")));
+
+        await(() -> emitters.get(0).names().size() == 1 && emitters.get(1).names().size() == 1);
+        assertEquals(List.of("task-deleted"), emitters.get(0).names());
+        assertEquals(List.of("task"), emitters.get(1).names());
+    }
+
+    @Test
+    void shouldReplacePendingEventsWithResyncWhenASubscriberFallsBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch[] next = {release, null};
+        realtimeService = service(4, 100, () -> {
+            RecordingEmitter emitter = new RecordingEmitter(next[0]);
+            next[0] = next[1];
+            return emitter;
+        });
+        User admin = user("a1", UserRole.Admin);
+        realtimeService.subscribe(admin, "p1");  // lent : bloqué sur son premier envoi
+        realtimeService.subscribe(admin, "p1");
+        RecordingEmitter slow = emitters.get(0);
+        RecordingEmitter fast = emitters.get(1);
+
+        realtimeService.onTaskChanged(TaskChangedEvent.of(null, task("t0", "p1")));
+        await(() -> slow.blocked);
+        for (int i = 1; i <= 10; i++) {
+            realtimeService.onTaskChanged(TaskChangedEvent.of(null, task("t" + i, "p1")));
+            int expected = i + 1;
+            await(() -> fast.names().size() == expected);  // l'abonné rapide suit sans perte
+        }
+        release.countDown();
+
+        await(() -> slow.names().contains("resync") && !slow.names().get(slow.names().size() - 1).equals("pending"));
+        assertTrue(slow.names().size() < 11);
+        assertEquals("task", slow.names().get(0));
+        assertTrue(meterRegistry.counter("realtime.events.resync").count() >= 1);
+        assertEquals(2, realtimeService.subscriberCount());
+    }
+
+    @Test
+    void shouldDropSubscriberWhenTheConnectionIsClosed() throws Exception {
+        realtimeService = service(8, 100, () -> new RecordingEmitter(null) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+        realtimeService.subscribe(user("a1", UserRole.Admin), "p1");
+
+        realtimeService.onTaskChanged(TaskChangedEvent.of(null, task("t1", "p1")));
+
+        await(() -> realtimeService.subscriberCount() == 0);
+    }
+
+    @Test
+    void shouldRejectNonMembersAndSubscribersOverTheLimit() {
+        realtimeService = service(8, 1, () -> new RecordingEmitter(null));
+        when(membershipIndex.projectIdsOf("u1")).thenReturn(Set.of("p1"));
+
+        assertThrows(AccessDeniedException.class, () -> realtimeService.subscribe(user("u1", UserRole.Member), "p2"));
+        realtimeService.subscribe(user("u1", UserRole.Member), "p1");
+        assertThrows(ServiceUnavailableException.class, () -> realtimeService.subscribe(user("u1", UserRole.Member), "p1"));
+        assertEquals(1, realtimeService.subscriberCount());
+    }
+
+    private RealtimeServiceImpl service(int queueCapacity, int maxSubscribers, EmitterFactory factory) {
+        return new RealtimeServiceImpl(new ObjectMapper().findAndRegisterModules(), membershipIndex, meterRegistry,
+                queueCapacity, 2, maxSubscribers, 60_000) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMs) {
+                RecordingEmitter emitter = factory.create();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static User user(String id, UserRole role) {
+        return User.builder().id(id).role(role).build();
+    }
+
+    private static Task task(String id, String projectId) {
+        return Task.builder().id(id).projectId(projectId).title("Task " + id).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private interface EmitterFactory {
+        RecordingEmitter create();
+    }
+
+    // Enregistre le texte SSE envoyé ; bloque le premier envoi tant que le verrou n'est pas levé
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        private volatile boolean blocked;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            if (gate != null && received.isEmpty()) {
+                received.add("event:pending\n");
+                blocked = true;
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.set(0, text);
+                return;
+            }
+            received.add(text);
+        }
+
+        List<String> names() {
+            return received.stream()
+                    .filter(text -> text.startsWith("event:"))
+                    .map(text -> text.substring("event:".length(), text.indexOf('\n')))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.backend.service;
+
+import com.backend.dto.StatsResponse;
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.MessagesDeletedEvent;
+import com.backend.event.ProjectChangedEvent;
+import com.backend.event.TaskChangedEvent;
+import com.backend.event.UsersCreatedEvent;
+import com.backend.model.Message;
+import com.backend.model.Project;
+import com.backend.model.Task;
+import com.backend.model.User;
+import com.backend.model.enums.TaskStatus;
+import com.backend.model.enums.UserRole;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.ProjectRepository;
+import com.backend.repository.TaskRepository;
+import com.backend.repository.UserRepository;
+import com.backend.service.Impl.MessageArchive;
+import com.backend.service.Impl.StatsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private MessageArchive archive;
+
+    private StatsServiceImpl statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new StatsServiceImpl(projectRepository, userRepository, messageRepository, taskRepository,
+                archive, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldServeEventAdjustedCountersWithoutQueryingMongo() {
+        Project project = Project.builder().id("p1").build();
+        statsService.onProjectChanged(ProjectChangedEvent.created(project));
+        statsService.onProjectChanged(new ProjectChangedEvent("p1", project));  // modification
+        statsService.onUsersCreated(new UsersCreatedEvent(List.of(user(UserRole.Member), user(UserRole.Manager))));
+        statsService.onMessageCreated(new MessageCreatedEvent(Message.builder().id("m1").build()));
+        statsService.onMessageCreated(new MessageCreatedEvent(Message.builder().id("m2").build()));
+        statsService.onMessagesDeleted(new MessagesDeletedEvent("p1", List.of("m1")));
+        Task todo = Task.builder().id("t1").status(TaskStatus.TODO).build();
+        Task done = Task.builder().id("t1").status(TaskStatus.DONE).build();
+        statsService.onTaskChanged(TaskChangedEvent.of(null, todo));
+        statsService.onTaskChanged(TaskChangedEvent.of(todo, done));
+        when(archive.archivedCount()).thenReturn(10L);
+
+        StatsResponse stats = statsService.getStats();
+
+        assertEquals(1, stats.getProjects());
+        assertEquals(2, stats.getMembers());
+        assertEquals(11, stats.getMessages());
+        assertEquals(1, stats.getTasks());
+        assertEquals(0L, stats.getTasksByStatus().get(TaskStatus.TODO));
+        assertEquals(1L, stats.getTasksByStatus().get(TaskStatus.DONE));
+        assertEquals(1L, stats.getMembersByRole().get(UserRole.Manager));
+        verifyNoInteractions(projectRepository, userRepository, messageRepository, taskRepository);
+    }
+
+    @Test
+    void shouldSeedFromEstimatesAndReconcileOnExactCounts() {
+        when(projectRepository.estimatedCount()).thenReturn(12L);
+        when(projectRepository.countByDeletingTrue()).thenReturn(2L);
+        when(userRepository.estimatedCount()).thenReturn(40L);
+        when(messageRepository.estimatedCount()).thenReturn(1000L);
+        when(taskRepository.estimatedCount()).thenReturn(300L);
+        statsService.seed();
+        assertEquals(10, statsService.getStats().getProjects());
+
+        when(projectRepository.count()).thenReturn(11L);
+        when(userRepository.count()).thenReturn(40L);
+        when(messageRepository.count()).thenReturn(998L);
+        when(taskRepository.countByStatus()).thenReturn(Map.of(TaskStatus.TODO, 100L, TaskStatus.DONE, 200L));
+        when(userRepository.countByRole()).thenReturn(Map.of(UserRole.Member, 38L, UserRole.Admin, 2L));
+
+        // projets (10 -> 9), messages, 2 statuts et 2 rôles corrigés ; total des tâches et utilisateurs déjà justes
+        assertEquals(6, statsService.reconcile());
+
+        StatsResponse stats = statsService.getStats();
+        assertEquals(9, stats.getProjects());
+        assertEquals(998, stats.getMessages());
+        assertEquals(300, stats.getTasks());
+        assertEquals(200L, stats.getTasksByStatus().get(TaskStatus.DONE));
+        assertEquals(38L, stats.getMembersByRole().get(UserRole.Member));
+    }
+
+    private static User user(UserRole role) {
+        User user = new User();
+        user.setRole(role);
+        return user;
+    }
+}
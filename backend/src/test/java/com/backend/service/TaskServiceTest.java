@@ -0,0 +1,167 @@
+package com.backend.service;
+
+import com.backend.dto.TaskBatchRequest;
+import com.backend.dto.TaskBatchResponse;
+import com.backend.dto.TaskOperation;
+import com.backend.dto.TaskOperationResult;
+import com.backend.dto.TaskRequest;
+import com.backend.dto.TaskResponse;
+import com.backend.event.TaskChangedEvent;
+import com.backend.exception.ConflictException;
+import com.backend.model.Task;
+import com.backend.model.enums.TaskStatus;
+import com.backend.repository.TaskRepository;
+import com.backend.repository.TaskWrite;
+import com.backend.repository.UserRepository;
+import com.backend.service.Impl.TaskServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    @Test
+    void shouldUpdateStatusInOneRoundTrip() {
+        Task previous = Task.builder().id("t1").title("Spec").status(TaskStatus.TODO).version(3L).build();
+        when(taskRepository.updateIfMatches(eq("t1"), any(), any())).thenReturn(previous);
+
+        TaskResponse response = taskService.updateTaskStatus("t1", TaskStatus.IN_PROGRESS, 3L, false);
+
+        assertEquals(TaskStatus.IN_PROGRESS, response.getStatus());
+        assertEquals(4L, response.getVersion());
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectStaleVersionWithConflict() {
+        when(taskRepository.updateIfMatches(eq("t1"), any(), any())).thenReturn(null);
+        when(taskRepository.findById("t1"))
+                .thenReturn(Optional.of(Task.builder().id("t1").status(TaskStatus.TODO).version(5L).build()));
+
+        assertThrows(ConflictException.class,
+                () -> taskService.updateTaskStatus("t1", TaskStatus.REVIEW, 3L, false));
+    }
+
+    @Test
+    void shouldRequireReopenToLeaveDone() {
+        assertFalse(TaskStatus.DONE.canTransitionTo(TaskStatus.TODO, false));
+        assertTrue(TaskStatus.DONE.canTransitionTo(TaskStatus.TODO, true));
+        assertFalse(TaskStatus.allowedSources(TaskStatus.TODO, false).contains(TaskStatus.DONE));
+
+        when(taskRepository.updateIfMatches(eq("t1"), any(), any())).thenReturn(null);
+        when(taskRepository.findById("t1"))
+                .thenReturn(Optional.of(Task.builder().id("t1").status(TaskStatus.DONE).version(1L).build()));
+
+        assertThrows(ConflictException.class,
+                () -> taskService.updateTaskStatus("t1", TaskStatus.TODO, null, false));
+    }
+
+    @Test
+    void shouldStampCompletedAtOnDoneAndClearItOnReopen() {
+        Task open = Task.builder().id("t1").status(TaskStatus.REVIEW).version(1L).build();
+        when(taskRepository.updateIfMatches(eq("t1"), any(), any())).thenReturn(open);
+
+        TaskResponse done = taskService.updateTaskStatus("t1", TaskStatus.DONE, null, false);
+
+        assertNotNull(done.getCompletedAt());
+        // $min : une date déjà posée n'est pas avancée
+        verify(taskRepository).updateIfMatches(eq("t1"), any(), argThat((Update update) ->
+                update.getUpdateObject().containsKey("$min")));
+
+        LocalDateTime completedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Task closed = Task.builder().id("t2").status(TaskStatus.DONE).completedAt(completedAt).version(2L).build();
+        when(taskRepository.updateIfMatches(eq("t2"), any(), any())).thenReturn(closed);
+
+        assertNull(taskService.updateTaskStatus("t2", TaskStatus.TODO, null, true).getCompletedAt());
+        verify(taskRepository).updateIfMatches(eq("t2"), any(), argThat((Update update) ->
+                update.getUpdateObject().containsKey("$unset")));
+    }
+
+    @Test
+    void shouldDeriveUpdatedTaskFromThePreImage() {
+        Task previous = Task.builder().id("t1").title("Spec").description("v1").status(TaskStatus.TODO)
+                .assigneeName("Alice").version(2L).build();
+        when(taskRepository.updateIfMatches(eq("t1"), any(), any())).thenReturn(previous);
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Spec v2");
+        request.setStatus(TaskStatus.DONE);
+
+        TaskResponse response = taskService.updateTask("t1", request);
+
+        // champs non fournis : ceux du document renvoyé par MongoDB
+        assertEquals("Spec v2", response.getTitle());
+        assertEquals("v1", response.getDescription());
+        assertEquals("Alice", response.getAssigneeName());
+        assertEquals(TaskStatus.DONE, response.getStatus());
+        assertNotNull(response.getCompletedAt());
+        assertEquals(3L, response.getVersion());
+        verify(taskRepository, times(1)).updateIfMatches(eq("t1"), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSendTheBatchInOneBulkAndPublishOnlyAppliedWrites() {
+        ReflectionTestUtils.setField(taskService, "batchMaxSize", 500);
+        Task t1 = Task.builder().id("t1").projectId("p1").status(TaskStatus.TODO).version(1L).build();
+        Task t2 = Task.builder().id("t2").projectId("p1").status(TaskStatus.TODO).version(1L).build();
+        Task t3 = Task.builder().id("t3").projectId("p1").status(TaskStatus.TODO).version(4L).build();
+        when(taskRepository.findAllById(any())).thenReturn(List.of(t1, t2, t3));
+        // t2 a changé de statut entre la lecture et l'écriture, t3 a été supprimée : la relecture le dit
+        when(taskRepository.bulkWrite(any())).thenReturn(List.of(
+                TaskWrite.Outcome.ok(),
+                TaskWrite.Outcome.rejected(t2.toBuilder().status(TaskStatus.DONE).version(2L).build()),
+                TaskWrite.Outcome.rejected(null)));
+
+        TaskBatchResponse response = taskService.applyBatch(new TaskBatchRequest(List.of(
+                new TaskOperation(TaskOperation.Type.STATUS, "t1", null, TaskStatus.IN_PROGRESS, false),
+                new TaskOperation(TaskOperation.Type.STATUS, "t2", null, TaskStatus.IN_PROGRESS, false),
+                new TaskOperation(TaskOperation.Type.DELETE, "t3", null, null, false),
+                new TaskOperation(TaskOperation.Type.DELETE, "t1", null, null, false))));
+
+        assertEquals(List.of("OK", "CONFLICT", "NOT_FOUND", "INVALID"),
+                response.getResults().stream().map(TaskOperationResult::getStatus).toList());
+        // une seule écriture groupée, gardée sur les versions lues, et aucune relecture par tâche
+        ArgumentCaptor<List<TaskWrite>> writes = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository, times(1)).bulkWrite(writes.capture());
+        assertEquals(List.of(1L, 1L, 4L), writes.getValue().stream().map(TaskWrite::getVersion).toList());
+        verify(taskRepository, never()).findById(any());
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1, event.getValue().getChanges().size());
+        TaskChangedEvent.Change change = event.getValue().getChanges().get(0);
+        assertEquals(TaskStatus.TODO, change.previous().getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, change.current().getStatus());
+        assertEquals(2L, change.current().getVersion());
+    }
+}
@@ -0,0 +1,75 @@
+package com.backend.service;
+
+import com.backend.model.AssigneeTaskCounter;
+import com.backend.repository.AssigneeTaskCounterRepository;
+import com.backend.repository.UserRepository;
+import com.backend.service.Impl.TaskStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private AssigneeTaskCounterRepository counterRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TaskStatsServiceImpl taskStatsService;
+
+    @BeforeEach
+    void setUp() {
+        taskStatsService = new TaskStatsServiceImpl(counterRepository, userRepository);
+    }
+
+    @Test
+    void shouldReplaceOnlyDriftedCountersAndDropStaleOnes() {
+        AssigneeTaskCounter aliceStored = counter("alice", "p1", 2, 1);
+        aliceStored.getProjects().put("p2", 0L);
+        AssigneeTaskCounter bobStored = counter("bob", "p1", 3, 0);
+        AssigneeTaskCounter carolStored = counter("carol", "p1", 1, 1);
+        when(counterRepository.findAll()).thenReturn(List.of(aliceStored, bobStored, carolStored));
+        AssigneeTaskCounter bobActual = counter("bob", "p1", 2, 0);
+        AssigneeTaskCounter daveActual = counter("dave", "p2", 1, 0);
+        when(counterRepository.aggregateFromTasks())
+                .thenReturn(List.of(counter("alice", "p1", 2, 1), bobActual, daveActual));
+        when(counterRepository.replaceCounters(any(), any())).thenReturn(3);
+
+        assertEquals(3, taskStatsService.reconcile());
+
+        // alice ne diffère que par une entrée à 0 : elle n'est pas réécrite ; carol n'a plus de tâche
+        verify(counterRepository).replaceCounters(
+                Map.of("alice", aliceStored, "bob", bobStored, "carol", carolStored),
+                Map.of("bob", bobActual, "dave", daveActual, "carol", new AssigneeTaskCounter("carol")));
+    }
+
+    @Test
+    void shouldLeaveMatchingCountersUntouched() {
+        when(counterRepository.findAll()).thenReturn(List.of(counter("alice", "p1", 2, 1)));
+        when(counterRepository.aggregateFromTasks()).thenReturn(List.of(counter("alice", "p1", 2, 1)));
+
+        taskStatsService.reconcile();
+
+        verify(counterRepository).replaceCounters(any(), eq(Map.of()));
+        verify(counterRepository, never()).deleteAll();
+    }
+
+    private static AssigneeTaskCounter counter(String assigneeId, String projectId, long total, long done) {
+        return new AssigneeTaskCounter(assigneeId, total, done, new HashMap<>(Map.of(projectId, total)));
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.service;
+
+import com.backend.event.MessageCreatedEvent;
+import com.backend.event.ProjectMembersChangedEvent;
+import com.backend.model.Message;
+import com.backend.model.UnreadCounter;
+import com.backend.repository.KeysetCursor;
+import com.backend.repository.MessageRepository;
+import com.backend.repository.UnreadCounterRepository;
+import com.backend.service.Impl.ProjectMembershipIndex;
+import com.backend.service.Impl.UnreadCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountersTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private UnreadCounterRepository counterRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ProjectMembershipIndex membershipIndex;
+
+    private UnreadCounters unreadCounters;
+
+    @BeforeEach
+    void setUp() {
+        unreadCounters = new UnreadCounters(counterRepository, messageRepository, membershipIndex, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceABurstIntoOneIncrementPerMember() {
+        when(membershipIndex.membersOf("p1")).thenReturn(Set.of("alice", "bob", "carol"));
+
+        for (int i = 0; i < 50; i++) {
+            unreadCounters.onMessageCreated(new MessageCreatedEvent(message("m" + i, "alice", i)));
+        }
+        unreadCounters.flush();
+        unreadCounters.flush();
+
+        ArgumentCaptor<Collection<UnreadCounter>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository, times(1)).increment(deltas.capture());
+        Map<String, Long> byUser = new HashMap<>();
+        deltas.getValue().forEach(delta -> byUser.put(delta.getUserId(), delta.getProjects().get("p1")));
+        // l'auteur n'est pas compté
+        assertEquals(Map.of("bob", 50L, "carol", 50L), byUser);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteOnlyTheLatestOfManyReadPositions() {
+        when(membershipIndex.projectIdsOf("bob")).thenReturn(Set.of("p1"));
+        when(messageRepository.countUnread(eq("p1"), any(KeysetCursor.class), eq("bob"), anyInt())).thenReturn(2L);
+
+        // défilement : positions successives, dans le désordre
+        for (int i : new int[]{3, 7, 5, 9, 8}) {
+            unreadCounters.markRead("bob", "p1", cursor(i));
+        }
+        unreadCounters.flush();
+
+        verify(messageRepository, times(1)).countUnread(eq("p1"), argThat(position -> position.getId().equals("m9")), eq("bob"), anyInt());
+        ArgumentCaptor<Collection<UnreadCounter>> reads = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).markRead(reads.capture());
+        UnreadCounter read = reads.getValue().iterator().next();
+        assertEquals(2L, read.getProjects().get("p1"));
+        assertEquals("m9", KeysetCursor.decode(read.getReadCursors().get("p1")).getId());
+    }
+
+    @Test
+    void shouldIgnoreAPositionOlderThanTheStoredOne() {
+        when(membershipIndex.projectIdsOf("bob")).thenReturn(Set.of("p1"));
+        UnreadCounter stored = new UnreadCounter("bob");
+        stored.getReadCursors().put("p1", cursor(9).encode());
+        when(counterRepository.findAllById(any())).thenReturn(List.of(stored));
+
+        unreadCounters.markRead("bob", "p1", cursor(4));
+        unreadCounters.flush();
+
+        verify(messageRepository, never()).countUnread(anyString(), any(), anyString(), anyInt());
+        verify(counterRepository).markRead(List.of());
+    }
+
+    @Test
+    void shouldReportPendingCountsAndZeroAfterARead() {
+        when(membershipIndex.membersOf("p1")).thenReturn(Set.of("alice", "bob"));
+        when(membershipIndex.projectIdsOf("bob")).thenReturn(Set.of("p1", "p2"));
+        UnreadCounter stored = new UnreadCounter("bob");
+        stored.getProjects().putAll(Map.of("p1", 4L, "p2", 3L));
+        when(counterRepository.findById("bob")).thenReturn(Optional.of(stored));
+
+        unreadCounters.onMessageCreated(new MessageCreatedEvent(message("m1", "alice", 1)));
+        assertEquals(Map.of("p1", 5L, "p2", 3L), unreadCounters.countsOf("bob"));
+
+        unreadCounters.markRead("bob", "p1", cursor(1));
+        assertEquals(Map.of("p1", 0L, "p2", 3L), unreadCounters.countsOf("bob"));
+    }
+
+    @Test
+    void shouldRefuseReadPositionsOutsideTheUsersProjects() {
+        when(membershipIndex.projectIdsOf("bob")).thenReturn(Set.of("p2"));
+
+        assertThrows(AccessDeniedException.class, () -> unreadCounters.markRead("bob", "p1", cursor(1)));
+    }
+
+    @Test
+    void shouldForgetRemovedMembersWithoutFlushingTheirPendingCounts() {
+        when(membershipIndex.membersOf("p1")).thenReturn(Set.of("alice", "bob"));
+        unreadCounters.onMessageCreated(new MessageCreatedEvent(message("m1", "alice", 1)));
+
+        unreadCounters.onMembersChanged(new ProjectMembersChangedEvent("p1", List.of(), List.of("bob")));
+        unreadCounters.flush();
+
+        verify(counterRepository).forget("p1", List.of("bob"));
+        verify(counterRepository).increment(argThat(deltas -> deltas.stream().allMatch(delta -> delta.getProjects().isEmpty())));
+    }
+
+    private static Message message(String id, String senderId, int minute) {
+        return Message.builder().id(id).senderId(senderId).projectId("p1").createdAt(NOW.plusMinutes(minute)).build();
+    }
+
+    private static KeysetCursor cursor(int minute) {
+        return new KeysetCursor(NOW.plusMinutes(minute), "m" + minute);
+    }
+}
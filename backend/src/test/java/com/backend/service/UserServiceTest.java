@@ -0,0 +1,70 @@
+package com.backend.service;
+
+import com.backend.dto.auth.BulkImportResponse;
+import com.backend.dto.auth.BulkImportRowResult;
+import com.backend.event.UsersCreatedEvent;
+import com.backend.model.User;
+import com.backend.repository.UserRepository;
+import com.backend.service.Impl.UserServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, passwordEncoder, new ObjectMapper(), eventPublisher);
+        ReflectionTestUtils.setField(userService, "importBatchSize", 500);
+    }
+
+    @Test
+    void shouldReportTheIdsOfImportedUsers() {
+        when(userRepository.findEmailsIn(any())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.insertUnordered(any())).thenReturn(Map.of());
+        String csv = "name,email,password,role\nAlice,alice@test.com,password123,member\nBob,bob@test.com,password123,member\n";
+
+        BulkImportResponse response = userService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals(2, response.getCreated());
+        response.getRows().forEach(row -> assertNotNull(row.getId()));
+        // l'événement porte les mêmes ids que le rapport
+        ArgumentCaptor<UsersCreatedEvent> event = ArgumentCaptor.forClass(UsersCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(response.getRows().stream().map(BulkImportRowResult::getId).toList(),
+                event.getValue().getUsers().stream().map(User::getId).toList());
+    }
+}
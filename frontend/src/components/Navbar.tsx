@@ -1,4 +1,4 @@
-import React from 'react'
+import React, { useEffect, useState } from 'react'
 import { 
   Search, 
   Bell, 
@@ -25,10 +25,25 @@ import {
 } from './ui/dropdown-menu'
 import { useTheme } from '../contexts/ThemeContext'
 import { useAuth } from '../contexts/AuthContext'
+import { searchApi, type SearchResult } from '../services/searchApi'
 
 export function Navbar() {
   const { theme, setTheme, effectiveTheme } = useTheme()
   const { user, logout } = useAuth()
+  const [query, setQuery] = useState('')
+  const [results, setResults] = useState<SearchResult[]>([])
+
+  // Recherche lancée 250 ms après la dernière frappe
+  useEffect(() => {
+    if (query.trim().length < 2) {
+      setResults([])
+      return
+    }
+    const timer = setTimeout(() => {
+      searchApi.search(query).then(setResults).catch(() => setResults([]))
+    }, 250)
+    return () => clearTimeout(timer)
+  }, [query])
 
   const cycleTheme = () => {
     const themes = ['light', 'dark', 'auto'] as const
@@ -70,7 +85,19 @@ export function Navbar() {
           <Input 
             placeholder="Search..." 
             className="pl-10 bg-muted/50 border-0 focus-visible:ring-1"
+            value={query}
+            onChange={(e) => setQuery(e.target.value)}
           />
+          {results.length > 0 && (
+            <div className="absolute top-full mt-1 w-full z-50 bg-background border rounded-md shadow-lg py-1">
+              {results.map((result) => (
+                <div key={`${result.type}-${result.id}`} className="flex items-center gap-2 px-3 py-2 text-sm hover:bg-accent">
+                  <Badge variant="secondary" className="text-[10px] uppercase">{result.type}</Badge>
+                  <span className="truncate">{result.title}</span>
+                </div>
+              ))}
+            </div>
+          )}
         </div>
       </div>
 
@@ -7,8 +7,7 @@ import { Tabs, TabsContent, TabsList, TabsTrigger } from '../ui/tabs'
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, LineChart, Line, PieChart, Pie, Cell } from 'recharts'
 import { TrendingUp, AlertTriangle, CheckCircle, Brain, Download } from 'lucide-react'
 import { projectsApi, type Project } from '../../services/projectsApi'
-import { tasksApi, type Task } from '../../services/tasksApi'
-import { usersApi } from '../../services/usersApi'
+import { dashboardApi, type Dashboard } from '../../services/dashboardApi'
 import { useAuth } from '../../contexts/AuthContext'
 
 const COLORS = ['#8884d8', '#82ca9d', '#ffc658', '#ff7300', '#a78bfa']
@@ -16,8 +15,7 @@ const COLORS = ['#8884d8', '#82ca9d', '#ffc658', '#ff7300', '#a78bfa']
 export function AIReports() {
   const { user } = useAuth()
   const [projects, setProjects] = useState<Project[]>([])
-  const [tasks, setTasks] = useState<Task[]>([])
-  const [members, setMembers] = useState<{ id: string; name: string }[]>([])
+  const [dashboard, setDashboard] = useState<Dashboard | null>(null)
   const [isLoading, setIsLoading] = useState(true)
 
   useEffect(() => {
@@ -25,14 +23,12 @@ export function AIReports() {
       if (!user) return
       try {
         setIsLoading(true)
-        const [projectsData, tasksData, usersData] = await Promise.all([
+        const [projectsData, dashboardData] = await Promise.all([
           projectsApi.getAllProjects(),
-          tasksApi.getUserTasks(user.id),
-          usersApi.getAllUsers(),
+          dashboardApi.getDashboard(),
         ])
         setProjects(projectsData)
-        setTasks(tasksData)
-        setMembers(usersData.map((u) => ({ id: u.id, name: u.name })))
+        setDashboard(dashboardData)
       } catch (error) {
         console.error('Error fetching AI reports data:', error)
       } finally {
@@ -42,13 +38,15 @@ export function AIReports() {
     fetchData()
   }, [user])
 
-  const doneTasks = tasks.filter((t) => t.status === 'DONE').length
-  const productivityScore = tasks.length > 0 ? Math.round((doneTasks / tasks.length) * 100) : 0
+  const myTasks = dashboard?.myTasksByStatus ?? {}
+  const doneTasks = myTasks.DONE ?? 0
+  const totalTasks = Object.values(myTasks).reduce((acc, count) => acc + (count ?? 0), 0)
+  const productivityScore = totalTasks > 0 ? Math.round((doneTasks / totalTasks) * 100) : 0
   const aiInsights = {
-    productivity: { score: productivityScore, trend: tasks.length > 0 ? `+${Math.min(20, productivityScore)}%` : '+0%', summary: 'Based on task completion' },
+    productivity: { score: productivityScore, trend: totalTasks > 0 ? `+${Math.min(20, productivityScore)}%` : '+0%', summary: 'Based on task completion' },
     risks: projects.filter((p) => p.totalProgress < 30 && p.status === 'In Progress').map((p) => ({ project: p.name, risk: 'Low progress', severity: 'medium' as const })),
-    recommendations: tasks.filter((t) => t.priority === 'URGENT' && t.status !== 'DONE').length > 0 
-      ? ['Address urgent tasks first'] 
+    recommendations: (dashboard?.overdue ?? 0) > 0 || (dashboard?.tasksByPriority.URGENT ?? 0) > 0
+      ? ['Address urgent tasks first']
       : [],
   }
 
@@ -59,16 +57,15 @@ export function AIReports() {
   }))
   const chartProjectData = projectDistribution.length > 0 ? projectDistribution : [{ name: 'No projects', value: 1, color: '#888' }]
 
-  const teamPerformance = members.map((m) => {
-    const memberTasks = tasks.filter((t) => t.assigneeName === m.name)
-    const completed = memberTasks.filter((t) => t.status === 'DONE').length
-    const efficiency = memberTasks.length > 0 ? Math.round((completed / memberTasks.length) * 100) : 0
-    return { name: m.name, efficiency, completed }
+  const teamPerformance = (dashboard?.assignees ?? []).map((a) => {
+    const total = a.open + a.done
+    const efficiency = total > 0 ? Math.round((a.done / total) * 100) : 0
+    return { name: a.assigneeName, efficiency, completed: a.done }
   }).filter((m) => m.completed > 0 || m.efficiency > 0)
 
   const productivityData = [
     { month: 'Tasks', score: productivityScore, tasks: doneTasks },
-    { month: 'Total', score: Math.min(100, productivityScore + 10), tasks: tasks.length },
+    { month: 'Total', score: Math.min(100, productivityScore + 10), tasks: totalTasks },
   ]
   const generateReport = () => {
     console.log('Generating AI report...')
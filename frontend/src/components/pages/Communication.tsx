@@ -23,6 +23,7 @@ import {
 } from 'lucide-react'
 import { useAuth } from '../../contexts/AuthContext'
 import { messagesApi, type Message as ApiMessage } from '../../services/messagesApi'
+import { realtimeApi } from '../../services/realtimeApi'
 import { projectsApi } from '../../services/projectsApi'
 import { usersApi } from '../../services/usersApi'
 
@@ -76,13 +77,27 @@ const mockAIInsights: AIInsight[] = [
   }
 ]
 
+const toMessage = (m: ApiMessage): Message => ({
+  id: m.id,
+  senderId: m.senderId,
+  senderName: m.senderName,
+  senderRole: m.senderRole,
+  content: m.content,
+  timestamp: new Date(m.createdAt),
+  projectId: m.projectId,
+  projectName: m.projectName,
+  type: (m.type || 'message') as 'message' | 'decision' | 'announcement',
+})
+
 export function Communication() {
   const [newMessage, setNewMessage] = useState('')
   const [selectedFilter, setSelectedFilter] = useState('all')
   const [searchQuery, setSearchQuery] = useState('')
   const [messages, setMessages] = useState<Message[]>([])
+  const [olderCursor, setOlderCursor] = useState<string | null>(null)
   const [projects, setProjects] = useState<{ id: string; name: string; taskCount?: number }[]>([])
   const [users, setUsers] = useState<{ id: string; name: string }[]>([])
+  const [unread, setUnread] = useState<Record<string, number>>({})
   const [isLoading, setIsLoading] = useState(true)
   const { user } = useAuth()
 
@@ -90,22 +105,15 @@ export function Communication() {
     const fetchData = async () => {
       try {
         setIsLoading(true)
-        const [msgs, projs, usrs] = await Promise.all([
+        const [msgs, projs, usrs, counts] = await Promise.all([
           messagesApi.getAllMessages(),
           projectsApi.getAllProjects(),
           usersApi.getAllUsers(),
+          messagesApi.getUnreadCounts(),
         ])
-        setMessages(msgs.map((m: ApiMessage) => ({
-          id: m.id,
-          senderId: m.senderId,
-          senderName: m.senderName,
-          senderRole: m.senderRole,
-          content: m.content,
-          timestamp: new Date(m.createdAt),
-          projectId: m.projectId,
-          projectName: m.projectName,
-          type: (m.type || 'message') as 'message' | 'decision' | 'announcement',
-        })))
+        setUnread(counts)
+        setMessages(msgs.items.map(toMessage))
+        setOlderCursor(msgs.before)
         setProjects(projs.map((p) => ({ id: p.id, name: p.name })))
         setUsers(usrs.map((u) => ({ id: u.id, name: u.name })))
       } catch (error) {
@@ -117,6 +125,52 @@ export function Communication() {
     fetchData()
   }, [])
 
+  // Nouveaux messages poussés par le serveur ; après une perte d'événements, la première page est rechargée
+  useEffect(() => {
+    return realtimeApi.subscribe(null, {
+      onMessage: (m) => {
+        setMessages((prev) => prev.some((msg) => msg.id === m.id) ? prev : [toMessage(m), ...prev])
+        // compteur local, recalé sur le serveur à la prochaine resynchronisation
+        if (m.projectId && m.senderId !== user?.id) {
+          setUnread((prev) => m.projectId! in prev ? { ...prev, [m.projectId!]: prev[m.projectId!] + 1 } : prev)
+        }
+      },
+      onResync: async () => {
+        try {
+          const [latest, counts] = await Promise.all([messagesApi.getAllMessages(), messagesApi.getUnreadCounts()])
+          setMessages(latest.items.map(toMessage))
+          setOlderCursor(latest.before)
+          setUnread(counts)
+        } catch (error) {
+          console.error('Failed to reload messages:', error)
+        }
+      },
+    })
+  }, [user?.id])
+
+  // Projet consulté : tout est lu jusqu'au message le plus récent
+  const markProjectRead = async (projectId: string) => {
+    if (!unread[projectId]) return
+    setUnread((prev) => ({ ...prev, [projectId]: 0 }))
+    try {
+      await messagesApi.markRead(projectId)
+    } catch (error) {
+      console.error('Failed to mark project as read:', error)
+    }
+  }
+
+  // Page suivante de l'historique (plus ancienne), ajoutée en fin de liste
+  const loadOlderMessages = async () => {
+    if (!olderCursor) return
+    try {
+      const older = await messagesApi.getAllMessages({ before: olderCursor })
+      setMessages((prev) => [...prev, ...older.items.map(toMessage)])
+      setOlderCursor(older.before)
+    } catch (error) {
+      console.error('Failed to load older messages:', error)
+    }
+  }
+
   const getMessageTypeColor = (type: string) => {
     switch (type) {
       case 'decision': return 'bg-green-100 text-green-800 dark:bg-green-900 dark:text-green-200'
@@ -148,7 +202,8 @@ export function Communication() {
     if (!newMessage.trim() || !user) return
     try {
       const sent = await messagesApi.createMessage({ content: newMessage.trim(), type: 'message' })
-      setMessages((prev) => [{
+      // le message peut déjà être arrivé par le flux temps réel
+      setMessages((prev) => prev.some((msg) => msg.id === sent.id) ? prev : [{
         id: sent.id,
         senderId: sent.senderId,
         senderName: sent.senderName,
@@ -290,6 +345,13 @@ export function Communication() {
                         </div>
                       ))
                       )}
+                      {olderCursor && (
+                        <div className="text-center">
+                          <Button variant="ghost" size="sm" onClick={loadOlderMessages}>
+                            Load older messages
+                          </Button>
+                        </div>
+                      )}
                     </div>
                   </ScrollArea>
                   
@@ -350,12 +412,15 @@ export function Communication() {
                     <p className="text-sm text-muted-foreground">No projects yet</p>
                   ) : (
                     projects.map((p) => (
-                      <div key={p.id} className="flex items-center gap-2 text-sm">
+                      <div key={p.id} className="flex items-center gap-2 text-sm cursor-pointer" onClick={() => markProjectRead(p.id)}>
                         <Hash className="w-3 h-3" />
                         <span>{p.name}</span>
                         {p.taskCount != null && (
                           <Badge variant="outline" className="text-xs">{p.taskCount}</Badge>
                         )}
+                        {unread[p.id] > 0 && (
+                          <Badge className="text-xs ml-auto">{unread[p.id]} new</Badge>
+                        )}
                       </div>
                     ))
                   )}
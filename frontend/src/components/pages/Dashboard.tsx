@@ -5,13 +5,15 @@ import { Badge } from '../ui/badge'
 import { Button } from '../ui/button'
 import { TrendingUp, TrendingDown, Clock, CheckCircle, AlertCircle } from 'lucide-react'
 import { projectsApi, type Project } from '../../services/projectsApi'
-import { tasksApi, type Task } from '../../services/tasksApi'
+import { dashboardApi, type Dashboard as DashboardData } from '../../services/dashboardApi'
+import { activityApi, startOf, type ActivitySeries } from '../../services/activityApi'
 import { useAuth } from '../../contexts/AuthContext'
 
 export function Dashboard() {
   const { user } = useAuth()
   const [projects, setProjects] = useState<Project[]>([])
-  const [tasks, setTasks] = useState<Task[]>([])
+  const [dashboard, setDashboard] = useState<DashboardData | null>(null)
+  const [monthActivity, setMonthActivity] = useState<ActivitySeries | null>(null)
   const [isLoading, setIsLoading] = useState(true)
 
   useEffect(() => {
@@ -20,12 +22,19 @@ export function Dashboard() {
       
       try {
         setIsLoading(true)
-        const [userProjects, userTasks] = await Promise.all([
+        const [userProjects, dashboardData, activity] = await Promise.all([
           projectsApi.getUserProjects(user.id),
-          tasksApi.getUserTasks(user.id)
+          dashboardApi.getDashboard(),
+          // depuis le début du mois, ou de la semaine si elle a commencé le mois précédent
+          activityApi.getSeries({
+            granularity: 'DAY',
+            from: new Date(Math.min(startOf('this-month').getTime(), startOf('this-week').getTime())),
+            to: new Date(),
+          })
         ])
         setProjects(userProjects)
-        setTasks(userTasks)
+        setDashboard(dashboardData)
+        setMonthActivity(activity)
       } catch (error) {
         console.error('Error fetching dashboard data:', error)
       } finally {
@@ -36,13 +45,25 @@ export function Dashboard() {
     fetchData()
   }, [user])
 
-  const activeTasks = tasks.filter(task => task.status === 'IN_PROGRESS' || task.status === 'TODO')
+  // Compteurs des tâches assignées à l'utilisateur, calculés par /api/dashboard
+  const myTasks = dashboard?.myTasksByStatus ?? {}
+  const activeTasks = dashboard?.myActiveTasks ?? []
+  const activeTaskCount = (myTasks.TODO ?? 0) + (myTasks.IN_PROGRESS ?? 0)
+  const totalTaskCount = Object.values(myTasks).reduce((acc, count) => acc + (count ?? 0), 0)
   const globalProgress = projects.length > 0
     ? Math.round(projects.reduce((acc, project) => acc + project.totalProgress, 0) / projects.length)
     : 0
-  // Derived from tasks: completed tasks as proxy (real time tracking would need TimeEntry API)
-  const completedTasks = tasks.filter(t => t.status === 'DONE').length
-  const totalTimeWorked = completedTasks * 2 // Approx 2h per completed task
+  // Agrégats d'activité : projets créés ce mois-ci, tâches terminées depuis lundi
+  // (pas encore de suivi du temps réel : ~2h par tâche terminée)
+  const weekStart = startOf('this-week').getTime()
+  const monthStart = startOf('this-month').getTime()
+  const projectsThisMonth = (monthActivity?.buckets ?? [])
+    .filter((bucket) => new Date(bucket.start).getTime() >= monthStart)
+    .reduce((acc, bucket) => acc + (bucket.counts.PROJECT_CREATED ?? 0), 0)
+  const completedThisWeek = (monthActivity?.buckets ?? [])
+    .filter((bucket) => new Date(bucket.start).getTime() >= weekStart)
+    .reduce((acc, bucket) => acc + (bucket.counts.TASK_COMPLETED ?? 0), 0)
+  const totalTimeWorked = completedThisWeek * 2
 
   if (isLoading) {
     return (
@@ -75,7 +96,7 @@ export function Dashboard() {
           <CardContent>
             <div className="text-2xl font-bold">{projects.length}</div>
             <p className="text-xs text-muted-foreground">
-              +2 this month
+              +{projectsThisMonth} this month
             </p>
           </CardContent>
         </Card>
@@ -97,9 +118,9 @@ export function Dashboard() {
             <AlertCircle className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">{activeTasks.length}</div>
+            <div className="text-2xl font-bold">{activeTaskCount}</div>
             <p className="text-xs text-muted-foreground">
-              Out of {tasks.length} total tasks
+              Out of {totalTaskCount} total tasks
             </p>
           </CardContent>
         </Card>
@@ -21,9 +21,7 @@ import {
   Flame
 } from 'lucide-react'
 import { useAuth } from '../../contexts/AuthContext'
-import { tasksApi } from '../../services/tasksApi'
-import { projectsApi } from '../../services/projectsApi'
-import { usersApi } from '../../services/usersApi'
+import { statsApi } from '../../services/statsApi'
 
 interface Badge {
   id: string
@@ -83,25 +81,16 @@ export function Gamification() {
       if (!user) return
       try {
         setIsLoading(true)
-        const [users, projects, myTasks] = await Promise.all([
-          usersApi.getAllUsers(),
-          projectsApi.getAllProjects(),
-          tasksApi.getUserTasks(user.id),
-        ])
-        const userTaskCounts = await Promise.all(
-          users.map(async (u) => {
-            try {
-              const tasks = await tasksApi.getUserTasks(u.id)
-              const done = tasks.filter((t) => t.status === 'DONE').length
-              return { userId: u.id, userName: u.name, userRole: u.role, done, total: tasks.length }
-            } catch {
-              return { userId: u.id, userName: u.name, userRole: u.role, done: 0, total: 0 }
-            }
-          })
-        )
+        const userTaskCounts = (await statsApi.getAssigneeStats()).map((s) => ({
+          userId: s.userId,
+          userName: s.userName,
+          userRole: s.role,
+          done: s.done,
+          total: s.total,
+          projects: s.projects,
+        }))
         setAllTasks(userTaskCounts)
 
-        const myProjects = projects.filter((p) => p.managerId === user.id || true)
         const pointsPerTask = 50
         const xpPerLevel = 200
 
@@ -127,7 +116,7 @@ export function Gamification() {
               achievements: [],
               streak: Math.min(14, ut.done),
               tasksCompleted: ut.done,
-              projectsContributed: myProjects.length,
+              projectsContributed: ut.projects,
               rank: 0,
             }
           })
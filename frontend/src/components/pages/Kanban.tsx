@@ -5,6 +5,7 @@ import { Button } from '../ui/button'; // Import du bouton
 import { Avatar, AvatarFallback } from '../ui/avatar';
 import { Plus } from 'lucide-react'; // Icône pour le bouton
 import { tasksApi, type Task as ApiTask } from '../../services/tasksApi';
+import { realtimeApi } from '../../services/realtimeApi';
 import { useAuth } from '../../contexts/AuthContext';
 import { CreateTaskModal } from '../kanban/CreateTaskModal'; // Import de ta modal
 
@@ -36,6 +37,22 @@ export function Kanban() {
     fetchTasks();
   }, [fetchTasks]);
 
+  // Écritures des autres utilisateurs poussées par le serveur (la version la plus récente l'emporte)
+  useEffect(() => {
+    if (!user) return;
+    return realtimeApi.subscribe(selectedProject, {
+      onTask: (task) => setTasks(prevTasks => {
+        const current = prevTasks.find((t) => t.id === task.id);
+        if (!current) return [...prevTasks, task];
+        if ((current.version ?? 0) > (task.version ?? 0)) return prevTasks;
+        return prevTasks.map((t) => t.id === task.id ? { ...t, ...task } : t);
+      }),
+      onTaskDeleted: (taskId) => setTasks(prevTasks => prevTasks.filter((t) => t.id !== taskId)),
+      onProjectDeleted: () => setTasks([]),
+      onResync: fetchTasks,
+    });
+  }, [user, selectedProject, fetchTasks]);
+
   const columns = [
     { id: "todo", title: "To Do", status: "TODO" as const },
     { id: "in-progress", title: "In Progress", status: "IN_PROGRESS" as const },
@@ -52,10 +69,14 @@ export function Kanban() {
 
   const handleStatusChange = async (taskId: string, newStatus: "TODO" | "IN_PROGRESS" | "REVIEW" | "DONE") => {
     try {
-      await tasksApi.updateTaskStatus(taskId, newStatus);
+      const current = tasks.find((task) => task.id === taskId);
+      const updated = await tasksApi.updateTaskStatus(taskId, newStatus, {
+        version: current?.version,
+        reopen: current?.status === "DONE" && newStatus !== "DONE",
+      });
       setTasks(prevTasks => 
         prevTasks.map(task => 
-          task.id === taskId ? { ...task, status: newStatus } : task
+          task.id === taskId ? { ...task, ...updated } : task
         )
       );
     } catch (error) {
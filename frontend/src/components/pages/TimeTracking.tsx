@@ -5,15 +5,16 @@ import { Avatar, AvatarFallback } from '../ui/avatar'
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '../ui/select'
 import { Play, Clock } from 'lucide-react'
 import { projectsApi, type Project } from '../../services/projectsApi'
-import { tasksApi, type Task } from '../../services/tasksApi'
-import { usersApi } from '../../services/usersApi'
+import { dashboardApi, type Dashboard } from '../../services/dashboardApi'
+import { activityApi, startOf, type ActivitySeries } from '../../services/activityApi'
 import { useAuth } from '../../contexts/AuthContext'
 
 export function TimeTracking() {
   const { user } = useAuth()
   const [projects, setProjects] = useState<Project[]>([])
-  const [tasks, setTasks] = useState<Task[]>([])
-  const [members, setMembers] = useState<{ id: string; name: string; totalHours: number; entries: number }[]>([])
+  const [dashboard, setDashboard] = useState<Dashboard | null>(null)
+  const [range, setRange] = useState<'today' | 'this-week' | 'this-month'>('this-week')
+  const [activity, setActivity] = useState<ActivitySeries | null>(null)
   const [isLoading, setIsLoading] = useState(true)
 
   useEffect(() => {
@@ -21,21 +22,12 @@ export function TimeTracking() {
       if (!user) return
       try {
         setIsLoading(true)
-        const [projectsData, tasksData, usersData] = await Promise.all([
+        const [projectsData, dashboardData] = await Promise.all([
           projectsApi.getAllProjects(),
-          tasksApi.getUserTasks(user.id),
-          usersApi.getAllUsers(),
+          dashboardApi.getDashboard(),
         ])
         setProjects(projectsData)
-        setTasks(tasksData)
-        setMembers(
-          usersData.map((m) => ({
-            id: m.id,
-            name: m.name,
-            totalHours: 0,
-            entries: 0,
-          }))
-        )
+        setDashboard(dashboardData)
       } catch (error) {
         console.error('Error fetching time tracking data:', error)
       } finally {
@@ -45,11 +37,35 @@ export function TimeTracking() {
     fetchData()
   }, [user])
 
+  // Tâches créées / terminées sur la période, lues dans les agrégats d'activité (par heure pour aujourd'hui)
+  useEffect(() => {
+    if (!user) return
+    activityApi
+      .getSeries({ granularity: range === 'today' ? 'HOUR' : 'DAY', from: startOf(range), to: new Date() })
+      .then(setActivity)
+      .catch((error) => console.error('Error fetching activity:', error))
+  }, [user, range])
+
+  const rangeLabel = { today: 'today', 'this-week': 'this week', 'this-month': 'this month' }[range]
   const activeProjects = projects.filter((p) => p.status === 'In Progress').length
-  const totalHoursThisWeek = tasks.filter((t) => t.status === 'DONE').length * 2
-  const averageHoursPerDay = totalHoursThisWeek / 7
+  const completedTasks = activity?.totals.TASK_COMPLETED ?? 0
+  const totalHoursThisWeek = completedTasks * 2
+  const elapsedDays = Math.max(1, Math.ceil((Date.now() - startOf(range).getTime()) / 86_400_000))
+  const averageHoursPerDay = totalHoursThisWeek / elapsedDays
+  // Reste à faire en fin d'intervalle, relatif au début de la période : créées - terminées + rouvertes - supprimées
+  const burndown = (activity?.buckets ?? []).reduce<{ start: string; created: number; completed: number; remaining: number }[]>(
+    (acc, bucket) => {
+      const previous = acc.length > 0 ? acc[acc.length - 1].remaining : 0
+      const created = bucket.counts.TASK_CREATED ?? 0
+      const completed = bucket.counts.TASK_COMPLETED ?? 0
+      const remaining = previous + created - completed + (bucket.counts.TASK_REOPENED ?? 0) - (bucket.counts.TASK_DELETED ?? 0)
+      return [...acc, { start: bucket.start, created, completed, remaining }]
+    },
+    [],
+  )
+  const burndownScale = Math.max(1, ...burndown.map((b) => Math.max(b.created, b.completed)))
 
-  const recentTasks = tasks.slice(0, 6).map((t) => ({
+  const recentTasks = (dashboard?.myActiveTasks ?? []).slice(0, 6).map((t) => ({
     id: t.id,
     task: t.title,
     member: t.assigneeName,
@@ -58,19 +74,18 @@ export function TimeTracking() {
     hours: t.status === 'DONE' ? 2 : 0,
   }))
 
+  // Charge par assigné calculée côté serveur (/api/dashboard)
   const getMemberStats = () => {
-    return members.map((m) => ({
-      ...m,
-      totalHours: tasks.filter((t) => t.assigneeName === m.name && t.status === 'DONE').length * 2,
-      entries: tasks.filter((t) => t.assigneeName === m.name).length,
+    return (dashboard?.assignees ?? []).map((a) => ({
+      id: a.assigneeId,
+      name: a.assigneeName,
+      totalHours: a.done * 2,
+      entries: a.open + a.done,
     }))
   }
 
-  const projectTimeData = projects.map((p) => {
-    const projectTasks = tasks.filter((t) => t.projectId === p.id)
-    const doneCount = projectTasks.filter((t) => t.status === 'DONE').length
-    return { name: p.name, hours: doneCount * 2 }
-  })
+  const projectTimeData = projects.map((p) => ({ name: p.name, hours: (p.taskCounts?.DONE ?? 0) * 2 }))
+  const totalProjectHours = projectTimeData.reduce((acc, project) => acc + project.hours, 0)
 
   if (isLoading) {
     return (
@@ -88,7 +103,7 @@ export function TimeTracking() {
           <p className="text-muted-foreground">Analyze time spent on your projects and tasks</p>
         </div>
         <div className="flex items-center gap-3">
-          <Select defaultValue="this-week">
+          <Select value={range} onValueChange={(value: typeof range) => setRange(value)}>
             <SelectTrigger className="w-40">
               <SelectValue />
             </SelectTrigger>
@@ -109,7 +124,7 @@ export function TimeTracking() {
       <div className="grid grid-cols-1 md:grid-cols-4 gap-6">
         <Card>
           <CardHeader className="pb-2">
-            <CardTitle className="text-sm font-medium">Total This Week</CardTitle>
+            <CardTitle className="text-sm font-medium">Total {rangeLabel}</CardTitle>
           </CardHeader>
           <CardContent>
             <div className="text-2xl font-bold">{totalHoursThisWeek}h</div>
@@ -143,9 +158,9 @@ export function TimeTracking() {
           </CardHeader>
           <CardContent>
             <div className="text-2xl font-bold text-green-600">
-              {tasks.filter((t) => t.status === 'DONE').length}
+              {completedTasks}
             </div>
-            <p className="text-xs text-muted-foreground">Done this week</p>
+            <p className="text-xs text-muted-foreground">Done {rangeLabel}</p>
           </CardContent>
         </Card>
       </div>
@@ -227,20 +242,31 @@ export function TimeTracking() {
         </Card>
       </div>
 
-      {/* Activity Heatmap */}
+      {/* Burndown */}
       <Card>
         <CardHeader>
-          <CardTitle>Activity Heatmap</CardTitle>
+          <CardTitle>Task Flow</CardTitle>
           <p className="text-sm text-muted-foreground">
-            Visualize team activity throughout the year
+            Tasks created and completed {rangeLabel}, with the open balance since the start of the period
           </p>
         </CardHeader>
         <CardContent>
-          <div className="space-y-4">
-            <p className="text-sm text-muted-foreground text-center py-8">
-              Activity heatmap will be available when time entries are tracked
-            </p>
-          </div>
+          {burndown.every((b) => b.created === 0 && b.completed === 0) ? (
+            <p className="text-sm text-muted-foreground text-center py-8">No task activity {rangeLabel}</p>
+          ) : (
+            <div className="flex items-end gap-1 h-40">
+              {burndown.map((b) => (
+                <div
+                  key={b.start}
+                  className="flex-1 flex items-end justify-center gap-0.5 h-full"
+                  title={`${new Date(b.start).toLocaleString('en-US')} • +${b.created} / -${b.completed} • ${b.remaining >= 0 ? '+' : ''}${b.remaining} open`}
+                >
+                  <div className="w-1/2 bg-muted-foreground/40 rounded-t" style={{ height: `${(b.created / burndownScale) * 100}%` }} />
+                  <div className="w-1/2 bg-green-600 rounded-t" style={{ height: `${(b.completed / burndownScale) * 100}%` }} />
+                </div>
+              ))}
+            </div>
+          )}
         </CardContent>
       </Card>
 
@@ -255,7 +281,7 @@ export function TimeTracking() {
               <p className="text-sm text-muted-foreground col-span-full text-center py-4">No project data yet</p>
             ) : (
               projectTimeData.map((project) => {
-                const pct = totalHoursThisWeek > 0 ? (project.hours / totalHoursThisWeek) * 100 : 0
+                const pct = totalProjectHours > 0 ? (project.hours / totalProjectHours) * 100 : 0
                 return (
                   <div key={project.name} className="space-y-2">
                     <div className="flex items-center justify-between">
@@ -0,0 +1,68 @@
+const API_BASE_URL = 'http://localhost:8080/api'
+
+export type ActivityType =
+  | 'TASK_CREATED'
+  | 'TASK_UPDATED'
+  | 'TASK_STATUS_CHANGED'
+  | 'TASK_COMPLETED'
+  | 'TASK_REOPENED'
+  | 'TASK_DELETED'
+  | 'PROJECT_CREATED'
+  | 'PROJECT_UPDATED'
+  | 'PROJECT_DELETED'
+  | 'MESSAGE_CREATED'
+
+export type ActivityGranularity = 'MINUTE' | 'HOUR' | 'DAY'
+
+export interface ActivityBucket {
+  start: string
+  counts: Partial<Record<ActivityType, number>>
+}
+
+// Série lue dans les agrégats du serveur : un intervalle par pas, y compris les intervalles vides
+export interface ActivitySeries {
+  granularity: ActivityGranularity
+  from: string
+  to: string
+  buckets: ActivityBucket[]
+  totals: Partial<Record<ActivityType, number>>
+}
+
+export interface ActivitySeriesParams {
+  projectId?: string
+  granularity?: ActivityGranularity
+  from?: Date
+  to?: Date
+}
+
+// Le serveur attend une date locale sans fuseau (LocalDateTime)
+const toLocalIso = (date: Date) => {
+  const pad = (n: number) => String(n).padStart(2, '0')
+  return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`
+}
+
+// Début de la période : aujourd'hui, semaine en cours (lundi) ou mois en cours
+export const startOf = (range: 'today' | 'this-week' | 'this-month') => {
+  const start = new Date()
+  start.setHours(0, 0, 0, 0)
+  if (range === 'this-week') start.setDate(start.getDate() - ((start.getDay() + 6) % 7))
+  if (range === 'this-month') start.setDate(1)
+  return start
+}
+
+export const activityApi = {
+  // Sans projectId : somme des projets de l'utilisateur connecté ; sans from / to : les 7 derniers jours
+  async getSeries(params: ActivitySeriesParams = {}): Promise<ActivitySeries> {
+    const query = new URLSearchParams()
+    if (params.projectId) query.set('projectId', params.projectId)
+    if (params.granularity) query.set('granularity', params.granularity)
+    if (params.from) query.set('from', toLocalIso(params.from))
+    if (params.to) query.set('to', toLocalIso(params.to))
+    const response = await fetch(`${API_BASE_URL}/activity/series?${query}`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) throw new Error('Failed to fetch activity series')
+    return response.json()
+  },
+}
@@ -0,0 +1,60 @@
+import type { Task, TaskStatus, TaskPriority } from './tasksApi'
+
+const API_BASE_URL = 'http://localhost:8080/api'
+
+export interface AssigneeLoad {
+  assigneeId: string
+  assigneeName: string
+  open: number
+  done: number
+}
+
+export interface ProjectSummary {
+  projectId: string
+  teamSize: number
+  totalTasks: number
+  progress: number
+  tasksByStatus: Partial<Record<TaskStatus, number>>
+  tasksByPriority: Partial<Record<TaskPriority, number>>
+  overdue: number
+  assignees: AssigneeLoad[]
+}
+
+// Compteurs des projets de l'utilisateur connecté, calculés côté serveur (une agrégation, mise en cache)
+export interface Dashboard {
+  projectCount: number
+  activeProjects: number
+  teamSize: number
+  totalTasks: number
+  progress: number
+  tasksByStatus: Partial<Record<TaskStatus, number>>
+  tasksByPriority: Partial<Record<TaskPriority, number>>
+  overdue: number
+  assignees: AssigneeLoad[]
+  myTasksByStatus: Partial<Record<TaskStatus, number>>
+  myActiveTasks: Task[]
+}
+
+export const dashboardApi = {
+  async getDashboard(): Promise<Dashboard> {
+    const response = await fetch(`${API_BASE_URL}/dashboard`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to fetch dashboard')
+    }
+    return response.json()
+  },
+
+  async getProjectSummary(projectId: string): Promise<ProjectSummary> {
+    const response = await fetch(`${API_BASE_URL}/projects/${projectId}/summary`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to fetch project summary')
+    }
+    return response.json()
+  },
+}
@@ -19,9 +19,32 @@ export interface MessageRequest {
   projectName?: string
 }
 
+// Fenêtre de l'historique, du plus récent au plus ancien.
+// before : à repasser pour la page plus ancienne (null au début de l'historique) ; after : pour les nouveaux messages
+export interface MessageWindow {
+  items: Message[]
+  before: string | null
+  after: string | null
+}
+
+export interface MessageWindowParams {
+  before?: string
+  after?: string
+  limit?: number
+}
+
+const windowQuery = (params: MessageWindowParams) => {
+  const query = new URLSearchParams()
+  if (params.before) query.set('before', params.before)
+  if (params.after) query.set('after', params.after)
+  if (params.limit) query.set('limit', String(params.limit))
+  const text = query.toString()
+  return text ? `?${text}` : ''
+}
+
 export const messagesApi = {
-  async getAllMessages(): Promise<Message[]> {
-    const response = await fetch(`${API_BASE_URL}/messages`, {
+  async getAllMessages(params: MessageWindowParams = {}): Promise<MessageWindow> {
+    const response = await fetch(`${API_BASE_URL}/messages${windowQuery(params)}`, {
       method: 'GET',
       credentials: 'include',
     })
@@ -29,8 +52,8 @@ export const messagesApi = {
     return response.json()
   },
 
-  async getMessagesByProject(projectId: string): Promise<Message[]> {
-    const response = await fetch(`${API_BASE_URL}/messages/project/${projectId}`, {
+  async getMessagesByProject(projectId: string, params: MessageWindowParams = {}): Promise<MessageWindow> {
+    const response = await fetch(`${API_BASE_URL}/messages/project/${projectId}${windowQuery(params)}`, {
       method: 'GET',
       credentials: 'include',
     })
@@ -48,4 +71,24 @@ export const messagesApi = {
     if (!response.ok) throw new Error('Failed to send message')
     return response.json()
   },
+
+  // Non lus par projet de l'utilisateur connecté (projectId -> nombre)
+  async getUnreadCounts(): Promise<Record<string, number>> {
+    const response = await fetch(`${API_BASE_URL}/messages/unread`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) throw new Error('Failed to fetch unread counts')
+    return response.json()
+  },
+
+  // Lu jusqu'au message du curseur (le plus récent sans curseur) ; le serveur regroupe les appels rapprochés
+  async markRead(projectId: string, cursor?: string): Promise<void> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : ''
+    const response = await fetch(`${API_BASE_URL}/messages/project/${projectId}/read${query}`, {
+      method: 'POST',
+      credentials: 'include',
+    })
+    if (!response.ok) throw new Error('Failed to mark messages as read')
+  },
 }
@@ -10,6 +10,8 @@ export interface Project {
   managerId: string
   deadline: string
   teamSize: number
+  // nombre de tâches par statut (TODO, IN_PROGRESS, REVIEW, DONE) ; totalProgress en est dérivé
+  taskCounts?: Record<string, number>
 }
 
 export interface ProjectRequest {
@@ -25,6 +27,12 @@ export interface ProjectUpdateRequest {
   deadline?: string
 }
 
+export interface TeamMembershipResponse {
+  added: number
+  removed: number
+  teamSize: number
+}
+
 export const projectsApi = {
   async getAllProjects(): Promise<Project[]> {
     const response = await fetch(`${API_BASE_URL}/projects`, {
@@ -96,6 +104,39 @@ export const projectsApi = {
       throw new Error('Failed to delete project')
     }
   },
-}
 
+  async addMember(projectId: string, userId: string): Promise<TeamMembershipResponse> {
+    const response = await fetch(`${API_BASE_URL}/projects/${projectId}/members/${userId}`, {
+      method: 'POST',
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to add member')
+    }
+    return response.json()
+  },
+
+  async removeMember(projectId: string, userId: string): Promise<TeamMembershipResponse> {
+    const response = await fetch(`${API_BASE_URL}/projects/${projectId}/members/${userId}`, {
+      method: 'DELETE',
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to remove member')
+    }
+    return response.json()
+  },
 
+  async updateMembers(projectId: string, changes: { add?: string[]; remove?: string[] }): Promise<TeamMembershipResponse> {
+    const response = await fetch(`${API_BASE_URL}/projects/${projectId}/members`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      body: JSON.stringify(changes),
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to update members')
+    }
+    return response.json()
+  },
+}
@@ -0,0 +1,45 @@
+import type { Message } from './messagesApi'
+import type { Task } from './tasksApi'
+
+const API_BASE_URL = 'http://localhost:8080/api'
+
+export interface RealtimeHandlers {
+  onMessage?: (message: Message) => void
+  onTask?: (task: Task) => void
+  onTaskDeleted?: (taskId: string) => void
+  onProjectDeleted?: () => void
+  // Des événements ont pu être perdus (client trop lent ou reconnexion) : recharger la liste par l'API REST
+  onResync?: () => void
+}
+
+export const realtimeApi = {
+  // Flux SSE du projet (messages et tâches), ou des messages de tous les projets sans projectId.
+  // Renvoie la fonction de désabonnement.
+  subscribe(projectId: string | null, handlers: RealtimeHandlers): () => void {
+    const query = projectId ? `?projectId=${encodeURIComponent(projectId)}` : ''
+    const source = new EventSource(`${API_BASE_URL}/stream${query}`, { withCredentials: true })
+    let opened = false
+
+    source.onopen = () => {
+      // EventSource se reconnecte seul après une coupure ; ce qui a été publié entre-temps est perdu
+      if (opened) handlers.onResync?.()
+      opened = true
+    }
+    source.addEventListener('message', (event) => {
+      handlers.onMessage?.(JSON.parse((event as MessageEvent).data))
+    })
+    source.addEventListener('task', (event) => {
+      handlers.onTask?.(JSON.parse((event as MessageEvent).data))
+    })
+    source.addEventListener('task-deleted', (event) => {
+      handlers.onTaskDeleted?.(JSON.parse((event as MessageEvent).data).id)
+    })
+    source.addEventListener('project-deleted', () => {
+      source.close()
+      handlers.onProjectDeleted?.()
+    })
+    source.addEventListener('resync', () => handlers.onResync?.())
+
+    return () => source.close()
+  },
+}
@@ -0,0 +1,21 @@
+const API_BASE_URL = 'http://localhost:8080/api'
+
+export interface SearchResult {
+  type: 'task' | 'project' | 'message'
+  id: string
+  projectId: string | null
+  title: string
+  score: number
+}
+
+export const searchApi = {
+  async search(query: string, limit = 10): Promise<SearchResult[]> {
+    const params = new URLSearchParams({ q: query, limit: String(limit) })
+    const response = await fetch(`${API_BASE_URL}/search?${params}`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) throw new Error('Failed to search')
+    return response.json()
+  },
+}
@@ -1,9 +1,22 @@
 const API_BASE_URL = 'http://localhost:8080/api'
 
+// Compteurs tenus en mémoire par le serveur (recalés périodiquement sur MongoDB)
 export interface Stats {
   projects: number
   members: number
   messages: number
+  tasks: number
+  tasksByStatus: Record<'TODO' | 'IN_PROGRESS' | 'REVIEW' | 'DONE', number>
+  membersByRole: Record<'Manager' | 'Admin' | 'Member', number>
+}
+
+export interface AssigneeStats {
+  userId: string
+  userName: string
+  role: string
+  done: number
+  total: number
+  projects: number
 }
 
 export const statsApi = {
@@ -15,4 +28,14 @@ export const statsApi = {
     if (!response.ok) throw new Error('Failed to fetch stats')
     return response.json()
   },
+
+  // Compteurs done / total de tous les utilisateurs en une seule requête
+  async getAssigneeStats(): Promise<AssigneeStats[]> {
+    const response = await fetch(`${API_BASE_URL}/stats/assignees`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) throw new Error('Failed to fetch assignee stats')
+    return response.json()
+  },
 }
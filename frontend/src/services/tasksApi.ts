@@ -11,6 +11,13 @@ export interface Task {
   priority: TaskPriority
   assigneeName: string
   projectId: string
+  version?: number
+  completedAt?: string // date du passage à DONE, absente si la tâche n'est pas terminée
+}
+
+export interface CursorPage<T> {
+  items: T[]
+  nextCursor: string | null
 }
 
 export interface TaskRequest {
@@ -20,11 +27,30 @@ export interface TaskRequest {
   status?: TaskStatus
   priority?: TaskPriority
   assignedId?: string
+  version?: number
+  reopen?: boolean
+}
+
+export interface TaskOperation {
+  op: 'CREATE' | 'UPDATE' | 'STATUS' | 'DELETE'
+  taskId?: string
+  task?: Partial<TaskRequest>
+  status?: TaskStatus
+  reopen?: boolean
+}
+
+export interface TaskOperationResult {
+  index: number
+  op: TaskOperation['op']
+  taskId: string | null
+  // CONFLICT : version attendue dépassée, transition interdite ou tâche modifiée pendant le lot (à relire puis rejouer)
+  status: 'OK' | 'NOT_FOUND' | 'INVALID' | 'CONFLICT' | 'FAILED'
+  error: string | null
 }
 
 export const tasksApi = {
   async getTasksByProject(projectId: string): Promise<Task[]> {
-    const response = await fetch(`${API_BASE_URL}/tasks/project/${projectId}`, {
+    const response = await fetch(`${API_BASE_URL}/tasks/project/${projectId}?unpaged=true`, {
       method: 'GET',
       credentials: 'include',
     })
@@ -35,7 +61,7 @@ export const tasksApi = {
   },
 
   async getUserTasks(userId: string): Promise<Task[]> {
-    const response = await fetch(`${API_BASE_URL}/tasks/my-tasks?userId=${userId}`, {
+    const response = await fetch(`${API_BASE_URL}/tasks/my-tasks?userId=${userId}&unpaged=true`, {
       method: 'GET',
       credentials: 'include',
     })
@@ -45,6 +71,20 @@ export const tasksApi = {
     return response.json()
   },
 
+  async getTasksByProjectPage(projectId: string, cursor?: string, limit?: number): Promise<CursorPage<Task>> {
+    const params = new URLSearchParams()
+    if (cursor) params.set('cursor', cursor)
+    if (limit) params.set('limit', String(limit))
+    const response = await fetch(`${API_BASE_URL}/tasks/project/${projectId}?${params}`, {
+      method: 'GET',
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to fetch tasks')
+    }
+    return response.json()
+  },
+
   async createTask(task: TaskRequest): Promise<Task> {
     const response = await fetch(`${API_BASE_URL}/tasks`, {
       method: 'POST',
@@ -72,17 +112,42 @@ export const tasksApi = {
     return response.json()
   },
 
-  async updateTaskStatus(taskId: string, status: TaskStatus): Promise<Task> {
-    const response = await fetch(`${API_BASE_URL}/tasks/${taskId}/status?status=${status}`, {
+  // version : la requête échoue (409) si la tâche a été modifiée entre-temps ; reopen : requis pour quitter DONE
+  async updateTaskStatus(
+    taskId: string,
+    status: TaskStatus,
+    options: { version?: number; reopen?: boolean } = {}
+  ): Promise<Task> {
+    const params = new URLSearchParams({ status })
+    if (options.version !== undefined) params.set('version', String(options.version))
+    if (options.reopen) params.set('reopen', 'true')
+    const response = await fetch(`${API_BASE_URL}/tasks/${taskId}/status?${params}`, {
       method: 'PATCH',
       credentials: 'include',
     })
+    if (response.status === 409) {
+      throw new Error('Task was modified by someone else, please refresh')
+    }
     if (!response.ok) {
       throw new Error('Failed to update task status')
     }
     return response.json()
   },
 
+  async applyBatch(operations: TaskOperation[]): Promise<TaskOperationResult[]> {
+    const response = await fetch(`${API_BASE_URL}/tasks/batch`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      body: JSON.stringify({ operations }),
+      credentials: 'include',
+    })
+    if (!response.ok) {
+      throw new Error('Failed to apply task batch')
+    }
+    const data = await response.json()
+    return data.results
+  },
+
   async deleteTask(taskId: string): Promise<void> {
     const response = await fetch(`${API_BASE_URL}/tasks/${taskId}`, {
       method: 'DELETE',